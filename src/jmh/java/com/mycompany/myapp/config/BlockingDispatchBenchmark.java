@@ -0,0 +1,108 @@
+package com.mycompany.myapp.config;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of blocking requests dispatched on a fixed pool of platform threads, as the Undertow worker pool does,
+ * versus one virtual thread per request, as the {@value Constants#SPRING_PROFILE_VIRTUAL_THREADS} profile does.
+ * <p>
+ * Each operation is a burst of {@link #REQUESTS} requests that block on remote I/O, then on a connection of a pool of
+ * {@link #CONNECTIONS}, standing for Hikari. The {@code virtual} dispatch needs a Java 21 runtime.
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="BlockingDispatchBenchmark"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingDispatchBenchmark {
+
+    private static final int REQUESTS = 1_000;
+
+    private static final int CONNECTIONS = 10;
+
+    private static final long IO_MILLIS = 20;
+
+    private static final long QUERY_MILLIS = 1;
+
+    @Param({ "platform", "virtual" })
+    private String dispatch;
+
+    @Param({ "64" })
+    private int workerThreads;
+
+    private ExecutorService workerPool;
+
+    private Executor executor;
+
+    private Semaphore connections;
+
+    @Setup
+    public void setUp() {
+        connections = new Semaphore(CONNECTIONS, true);
+        if ("virtual".equals(dispatch)) {
+            ThreadFactory threadFactory = VirtualThreadConfiguration.virtualThreadFactory("benchmark-");
+            executor = command -> threadFactory.newThread(command).start();
+        } else {
+            workerPool = Executors.newFixedThreadPool(workerThreads);
+            executor = workerPool;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void blockingRequests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            executor.execute(
+                () -> {
+                    try {
+                        handle();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            );
+        }
+        done.await();
+    }
+
+    private void handle() throws InterruptedException {
+        Thread.sleep(IO_MILLIS);
+        connections.acquire();
+        try {
+            Thread.sleep(QUERY_MILLIS);
+        } finally {
+            connections.release();
+        }
+    }
+}
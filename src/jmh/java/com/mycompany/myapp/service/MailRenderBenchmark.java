@@ -0,0 +1,109 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.OutboundMail;
+import com.mycompany.myapp.domain.User;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Renders per second of the {@code templates/mail} templates, one user at a time as
+ * {@link MailService#sendEmailFromTemplate} does, versus {@link MailService#sendEmailsFromTemplate}.
+ * <p>
+ * {@code templateCache} is {@code spring.thymeleaf.cache}, off in the {@code dev} profile.
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="MailRenderBenchmark"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MailRenderBenchmark {
+
+    private static final int USERS = 1_000;
+
+    private static final String[] LANGUAGES = { "en", "vi" };
+
+    private static final String TITLE_KEY = "email.activation.title";
+
+    @Param({ "mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail" })
+    private String template;
+
+    @Param({ "true", "false" })
+    private boolean templateCache;
+
+    private MessageSource messageSource;
+
+    private MailService mailService;
+
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        templateResolver.setCacheable(templateCache);
+        ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+        resourceBundleMessageSource.setBasename("i18n/messages");
+        resourceBundleMessageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        messageSource = resourceBundleMessageSource;
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl("http://127.0.0.1:8080");
+        mailService = new MailService(jHipsterProperties, null, messageSource, templateEngine);
+
+        users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setLogin("patron" + i);
+            user.setEmail("patron" + i + "@example.com");
+            user.setLangKey(LANGUAGES[i % LANGUAGES.length]);
+            user.setActivationKey("activation" + i);
+            user.setResetKey("reset" + i);
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public void single(Blackhole blackhole) {
+        for (User user : users) {
+            Locale locale = Locale.forLanguageTag(user.getLangKey());
+            blackhole.consume(messageSource.getMessage(TITLE_KEY, null, locale));
+            blackhole.consume(mailService.renderTemplate(template, user, locale));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public List<OutboundMail> bulk() {
+        return mailService.renderEmailsFromTemplate(users, template, TITLE_KEY);
+    }
+}
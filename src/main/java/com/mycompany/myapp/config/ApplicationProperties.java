@@ -1,5 +1,10 @@
 package com.mycompany.myapp.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +15,564 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Cache cache = new Cache();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    private final Coalescing coalescing = new Coalescing();
+
+    private final TokenRevocation tokenRevocation = new TokenRevocation();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final LoginThrottling loginThrottling = new LoginThrottling();
+
+    private final AccountCache accountCache = new AccountCache();
+
+    private final MailQueue mailQueue = new MailQueue();
+
+    private final NotificationDigest notificationDigest = new NotificationDigest();
+
+    private final DueDates dueDates = new DueDates();
+
+    private final OverdueSweep overdueSweep = new OverdueSweep();
+
+    private final UserPurge userPurge = new UserPurge();
+
+    private final ScheduledLock scheduledLock = new ScheduledLock();
+
+    private final Search search = new Search();
+
     // jhipster-needle-application-properties-property
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    public TokenRevocation getTokenRevocation() {
+        return tokenRevocation;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public LoginThrottling getLoginThrottling() {
+        return loginThrottling;
+    }
+
+    public AccountCache getAccountCache() {
+        return accountCache;
+    }
+
+    public MailQueue getMailQueue() {
+        return mailQueue;
+    }
+
+    public NotificationDigest getNotificationDigest() {
+        return notificationDigest;
+    }
+
+    public DueDates getDueDates() {
+        return dueDates;
+    }
+
+    public OverdueSweep getOverdueSweep() {
+        return overdueSweep;
+    }
+
+    public UserPurge getUserPurge() {
+        return userPurge;
+    }
+
+    public ScheduledLock getScheduledLock() {
+        return scheduledLock;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    /**
+     * Per-region overrides of the Hibernate second-level cache.
+     * <p>
+     * Regions that are not listed here use {@code jhipster.cache.caffeine.*}.
+     */
+    public static class Cache {
+
+        private Map<String, Region> regions = new LinkedHashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+
+        public static class Region {
+
+            private Long timeToLiveSeconds;
+
+            private Long maxEntries;
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+    }
+
+    /**
+     * Cache of serialized JSON responses, see {@link com.mycompany.myapp.web.rest.util.JsonResponseCache}.
+     */
+    public static class ResponseCache {
+
+        private long maxBytes = 16L * 1024 * 1024;
+
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    /**
+     * Sharing of concurrent identical reads, see {@link com.mycompany.myapp.service.RequestCoalescer}.
+     */
+    public static class Coalescing {
+
+        private Duration timeout = Duration.ofSeconds(2);
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * Revocation of JWTs, see {@link com.mycompany.myapp.security.jwt.TokenRevocationStore}.
+     */
+    public static class TokenRevocation {
+
+        private Duration pollInterval = Duration.ofSeconds(10);
+
+        private int expectedRevocations = 10_000;
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getExpectedRevocations() {
+            return expectedRevocations;
+        }
+
+        public void setExpectedRevocations(int expectedRevocations) {
+            this.expectedRevocations = expectedRevocations;
+        }
+    }
+
+    /**
+     * BCrypt hashing of passwords, see {@link com.mycompany.myapp.security.BoundedPasswordEncoder}.
+     */
+    public static class PasswordHashing {
+
+        private int strength = 10;
+
+        private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        private int queueCapacity = 100;
+
+        public int getStrength() {
+            return strength;
+        }
+
+        public void setStrength(int strength) {
+            this.strength = strength;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Throttling of failed logins, see {@link com.mycompany.myapp.security.LoginThrottle}.
+     */
+    public static class LoginThrottling {
+
+        private Duration window = Duration.ofMinutes(5);
+
+        private int maxFailuresPerLogin = 10;
+
+        private int maxFailuresPerIp = 100;
+
+        private long maxTrackedKeys = 100_000;
+
+        private List<String> trustedProxies = new ArrayList<>(
+            List.of("127.0.0.0/8", "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16", "169.254.0.0/16", "::1", "fc00::/7")
+        );
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxFailuresPerLogin() {
+            return maxFailuresPerLogin;
+        }
+
+        public void setMaxFailuresPerLogin(int maxFailuresPerLogin) {
+            this.maxFailuresPerLogin = maxFailuresPerLogin;
+        }
+
+        public int getMaxFailuresPerIp() {
+            return maxFailuresPerIp;
+        }
+
+        public void setMaxFailuresPerIp(int maxFailuresPerIp) {
+            this.maxFailuresPerIp = maxFailuresPerIp;
+        }
+
+        public long getMaxTrackedKeys() {
+            return maxTrackedKeys;
+        }
+
+        public void setMaxTrackedKeys(long maxTrackedKeys) {
+            this.maxTrackedKeys = maxTrackedKeys;
+        }
+
+        public List<String> getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(List<String> trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+    }
+
+    /**
+     * Cache of the current user's account, see {@link com.mycompany.myapp.service.AccountCache}.
+     */
+    public static class AccountCache {
+
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        private long maxEntries = 10_000;
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    /**
+     * Outbound mail queue, see {@link com.mycompany.myapp.service.MailDispatcher}.
+     */
+    public static class MailQueue {
+
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        private int batchSize = 50;
+
+        private double maxPerSecond = 10;
+
+        private int maxAttempts = 8;
+
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        private Duration lease = Duration.ofMinutes(5);
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public double getMaxPerSecond() {
+            return maxPerSecond;
+        }
+
+        public void setMaxPerSecond(double maxPerSecond) {
+            this.maxPerSecond = maxPerSecond;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+    }
+
+    /**
+     * Digests of the notifications of each patron, see {@link com.mycompany.myapp.service.NotificationDigestService}.
+     */
+    public static class NotificationDigest {
+
+        private Duration pollInterval = Duration.ofMinutes(1);
+
+        private Duration window = Duration.ofMinutes(15);
+
+        private int maxCount = 20;
+
+        private int batchSize = 500;
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxCount() {
+            return maxCount;
+        }
+
+        public void setMaxCount(int maxCount) {
+            this.maxCount = maxCount;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    /**
+     * Due-soon and overdue notifications of check-outs, see {@link com.mycompany.myapp.service.DueDateScheduler}.
+     */
+    public static class DueDates {
+
+        private Duration tick = Duration.ofMinutes(1);
+
+        private Duration dueSoonLead = Duration.ofDays(1);
+
+        private Duration syncInterval = Duration.ofMinutes(1);
+
+        public Duration getTick() {
+            return tick;
+        }
+
+        public void setTick(Duration tick) {
+            this.tick = tick;
+        }
+
+        public Duration getDueSoonLead() {
+            return dueSoonLead;
+        }
+
+        public void setDueSoonLead(Duration dueSoonLead) {
+            this.dueSoonLead = dueSoonLead;
+        }
+
+        public Duration getSyncInterval() {
+            return syncInterval;
+        }
+
+        public void setSyncInterval(Duration syncInterval) {
+            this.syncInterval = syncInterval;
+        }
+    }
+
+    /**
+     * Sweep of the overdue check-outs, see {@link com.mycompany.myapp.service.OverdueSweeper}.
+     */
+    public static class OverdueSweep {
+
+        private Duration pollInterval = Duration.ofHours(1);
+
+        private int chunkSize = 1000;
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    /**
+     * Purge of the not activated users, see {@link com.mycompany.myapp.service.UserService#removeNotActivatedUsers()}.
+     */
+    public static class UserPurge {
+
+        private int chunkSize = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    /**
+     * Cluster-wide locks of the scheduled jobs, see {@link com.mycompany.myapp.service.scheduling.SchedulerLock}.
+     */
+    public static class ScheduledLock {
+
+        private Duration lease = Duration.ofMinutes(1);
+
+        private Duration lockAtMostFor = Duration.ofHours(1);
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public Duration getLockAtMostFor() {
+            return lockAtMostFor;
+        }
+
+        public void setLockAtMostFor(Duration lockAtMostFor) {
+            this.lockAtMostFor = lockAtMostFor;
+        }
+    }
+
+    /**
+     * Full-text search of the catalog, see {@link com.mycompany.myapp.service.search.BookSearchIndex}.
+     */
+    public static class Search {
+
+        private Duration syncInterval = Duration.ofMinutes(1);
+
+        public Duration getSyncInterval() {
+            return syncInterval;
+        }
+
+        public void setSyncInterval(Duration syncInterval) {
+            this.syncInterval = syncInterval;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -1,18 +1,24 @@
 package com.mycompany.myapp.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 
 @Configuration
@@ -25,24 +31,67 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final TaskSchedulingProperties taskSchedulingProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Environment env;
+
+    public AsyncConfiguration(
+        TaskExecutionProperties taskExecutionProperties,
+        TaskSchedulingProperties taskSchedulingProperties,
+        MeterRegistry meterRegistry,
+        Environment env
+    ) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.taskSchedulingProperties = taskSchedulingProperties;
+        this.meterRegistry = meterRegistry;
+        this.env = env;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        if (virtualThreads()) {
+            log.debug("Creating virtual thread Async Task Executor");
+            return new InstrumentedAsyncTaskExecutor(
+                new ExceptionHandlingAsyncTaskExecutor(
+                    new SimpleAsyncTaskExecutor(
+                        VirtualThreadConfiguration.virtualThreadFactory(taskExecutionProperties.getThreadNamePrefix())
+                    )
+                ),
+                null,
+                meterRegistry,
+                "taskExecutor"
+            );
+        }
         log.debug("Creating Async Task Executor");
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
         executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
         executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
         executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
-        return new ExceptionHandlingAsyncTaskExecutor(executor);
+        return new InstrumentedAsyncTaskExecutor(new ExceptionHandlingAsyncTaskExecutor(executor), executor, meterRegistry, "taskExecutor");
+    }
+
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        log.debug("Creating Task Scheduler");
+        ThreadPoolTaskScheduler scheduler = new InstrumentedTaskScheduler(meterRegistry, "taskScheduler");
+        scheduler.setPoolSize(taskSchedulingProperties.getPool().getSize());
+        scheduler.setThreadNamePrefix(taskSchedulingProperties.getThreadNamePrefix());
+        if (virtualThreads()) {
+            scheduler.setThreadFactory(VirtualThreadConfiguration.virtualThreadFactory(taskSchedulingProperties.getThreadNamePrefix()));
+        }
+        return scheduler;
     }
 
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
+
+    private boolean virtualThreads() {
+        return env.acceptsProfiles(Profiles.of(Constants.SPRING_PROFILE_VIRTUAL_THREADS));
+    }
 }
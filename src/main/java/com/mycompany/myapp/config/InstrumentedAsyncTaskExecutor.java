@@ -0,0 +1,101 @@
+package com.mycompany.myapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
+
+/**
+ * {@link AsyncTaskExecutor} reporting {@link TaskExecutionMetrics} for each task, and the {@code executor.*} gauges
+ * (active threads, queued tasks, pool size) of its thread pool, if it has one.
+ */
+class InstrumentedAsyncTaskExecutor implements AsyncTaskExecutor, InitializingBean, DisposableBean {
+
+    private final ExceptionHandlingAsyncTaskExecutor delegate;
+
+    private final ThreadPoolTaskExecutor pool;
+
+    private final MeterRegistry registry;
+
+    private final String name;
+
+    private final TaskExecutionMetrics metrics;
+
+    /**
+     * @param delegate the executor running the tasks.
+     * @param pool the thread pool of the delegate, {@code null} if it has none.
+     * @param registry the meter registry.
+     * @param name the executor name, used as a tag.
+     */
+    InstrumentedAsyncTaskExecutor(
+        ExceptionHandlingAsyncTaskExecutor delegate,
+        ThreadPoolTaskExecutor pool,
+        MeterRegistry registry,
+        String name
+    ) {
+        this.delegate = delegate;
+        this.pool = pool;
+        this.registry = registry;
+        this.name = name;
+        this.metrics = new TaskExecutionMetrics(registry, name);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        String origin = metrics.origin();
+        try {
+            delegate.execute(metrics.instrument(task, origin));
+        } catch (RejectedExecutionException e) {
+            metrics.trackRejected(origin);
+            throw e;
+        }
+    }
+
+    @Override
+    @Deprecated
+    public void execute(Runnable task, long startTimeout) {
+        execute(task);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        String origin = metrics.origin();
+        try {
+            return delegate.submit(metrics.instrument(task, origin));
+        } catch (RejectedExecutionException e) {
+            metrics.trackRejected(origin);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        String origin = metrics.origin();
+        try {
+            return delegate.submit(metrics.instrument(task, origin));
+        } catch (RejectedExecutionException e) {
+            metrics.trackRejected(origin);
+            throw e;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        delegate.afterPropertiesSet();
+        if (pool != null) {
+            new ExecutorServiceMetrics(pool.getThreadPoolExecutor(), name, Tags.empty()).bindTo(registry);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        delegate.destroy();
+    }
+}
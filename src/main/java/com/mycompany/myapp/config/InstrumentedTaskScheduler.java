@@ -0,0 +1,165 @@
+package com.mycompany.myapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+/**
+ * {@link ThreadPoolTaskScheduler} reporting {@link TaskExecutionMetrics} for each run of a task, and the
+ * {@code executor.*} gauges of its thread pool.
+ * <p>
+ * The wait time of a scheduled run is how late it started.
+ */
+class InstrumentedTaskScheduler extends ThreadPoolTaskScheduler {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient MeterRegistry registry;
+
+    private final String name;
+
+    private final transient TaskExecutionMetrics metrics;
+
+    InstrumentedTaskScheduler(MeterRegistry registry, String name) {
+        this.registry = registry;
+        this.name = name;
+        this.metrics = new TaskExecutionMetrics(registry, name);
+    }
+
+    @Override
+    protected ScheduledExecutorService createExecutor(
+        int poolSize,
+        ThreadFactory threadFactory,
+        RejectedExecutionHandler rejectedExecutionHandler
+    ) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(poolSize, threadFactory, rejectedExecutionHandler) {
+            @Override
+            protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+                return new TimedScheduledFuture<>(task, metrics.origin());
+            }
+
+            @Override
+            protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task) {
+                return new TimedScheduledFuture<>(task, metrics.origin());
+            }
+        };
+        new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(registry);
+        return executor;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return scheduled(task, () -> super.schedule(task, trigger));
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        return scheduled(task, () -> super.schedule(task, startTime));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        return scheduled(task, () -> super.scheduleAtFixedRate(task, startTime, period));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        return scheduled(task, () -> super.scheduleAtFixedRate(task, period));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        return scheduled(task, () -> super.scheduleWithFixedDelay(task, startTime, delay));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        return scheduled(task, () -> super.scheduleWithFixedDelay(task, delay));
+    }
+
+    private ScheduledFuture<?> scheduled(Runnable task, Supplier<ScheduledFuture<?>> submission) {
+        String origin = task instanceof ScheduledMethodRunnable
+            ? TaskExecutionMetrics.originOf(((ScheduledMethodRunnable) task).getMethod())
+            : metrics.origin();
+        try {
+            return metrics.withOrigin(origin, submission);
+        } catch (RejectedExecutionException e) {
+            metrics.trackRejected(origin);
+            throw e;
+        }
+    }
+
+    private final class TimedScheduledFuture<V> implements RunnableScheduledFuture<V> {
+
+        private final RunnableScheduledFuture<V> task;
+
+        private final String origin;
+
+        private TimedScheduledFuture(RunnableScheduledFuture<V> task, String origin) {
+            this.task = task;
+            this.origin = origin;
+        }
+
+        @Override
+        public void run() {
+            metrics.run(origin, Math.max(0, -task.getDelay(TimeUnit.NANOSECONDS)), task);
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return task.isPeriodic();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return task.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return task.compareTo(other);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return task.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return task.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return task.get();
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return task.get(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.mycompany.myapp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-task metrics of an executor: time waiting to run, time running and rejections, tagged by executor name and
+ * task origin.
+ * <p>
+ * The origin of a task is the application method it runs, e.g. {@code MailDispatcher.dispatch}: the
+ * {@code @Scheduled} method of a scheduled task, or else the first application frame that submitted it, which for an
+ * {@code @Async} method is its proxy.
+ */
+public final class TaskExecutionMetrics {
+
+    public static final String WAIT_METER_NAME = "executor.task.wait";
+    public static final String EXECUTION_METER_NAME = "executor.task.execution";
+    public static final String REJECTED_METER_NAME = "executor.task.rejected";
+    public static final String EXECUTOR_DIMENSION = "name";
+    public static final String ORIGIN_DIMENSION = "origin";
+
+    static final String UNKNOWN_ORIGIN = "unknown";
+
+    private static final String APPLICATION_PACKAGE = "com.mycompany.myapp.";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private static final ThreadLocal<String> CURRENT_ORIGIN = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+
+    private final String executorName;
+
+    TaskExecutionMetrics(MeterRegistry registry, String executorName) {
+        this.registry = registry;
+        this.executorName = executorName;
+    }
+
+    static String originOf(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    /**
+     * Get the origin of a task submitted now: the one set by {@link #withOrigin}, or the submitting application method.
+     */
+    String origin() {
+        String origin = CURRENT_ORIGIN.get();
+        return origin != null ? origin : callerOrigin();
+    }
+
+    <T> T withOrigin(String origin, Supplier<T> submission) {
+        String previous = CURRENT_ORIGIN.get();
+        CURRENT_ORIGIN.set(origin);
+        try {
+            return submission.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    Runnable instrument(Runnable task, String origin) {
+        long submitted = System.nanoTime();
+        return () -> run(origin, System.nanoTime() - submitted, task);
+    }
+
+    <T> Callable<T> instrument(Callable<T> task, String origin) {
+        long submitted = System.nanoTime();
+        return () -> {
+            long started = System.nanoTime();
+            waitTimer(origin).record(started - submitted, TimeUnit.NANOSECONDS);
+            String previous = CURRENT_ORIGIN.get();
+            CURRENT_ORIGIN.set(origin);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+                executionTimer(origin).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    void run(String origin, long waitNanos, Runnable task) {
+        waitTimer(origin).record(waitNanos, TimeUnit.NANOSECONDS);
+        long started = System.nanoTime();
+        String previous = CURRENT_ORIGIN.get();
+        CURRENT_ORIGIN.set(origin);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+            executionTimer(origin).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void trackRejected(String origin) {
+        Counter
+            .builder(REJECTED_METER_NAME)
+            .baseUnit("tasks")
+            .description("Tasks rejected by the executor")
+            .tag(EXECUTOR_DIMENSION, executorName)
+            .tag(ORIGIN_DIMENSION, origin)
+            .register(registry)
+            .increment();
+    }
+
+    private Timer waitTimer(String origin) {
+        return Timer
+            .builder(WAIT_METER_NAME)
+            .description("Time tasks waited before running")
+            .tag(EXECUTOR_DIMENSION, executorName)
+            .tag(ORIGIN_DIMENSION, origin)
+            .register(registry);
+    }
+
+    private Timer executionTimer(String origin) {
+        return Timer
+            .builder(EXECUTION_METER_NAME)
+            .description("Time spent running tasks")
+            .tag(EXECUTOR_DIMENSION, executorName)
+            .tag(ORIGIN_DIMENSION, origin)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private static void restore(String previous) {
+        if (previous != null) {
+            CURRENT_ORIGIN.set(previous);
+        } else {
+            CURRENT_ORIGIN.remove();
+        }
+    }
+
+    private static String callerOrigin() {
+        return STACK_WALKER.walk(frames ->
+            frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE) && !isInstrumentation(frame.getClassName()))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+                .orElse(UNKNOWN_ORIGIN)
+        );
+    }
+
+    private static boolean isInstrumentation(String className) {
+        return (
+            isClassOrNested(className, TaskExecutionMetrics.class) ||
+            isClassOrNested(className, InstrumentedAsyncTaskExecutor.class) ||
+            isClassOrNested(className, InstrumentedTaskScheduler.class)
+        );
+    }
+
+    private static boolean isClassOrNested(String className, Class<?> type) {
+        return className.equals(type.getName()) || className.startsWith(type.getName() + "$");
+    }
+
+    private static String methodName(String name) {
+        if (!name.startsWith("lambda$")) {
+            return name;
+        }
+        int end = name.indexOf('$', "lambda$".length());
+        return end < 0 ? name : name.substring("lambda$".length(), end);
+    }
+
+    private static String simpleName(String className) {
+        int proxySuffix = className.indexOf("$$");
+        String name = proxySuffix < 0 ? className : className.substring(0, proxySuffix);
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
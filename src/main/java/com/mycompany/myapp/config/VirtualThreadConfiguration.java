@@ -0,0 +1,51 @@
+package com.mycompany.myapp.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Run blocking work on virtual threads, when the {@value Constants#SPRING_PROFILE_VIRTUAL_THREADS} profile is active.
+ * <p>
+ * Servlet requests are dispatched on a new virtual thread each instead of the Undertow worker pool, scheduled tasks run
+ * on virtual threads, and so do {@code @Async} tasks (both set up in {@link AsyncConfiguration}). Request concurrency is then
+ * bounded by the Hikari connection pool, whose {@code connection-timeout} this profile lowers.
+ * <p>
+ * This needs a Java 21 runtime; the application fails to start on an older one with this profile.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_VIRTUAL_THREADS)
+public class VirtualThreadConfiguration {
+
+    /**
+     * Create a factory of virtual threads, through reflection as the application is compiled for Java 11.
+     *
+     * @param namePrefix the prefix of the thread names, followed by a counter.
+     * @return the thread factory.
+     * @throws IllegalStateException if the runtime does not support virtual threads.
+     */
+    public static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                "Virtual threads need a Java 21 runtime, this is Java " + System.getProperty("java.specification.version"),
+                e
+            );
+        }
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadUndertowCustomizer() {
+        ThreadFactory threadFactory = virtualThreadFactory("undertow-request-");
+        Executor executor = command -> threadFactory.newThread(command).start();
+        return factory -> factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(executor));
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.myapp.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.mycompany.myapp.domain.enumeration.Status;
 import java.io.Serializable;
@@ -35,6 +36,18 @@ public class CheckOut implements Serializable {
     @Column(name = "is_returned")
     private Boolean isReturned;
 
+    /**
+     * When the patron was notified that the check-out is overdue. Only written by the bulk updates of
+     * {@link com.mycompany.myapp.repository.CheckOutRepository}.
+     */
+    @JsonIgnore
+    @Column(name = "overdue_notified_at", insertable = false, updatable = false)
+    private Instant overdueNotifiedAt;
+
+    @JsonIgnore
+    @Column(name = "due_soon_notified_at", insertable = false, updatable = false)
+    private Instant dueSoonNotifiedAt;
+
     @ManyToOne
     @JsonIgnoreProperties(value = { "checkOuts", "book", "publisher" }, allowSetters = true)
     private BookCopy bookCopy;
@@ -110,6 +123,32 @@ public class CheckOut implements Serializable {
         this.isReturned = isReturned;
     }
 
+    public Instant getOverdueNotifiedAt() {
+        return this.overdueNotifiedAt;
+    }
+
+    public CheckOut overdueNotifiedAt(Instant overdueNotifiedAt) {
+        this.setOverdueNotifiedAt(overdueNotifiedAt);
+        return this;
+    }
+
+    public void setOverdueNotifiedAt(Instant overdueNotifiedAt) {
+        this.overdueNotifiedAt = overdueNotifiedAt;
+    }
+
+    public Instant getDueSoonNotifiedAt() {
+        return this.dueSoonNotifiedAt;
+    }
+
+    public CheckOut dueSoonNotifiedAt(Instant dueSoonNotifiedAt) {
+        this.setDueSoonNotifiedAt(dueSoonNotifiedAt);
+        return this;
+    }
+
+    public void setDueSoonNotifiedAt(Instant dueSoonNotifiedAt) {
+        this.dueSoonNotifiedAt = dueSoonNotifiedAt;
+    }
+
     public BookCopy getBookCopy() {
         return this.bookCopy;
     }
@@ -164,6 +203,8 @@ public class CheckOut implements Serializable {
             ", endTime='" + getEndTime() + "'" +
             ", status='" + getStatus() + "'" +
             ", isReturned='" + getIsReturned() + "'" +
+            ", overdueNotifiedAt='" + getOverdueNotifiedAt() + "'" +
+            ", dueSoonNotifiedAt='" + getDueSoonNotifiedAt() + "'" +
             "}";
     }
 }
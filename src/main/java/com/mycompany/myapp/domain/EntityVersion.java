@@ -0,0 +1,182 @@
+package com.mycompany.myapp.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The version of an entity, or of a whole table when {@code entityId} is {@link #TABLE}, incremented on every change.
+ * <p>
+ * Rows are written by {@link com.mycompany.myapp.repository.EntityVersionCounter} only, and kept after a deletion: the
+ * entity is read-only for Hibernate.
+ */
+@Entity
+@Immutable
+@Table(name = "entity_version")
+@IdClass(EntityVersion.Key.class)
+public class EntityVersion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The {@code entityId} of the version of a table.
+     */
+    public static final String TABLE = "";
+
+    @Id
+    @Size(max = 64)
+    @Column(name = "entity_type", length = 64)
+    private String entityType;
+
+    @Id
+    @Size(max = 64)
+    @Column(name = "entity_id", length = 64)
+    private String entityId;
+
+    @NotNull
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @NotNull
+    @Column(name = "deleted", nullable = false)
+    private Boolean deleted;
+
+    @NotNull
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public String getEntityType() {
+        return this.entityType;
+    }
+
+    public EntityVersion entityType(String entityType) {
+        this.setEntityType(entityType);
+        return this;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getEntityId() {
+        return this.entityId;
+    }
+
+    public EntityVersion entityId(String entityId) {
+        this.setEntityId(entityId);
+        return this;
+    }
+
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public EntityVersion version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Boolean getDeleted() {
+        return this.deleted;
+    }
+
+    public EntityVersion deleted(Boolean deleted) {
+        this.setDeleted(deleted);
+        return this;
+    }
+
+    public void setDeleted(Boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public Instant getChangedAt() {
+        return this.changedAt;
+    }
+
+    public EntityVersion changedAt(Instant changedAt) {
+        this.setChangedAt(changedAt);
+        return this;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EntityVersion)) {
+            return false;
+        }
+        EntityVersion other = (EntityVersion) o;
+        return entityType != null && entityType.equals(other.entityType) && Objects.equals(entityId, other.entityId);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityVersion{" +
+            "entityType=" + getEntityType() +
+            ", entityId='" + getEntityId() + "'" +
+            ", version=" + getVersion() +
+            ", deleted='" + getDeleted() + "'" +
+            ", changedAt='" + getChangedAt() + "'" +
+            "}";
+    }
+
+    /**
+     * The id of an {@link EntityVersion}.
+     */
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String entityType;
+
+        private String entityId;
+
+        public Key() {}
+
+        public Key(String entityType, String entityId) {
+            this.entityType = entityType;
+            this.entityId = entityId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(entityType, key.entityType) && Objects.equals(entityId, key.entityId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityType, entityId);
+        }
+    }
+}
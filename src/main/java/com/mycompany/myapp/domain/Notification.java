@@ -29,6 +29,9 @@ public class Notification implements Serializable {
     @Column(name = "type")
     private NoTi type;
 
+    @Column(name = "delivered_at")
+    private Instant deliveredAt;
+
     @ManyToOne
     @JsonIgnoreProperties(value = { "user", "notifications", "waitLists", "checkOuts" }, allowSetters = true)
     private PatronAccount patronAccount;
@@ -74,6 +77,19 @@ public class Notification implements Serializable {
         this.type = type;
     }
 
+    public Instant getDeliveredAt() {
+        return this.deliveredAt;
+    }
+
+    public Notification deliveredAt(Instant deliveredAt) {
+        this.setDeliveredAt(deliveredAt);
+        return this;
+    }
+
+    public void setDeliveredAt(Instant deliveredAt) {
+        this.deliveredAt = deliveredAt;
+    }
+
     public PatronAccount getPatronAccount() {
         return this.patronAccount;
     }
@@ -113,6 +129,7 @@ public class Notification implements Serializable {
             "id=" + getId() +
             ", sentAt='" + getSentAt() + "'" +
             ", type='" + getType() + "'" +
+            ", deliveredAt='" + getDeliveredAt() + "'" +
             "}";
     }
 }
@@ -0,0 +1,9 @@
+package com.mycompany.myapp.domain.enumeration;
+
+/**
+ * The OutboundMailStatus enumeration.
+ */
+public enum OutboundMailStatus {
+    Pending,
+    Dead,
+}
@@ -0,0 +1,81 @@
+package com.mycompany.myapp.management;
+
+import com.mycompany.myapp.config.TaskExecutionMetrics;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.stereotype.Component;
+import tech.jhipster.config.metric.JHipsterMetricsEndpoint;
+
+/**
+ * The {@code jhimetrics} endpoint, with an {@code executors} section added to the JHipster one: for each executor,
+ * its active threads, queued tasks and pool size, and for each task origin, its wait and execution times and
+ * rejections (see {@link TaskExecutionMetrics}).
+ */
+@Component
+@WebEndpoint(id = "jhimetrics")
+public class ApplicationMetricsEndpoint extends JHipsterMetricsEndpoint {
+
+    private static final String TASKS_KEY = "tasks";
+
+    private final MeterRegistry meterRegistry;
+
+    public ApplicationMetricsEndpoint(MeterRegistry meterRegistry) {
+        super(meterRegistry);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    @ReadOperation
+    public Map<String, Map<?, ?>> allMetrics() {
+        Map<String, Map<?, ?>> results = new HashMap<>(super.allMetrics());
+        results.put("executors", executorMetrics());
+        return results;
+    }
+
+    private Map<String, Map<String, Object>> executorMetrics() {
+        Map<String, Map<String, Object>> executors = new TreeMap<>();
+        meterRegistry.find("executor.active").gauges().forEach(gauge -> executor(executors, gauge).put("active", gauge.value()));
+        meterRegistry.find("executor.queued").gauges().forEach(gauge -> executor(executors, gauge).put("queued", gauge.value()));
+        meterRegistry.find("executor.pool.size").gauges().forEach(gauge -> executor(executors, gauge).put("poolSize", gauge.value()));
+        meterRegistry
+            .find(TaskExecutionMetrics.WAIT_METER_NAME)
+            .timers()
+            .forEach(timer -> task(executors, timer).put("wait", timerMetrics(timer)));
+        meterRegistry
+            .find(TaskExecutionMetrics.EXECUTION_METER_NAME)
+            .timers()
+            .forEach(timer -> task(executors, timer).put("execution", timerMetrics(timer)));
+        meterRegistry
+            .find(TaskExecutionMetrics.REJECTED_METER_NAME)
+            .counters()
+            .forEach(counter -> task(executors, counter).put("rejected", counter.count()));
+        return executors;
+    }
+
+    private static Map<String, Object> executor(Map<String, Map<String, Object>> executors, Meter meter) {
+        String name = meter.getId().getTag(TaskExecutionMetrics.EXECUTOR_DIMENSION);
+        return executors.computeIfAbsent(name != null ? name : "unknown", key -> new TreeMap<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> task(Map<String, Map<String, Object>> executors, Meter meter) {
+        Map<String, Object> tasks = (Map<String, Object>) executor(executors, meter).computeIfAbsent(TASKS_KEY, key -> new TreeMap<>());
+        String origin = meter.getId().getTag(TaskExecutionMetrics.ORIGIN_DIMENSION);
+        return (Map<String, Object>) tasks.computeIfAbsent(origin, key -> new TreeMap<>());
+    }
+
+    private static Map<String, Number> timerMetrics(Timer timer) {
+        Map<String, Number> metrics = new TreeMap<>();
+        metrics.put("count", timer.count());
+        metrics.put("mean", timer.mean(TimeUnit.MILLISECONDS));
+        metrics.put("max", timer.max(TimeUnit.MILLISECONDS));
+        return metrics;
+    }
+}
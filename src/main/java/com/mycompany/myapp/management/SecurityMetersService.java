@@ -1,7 +1,11 @@
 package com.mycompany.myapp.management;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +17,61 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+    public static final String TOKEN_CACHE_METER_DESCRIPTION = "Indicates lookups of presented tokens in the cache of verified tokens.";
+    public static final String TOKEN_CACHE_METER_BASE_UNIT = "lookups";
+    public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+    public static final String TOKEN_CACHE_SIZE_METER_NAME = "security.authentication.token-cache.size";
+
+    public static final String LOGIN_THROTTLED_METER_NAME = "security.authentication.throttled";
+    public static final String LOGIN_THROTTLED_METER_DESCRIPTION = "Indicates login attempts rejected because of too many failed attempts.";
+    public static final String LOGIN_THROTTLED_METER_BASE_UNIT = "attempts";
+    public static final String LOGIN_THROTTLED_METER_KEY_DIMENSION = "key";
+
+    public static final String PASSWORD_HASHING_METER_NAME = "security.password-hashing";
+    public static final String PASSWORD_HASHING_METER_DESCRIPTION = "Indicates the time spent hashing passwords.";
+    public static final String PASSWORD_HASHING_METER_OPERATION_DIMENSION = "operation";
+    public static final String PASSWORD_HASHING_QUEUE_METER_NAME = "security.password-hashing.queue";
+    public static final String PASSWORD_HASHING_REJECTED_METER_NAME = "security.password-hashing.rejected";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
 
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
+
+    private final Counter loginThrottledByLoginCounter;
+    private final Counter loginThrottledByIpCounter;
+
+    private final Timer passwordEncodeTimer;
+    private final Timer passwordMatchTimer;
+    private final Counter passwordHashingRejectedCounter;
+
+    private final MeterRegistry registry;
+
     public SecurityMetersService(MeterRegistry registry) {
+        this.registry = registry;
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+
+        this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
+
+        this.loginThrottledByLoginCounter = loginThrottledCounterForKeyBuilder("login").register(registry);
+        this.loginThrottledByIpCounter = loginThrottledCounterForKeyBuilder("ip").register(registry);
+
+        this.passwordEncodeTimer = passwordHashingTimerForOperationBuilder("encode").register(registry);
+        this.passwordMatchTimer = passwordHashingTimerForOperationBuilder("match").register(registry);
+        this.passwordHashingRejectedCounter =
+            Counter
+                .builder(PASSWORD_HASHING_REJECTED_METER_NAME)
+                .baseUnit("requests")
+                .description("Indicates password hashing requests rejected because the queue was full.")
+                .register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -33,6 +82,29 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+        return Counter
+            .builder(TOKEN_CACHE_METER_NAME)
+            .baseUnit(TOKEN_CACHE_METER_BASE_UNIT)
+            .description(TOKEN_CACHE_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    private Counter.Builder loginThrottledCounterForKeyBuilder(String key) {
+        return Counter
+            .builder(LOGIN_THROTTLED_METER_NAME)
+            .baseUnit(LOGIN_THROTTLED_METER_BASE_UNIT)
+            .description(LOGIN_THROTTLED_METER_DESCRIPTION)
+            .tag(LOGIN_THROTTLED_METER_KEY_DIMENSION, key);
+    }
+
+    private Timer.Builder passwordHashingTimerForOperationBuilder(String operation) {
+        return Timer
+            .builder(PASSWORD_HASHING_METER_NAME)
+            .description(PASSWORD_HASHING_METER_DESCRIPTION)
+            .tag(PASSWORD_HASHING_METER_OPERATION_DIMENSION, operation);
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -48,4 +120,43 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
+
+    public <T> void monitorTokenCacheSize(T cache, ToDoubleFunction<T> size) {
+        Gauge.builder(TOKEN_CACHE_SIZE_METER_NAME, cache, size).description("Number of verified tokens in cache.").register(registry);
+    }
+
+    public void trackLoginThrottledByLogin() {
+        this.loginThrottledByLoginCounter.increment();
+    }
+
+    public void trackLoginThrottledByIp() {
+        this.loginThrottledByIpCounter.increment();
+    }
+
+    public void recordPasswordEncode(long nanos) {
+        this.passwordEncodeTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordMatch(long nanos) {
+        this.passwordMatchTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackPasswordHashingRejected() {
+        this.passwordHashingRejectedCounter.increment();
+    }
+
+    public <T> void monitorPasswordHashingQueue(T queue, ToDoubleFunction<T> depth) {
+        Gauge
+            .builder(PASSWORD_HASHING_QUEUE_METER_NAME, queue, depth)
+            .description("Number of password hashing requests waiting for a thread.")
+            .register(registry);
+    }
 }
@@ -1,7 +1,11 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Author;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,18 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AuthorRepository extends JpaRepository<Author, Long> {}
+public interface AuthorRepository extends JpaRepository<Author, Long> {
+    Slice<Author> findSliceBy(Pageable pageable);
+
+    @Query(
+        "select author.id as id, count(checkOut) as checkOuts from CheckOut checkOut join checkOut.bookCopy bookCopy" +
+        " join bookCopy.book book join book.authors author group by author.id"
+    )
+    List<CheckOutCount> countCheckOuts();
+
+    @Query(
+        "select count(checkOut) from CheckOut checkOut join checkOut.bookCopy bookCopy join bookCopy.book book" +
+        " join book.authors author where author.id = :id"
+    )
+    long countCheckOutsById(@Param("id") Long id);
+}
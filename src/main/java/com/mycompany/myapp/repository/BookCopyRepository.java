@@ -5,36 +5,30 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data JPA repository for the BookCopy entity.
  */
 @Repository
-public interface BookCopyRepository extends JpaRepository<BookCopy, Long> {
+public interface BookCopyRepository extends RelationshipLoader, JpaRepository<BookCopy, Long> {
+    Slice<BookCopy> findSliceBy(Pageable pageable);
+
     default Optional<BookCopy> findOneWithEagerRelationships(Long id) {
-        return this.findOneWithToOneRelationships(id);
+        return this.findOneWithRelationships(BookCopy.class, id, "book", "publisher");
     }
 
     default List<BookCopy> findAllWithEagerRelationships() {
-        return this.findAllWithToOneRelationships();
+        return this.findAllWithRelationships(BookCopy.class, "book", "publisher");
     }
 
     default Page<BookCopy> findAllWithEagerRelationships(Pageable pageable) {
-        return this.findAllWithToOneRelationships(pageable);
+        return this.findAllWithRelationships(BookCopy.class, pageable, "book", "publisher");
     }
 
-    @Query(
-        value = "select distinct bookCopy from BookCopy bookCopy left join fetch bookCopy.book left join fetch bookCopy.publisher",
-        countQuery = "select count(distinct bookCopy) from BookCopy bookCopy"
-    )
-    Page<BookCopy> findAllWithToOneRelationships(Pageable pageable);
-
-    @Query("select distinct bookCopy from BookCopy bookCopy left join fetch bookCopy.book left join fetch bookCopy.publisher")
-    List<BookCopy> findAllWithToOneRelationships();
-
-    @Query("select bookCopy from BookCopy bookCopy left join fetch bookCopy.book left join fetch bookCopy.publisher where bookCopy.id =:id")
-    Optional<BookCopy> findOneWithToOneRelationships(@Param("id") Long id);
+    default Slice<BookCopy> findSliceWithEagerRelationships(Pageable pageable) {
+        return this.findSliceWithRelationships(BookCopy.class, pageable, "book", "publisher");
+    }
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,32 +13,44 @@ import org.springframework.stereotype.Repository;
 /**
  * Spring Data JPA repository for the Book entity.
  *
- * When extending this class, extend BookRepositoryWithBagRelationships too.
- * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
+ * Relationships are loaded by {@link RelationshipLoader}, one query per bag so that they do not multiply rows.
  */
 @Repository
-public interface BookRepository extends BookRepositoryWithBagRelationships, JpaRepository<Book, Long> {
+public interface BookRepository extends RelationshipLoader, JpaRepository<Book, Long> {
+    Slice<Book> findSliceBy(Pageable pageable);
+
     default Optional<Book> findOneWithEagerRelationships(Long id) {
-        return this.fetchBagRelationships(this.findOneWithToOneRelationships(id));
+        return this.findOneWithRelationships(Book.class, id, "category", "authors");
     }
 
     default List<Book> findAllWithEagerRelationships() {
-        return this.fetchBagRelationships(this.findAllWithToOneRelationships());
+        return this.findAllWithRelationships(Book.class, "category", "authors");
     }
 
     default Page<Book> findAllWithEagerRelationships(Pageable pageable) {
-        return this.fetchBagRelationships(this.findAllWithToOneRelationships(pageable));
+        return this.findAllWithRelationships(Book.class, pageable, "category", "authors");
+    }
+
+    default Slice<Book> findSliceWithEagerRelationships(Pageable pageable) {
+        return this.findSliceWithRelationships(Book.class, pageable, "category", "authors");
+    }
+
+    default List<Book> fetchBagRelationships(List<Book> books) {
+        return this.fetchRelationships(books, "authors");
     }
 
     @Query(
-        value = "select distinct book from Book book left join fetch book.category",
-        countQuery = "select count(distinct book) from Book book"
+        "select bookCopy.book.id as id, count(checkOut) as checkOuts from CheckOut checkOut join checkOut.bookCopy bookCopy" +
+        " where bookCopy.book is not null group by bookCopy.book.id"
     )
-    Page<Book> findAllWithToOneRelationships(Pageable pageable);
+    List<CheckOutCount> countCheckOuts();
+
+    @Query("select count(checkOut) from CheckOut checkOut where checkOut.bookCopy.book.id = :id")
+    long countCheckOutsById(@Param("id") Long id);
 
-    @Query("select distinct book from Book book left join fetch book.category")
-    List<Book> findAllWithToOneRelationships();
+    @Query("select book.id from Book book join book.authors author where author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
 
-    @Query("select book from Book book left join fetch book.category where book.id =:id")
-    Optional<Book> findOneWithToOneRelationships(@Param("id") Long id);
+    @Query("select book.id from Book book where book.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
 }
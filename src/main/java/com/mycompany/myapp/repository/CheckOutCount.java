@@ -0,0 +1,10 @@
+package com.mycompany.myapp.repository;
+
+/**
+ * Projection of the number of check-outs of an entity, used to rank it by popularity.
+ */
+public interface CheckOutCount {
+    Long getId();
+
+    Long getCheckOuts();
+}
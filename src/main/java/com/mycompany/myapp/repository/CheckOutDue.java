@@ -0,0 +1,12 @@
+package com.mycompany.myapp.repository;
+
+import java.time.Instant;
+
+/**
+ * Projection of the due date of a check-out.
+ */
+public interface CheckOutDue {
+    Long getId();
+
+    Instant getEndTime();
+}
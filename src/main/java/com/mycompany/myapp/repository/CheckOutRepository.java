@@ -1,7 +1,14 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.CheckOut;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +16,104 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CheckOutRepository extends JpaRepository<CheckOut, Long> {}
+public interface CheckOutRepository extends RelationshipLoader, JpaRepository<CheckOut, Long> {
+    Slice<CheckOut> findSliceBy(Pageable pageable);
+
+    /**
+     * Find the due dates of the check-outs after {@code after} that are not returned and due after {@code now}, by id.
+     */
+    @Query(
+        "select checkOut.id as id, checkOut.endTime as endTime from CheckOut checkOut " +
+        "where checkOut.id > :after and checkOut.isReturned = false and checkOut.endTime > :now " +
+        "order by checkOut.id"
+    )
+    List<CheckOutDue> findOpenDueAfter(@Param("after") Long after, @Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Find the check-outs after {@code (afterEndTime, afterId)} that are not returned, were due before {@code now} and
+     * are not notified as overdue yet, by end time and id. This reads the partial index {@code idx_check_out_overdue}.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(
+        "select checkOut.id as id, checkOut.endTime as endTime from CheckOut checkOut " +
+        "where checkOut.isReturned = false and checkOut.overdueNotifiedAt is null and checkOut.endTime < :now " +
+        "and (checkOut.endTime > :afterEndTime or (checkOut.endTime = :afterEndTime and checkOut.id > :afterId)) " +
+        "order by checkOut.endTime, checkOut.id"
+    )
+    List<CheckOutDue> findOverdueAfter(
+        @Param("afterEndTime") Instant afterEndTime,
+        @Param("afterId") Long afterId,
+        @Param("now") Instant now,
+        Pageable pageable
+    );
+
+    /**
+     * Mark the given check-outs that are not returned as notified overdue, unless they already are.
+     *
+     * @return the number of check-outs marked.
+     */
+    @Modifying
+    @Query(
+        "update CheckOut checkOut set checkOut.overdueNotifiedAt = :notifiedAt " +
+        "where checkOut.id in :ids and checkOut.isReturned = false and checkOut.overdueNotifiedAt is null"
+    )
+    int markOverdueNotified(@Param("ids") Collection<Long> ids, @Param("notifiedAt") Instant notifiedAt);
+
+    /**
+     * Find the card numbers of the patrons of the given check-outs marked notified overdue at {@code notifiedAt}, once per
+     * check-out.
+     */
+    @Query(
+        "select checkOut.patronAccount.cardNumber from CheckOut checkOut " +
+        "where checkOut.id in :ids and checkOut.overdueNotifiedAt = :notifiedAt"
+    )
+    List<String> findPatronCardNumbersByIdInAndOverdueNotifiedAt(
+        @Param("ids") Collection<Long> ids,
+        @Param("notifiedAt") Instant notifiedAt
+    );
+
+    /**
+     * Clear the overdue notification of a check-out that is due after {@code now} again.
+     */
+    @Modifying
+    @Query(
+        "update CheckOut checkOut set checkOut.overdueNotifiedAt = null " +
+        "where checkOut.id = :id and checkOut.overdueNotifiedAt is not null and checkOut.endTime > :now"
+    )
+    int clearOverdueNotified(@Param("id") Long id, @Param("now") Instant now);
+
+    /**
+     * Mark the given check-outs that are not returned as notified due soon, unless they already are.
+     *
+     * @return the number of check-outs marked.
+     */
+    @Modifying
+    @Query(
+        "update CheckOut checkOut set checkOut.dueSoonNotifiedAt = :notifiedAt " +
+        "where checkOut.id in :ids and checkOut.isReturned = false and checkOut.dueSoonNotifiedAt is null"
+    )
+    int markDueSoonNotified(@Param("ids") Collection<Long> ids, @Param("notifiedAt") Instant notifiedAt);
+
+    /**
+     * Find the card numbers of the patrons of the given check-outs marked notified due soon at {@code notifiedAt}, once
+     * per check-out.
+     */
+    @Query(
+        "select checkOut.patronAccount.cardNumber from CheckOut checkOut " +
+        "where checkOut.id in :ids and checkOut.dueSoonNotifiedAt = :notifiedAt"
+    )
+    List<String> findPatronCardNumbersByIdInAndDueSoonNotifiedAt(
+        @Param("ids") Collection<Long> ids,
+        @Param("notifiedAt") Instant notifiedAt
+    );
+
+    /**
+     * Clear the due soon notification of a check-out that is due after {@code dueSoonUntil} again.
+     */
+    @Modifying
+    @Query(
+        "update CheckOut checkOut set checkOut.dueSoonNotifiedAt = null " +
+        "where checkOut.id = :id and checkOut.dueSoonNotifiedAt is not null and checkOut.endTime > :dueSoonUntil"
+    )
+    int clearDueSoonNotified(@Param("id") Long id, @Param("dueSoonUntil") Instant dueSoonUntil);
+}
@@ -0,0 +1,22 @@
+package com.mycompany.myapp.repository;
+
+import java.time.Instant;
+
+/**
+ * Repository fragment incrementing the versions of {@link com.mycompany.myapp.domain.EntityVersion}.
+ * <p>
+ * Extend it from a Spring Data repository interface to get its implementation, {@link EntityVersionCounterImpl}.
+ */
+public interface EntityVersionCounter {
+    /**
+     * Increment the version of an entity and the version of its table, creating them at 1 if they do not exist.
+     * <p>
+     * The rows stay locked until the end of the current transaction, which must be active.
+     *
+     * @param entityType the name of the entity type.
+     * @param entityId the id of the entity.
+     * @param deleted whether the entity was deleted.
+     * @param changedAt the time of the change.
+     */
+    void increment(String entityType, String entityId, boolean deleted, Instant changedAt);
+}
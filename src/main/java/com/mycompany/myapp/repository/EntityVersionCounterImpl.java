@@ -0,0 +1,39 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.EntityVersion;
+import java.time.Instant;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Implementation of {@link EntityVersionCounter}.
+ * <p>
+ * Both versions are upserted by one native statement. Its query space is the {@code entity_version} table only, so
+ * Hibernate does not invalidate the second-level cache of every other entity after it.
+ */
+public class EntityVersionCounterImpl implements EntityVersionCounter {
+
+    private static final String INCREMENT =
+        "insert into entity_version (entity_type, entity_id, version, deleted, changed_at) " +
+        "values (:entityType, :entityId, 1, :deleted, :changedAt), (:entityType, :table, 1, false, :changedAt) " +
+        "on conflict (entity_type, entity_id) do update " +
+        "set version = entity_version.version + 1, deleted = excluded.deleted, changed_at = excluded.changed_at";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void increment(String entityType, String entityId, boolean deleted, Instant changedAt) {
+        entityManager
+            .createNativeQuery(INCREMENT)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(EntityVersion.class)
+            .setParameter("entityType", entityType)
+            .setParameter("entityId", entityId)
+            .setParameter("table", EntityVersion.TABLE)
+            .setParameter("deleted", deleted)
+            .setParameter("changedAt", changedAt)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,34 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.EntityVersion;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the EntityVersion entity.
+ */
+@Repository
+public interface EntityVersionRepository extends EntityVersionCounter, JpaRepository<EntityVersion, EntityVersion.Key> {
+    /**
+     * Read the versions of every combination of the given entity types and ids, in one query.
+     */
+    @Query(
+        "select entityVersion from EntityVersion entityVersion " +
+        "where entityVersion.entityType in :types and entityVersion.entityId in :ids"
+    )
+    List<EntityVersion> findAllByTypesAndIds(@Param("types") Collection<String> types, @Param("ids") Collection<String> ids);
+
+    /**
+     * Read the versions of the entities of a type changed after a time, without the version of their table.
+     */
+    @Query(
+        "select entityVersion from EntityVersion entityVersion " +
+        "where entityVersion.entityType = :type and entityVersion.entityId <> '' and entityVersion.changedAt > :since"
+    )
+    List<EntityVersion> findAllChangedAfter(@Param("type") String type, @Param("since") Instant since);
+}
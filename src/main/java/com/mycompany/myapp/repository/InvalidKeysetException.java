@@ -0,0 +1,17 @@
+package com.mycompany.myapp.repository;
+
+/**
+ * Thrown when a keyset page is requested on a sort key or cursor value that cannot be used for seeking.
+ */
+public class InvalidKeysetException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidKeysetException(String message) {
+        super(message);
+    }
+
+    public InvalidKeysetException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
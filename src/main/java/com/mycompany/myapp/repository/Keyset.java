@@ -0,0 +1,101 @@
+package com.mycompany.myapp.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position of the last row of a keyset (seek) page: the sort key and the id of that row.
+ * <p>
+ * A keyset is handed to clients as an opaque, URL-safe cursor through {@link #toCursor()} and {@link #fromCursor(String)}.
+ * Values are kept in their string form and converted back to the attribute type by {@link KeysetRepository}.
+ */
+public final class Keyset {
+
+    private static final char SEPARATOR = '\u001f';
+
+    private final Sort.Order order;
+
+    private final String value;
+
+    private final String id;
+
+    public Keyset(Sort.Order order, String value, String id) {
+        this.order = Objects.requireNonNull(order);
+        this.value = value;
+        this.id = Objects.requireNonNull(id);
+    }
+
+    public Sort.Order getOrder() {
+        return order;
+    }
+
+    /**
+     * @return the sort key of the last row, or {@code null} if it was {@code null} in the database.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String toCursor() {
+        String raw = String.join(
+            String.valueOf(SEPARATOR),
+            order.getProperty(),
+            order.getDirection().name(),
+            value == null ? "" : "=" + value,
+            id
+        );
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #toCursor()}.
+     *
+     * @param cursor the opaque cursor.
+     * @return the keyset.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static Keyset fromCursor(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != 4 || parts[0].isEmpty() || parts[3].isEmpty() || !(parts[2].isEmpty() || parts[2].startsWith("="))) {
+            throw new IllegalArgumentException("Malformed keyset cursor");
+        }
+        Sort.Direction direction = Sort.Direction.fromString(parts[1]);
+        String value = parts[2].isEmpty() ? null : parts[2].substring(1);
+        return new Keyset(new Sort.Order(direction, parts[0]), value, parts[3]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Keyset)) {
+            return false;
+        }
+        Keyset keyset = (Keyset) o;
+        return order.equals(keyset.order) && Objects.equals(value, keyset.value) && id.equals(keyset.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(new Object[] { order, value, id });
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "Keyset{" +
+            "order=" + order +
+            ", value='" + value + "'" +
+            ", id='" + id + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,142 @@
+package com.mycompany.myapp.repository;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keyset (seek) pagination over any entity.
+ * <p>
+ * Rows are ordered by {@code (sort key, id)} and a page starts strictly after the given {@link Keyset}, so the cost of a
+ * page does not depend on how deep it is and no count query is ever issued. {@code null} sort keys are ordered as the
+ * largest values, as PostgreSQL does by default.
+ */
+@Repository
+public class KeysetRepository {
+
+    private final ConversionService conversionService = new DefaultFormattingConversionService();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read one keyset page.
+     *
+     * @param domainClass the entity to read.
+     * @param after the keyset of the previous page's last row, or {@code null} for the first page.
+     * @param pageable the page size, and the sort key of the first page (only its first order is used).
+     * @param fetches to-one associations to fetch with the page.
+     * @return the page, with the keyset of the next one if there is one.
+     * @throws InvalidKeysetException if the sort key is not a basic attribute of the entity, or the keyset does not match it.
+     */
+    public <T> KeysetSlice<T> findAll(Class<T> domainClass, Keyset after, Pageable pageable, String... fetches) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        SingularAttribute<? super T, ?> idAttribute = entityType.getId(entityType.getIdType().getJavaType());
+        Sort.Order order = after != null
+            ? after.getOrder()
+            : pageable.getSort().stream().findFirst().orElse(Sort.Order.asc(idAttribute.getName()));
+        SingularAttribute<? super T, ?> sortAttribute = sortAttribute(entityType, order.getProperty());
+        boolean sortById = sortAttribute.getName().equals(idAttribute.getName());
+        int size = pageable.isPaged() ? pageable.getPageSize() : 20;
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        for (String fetch : fetches) {
+            root.fetch(fetch, JoinType.LEFT);
+        }
+        Path<Comparable<Object>> sortPath = root.get(sortAttribute.getName());
+        Path<Comparable<Object>> idPath = root.get(idAttribute.getName());
+        if (after != null) {
+            Comparable<Object> id = convert(after.getId(), idAttribute);
+            Comparable<Object> value = after.getValue() == null ? null : convert(after.getValue(), sortAttribute);
+            query.where(sortById ? seek(cb, idPath, id, order) : seek(cb, sortPath, value, idPath, id, order));
+        }
+        if (sortById) {
+            query.orderBy(order.isAscending() ? cb.asc(idPath) : cb.desc(idPath));
+        } else if (order.isAscending()) {
+            query.orderBy(cb.asc(sortPath), cb.asc(idPath));
+        } else {
+            query.orderBy(cb.desc(sortPath), cb.desc(idPath));
+        }
+
+        List<T> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        Pageable slicePageable = PageRequest.of(0, size, Sort.by(order));
+        if (rows.size() <= size) {
+            return new KeysetSlice<>(rows, slicePageable, null);
+        }
+        List<T> content = rows.subList(0, size);
+        T last = content.get(size - 1);
+        BeanWrapperImpl lastRow = new BeanWrapperImpl(last);
+        Object lastValue = lastRow.getPropertyValue(sortAttribute.getName());
+        Object lastId = entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(last);
+        Keyset next = new Keyset(
+            order,
+            lastValue == null ? null : conversionService.convert(lastValue, String.class),
+            conversionService.convert(lastId, String.class)
+        );
+        return new KeysetSlice<>(content, slicePageable, next);
+    }
+
+    private <T> SingularAttribute<? super T, ?> sortAttribute(EntityType<T> entityType, String property) {
+        SingularAttribute<? super T, ?> attribute;
+        try {
+            attribute = entityType.getSingularAttribute(property);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeysetException("Cannot seek on unknown attribute " + property, e);
+        }
+        if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+            throw new InvalidKeysetException("Cannot seek on association " + property);
+        }
+        return attribute;
+    }
+
+    private Predicate seek(CriteriaBuilder cb, Path<Comparable<Object>> idPath, Comparable<Object> id, Sort.Order order) {
+        return order.isAscending() ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+    }
+
+    private Predicate seek(
+        CriteriaBuilder cb,
+        Path<Comparable<Object>> sortPath,
+        Comparable<Object> value,
+        Path<Comparable<Object>> idPath,
+        Comparable<Object> id,
+        Sort.Order order
+    ) {
+        Predicate idAfter = seek(cb, idPath, id, order);
+        if (value == null) {
+            Predicate tie = cb.and(cb.isNull(sortPath), idAfter);
+            return order.isAscending() ? tie : cb.or(cb.isNotNull(sortPath), tie);
+        }
+        Predicate tie = cb.and(cb.equal(sortPath, value), idAfter);
+        if (order.isAscending()) {
+            return cb.or(cb.greaterThan(sortPath, value), tie, cb.isNull(sortPath));
+        }
+        return cb.or(cb.lessThan(sortPath, value), tie);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> convert(String value, SingularAttribute<?, ?> attribute) {
+        try {
+            return (Comparable<Object>) conversionService.convert(value, attribute.getJavaType());
+        } catch (RuntimeException e) {
+            throw new InvalidKeysetException("Invalid keyset value for " + attribute.getName(), e);
+        }
+    }
+}
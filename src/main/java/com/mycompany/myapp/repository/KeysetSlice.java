@@ -0,0 +1,38 @@
+package com.mycompany.myapp.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * A {@link org.springframework.data.domain.Slice} read with a seek query, carrying the keyset of the next page.
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Keyset nextKeyset;
+
+    public KeysetSlice(List<T> content, Pageable pageable, Keyset nextKeyset) {
+        super(content, pageable, nextKeyset != null);
+        this.nextKeyset = nextKeyset;
+    }
+
+    public Optional<Keyset> getNextKeyset() {
+        return Optional.ofNullable(nextKeyset);
+    }
+
+    @Override
+    public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetSlice<>(getConvertedContent(converter), getPageable(), nextKeyset);
+    }
+
+    /**
+     * @return a slice with the same keyset and the content replaced, e.g. after loading bag relationships.
+     */
+    public KeysetSlice<T> withContent(Function<List<T>, List<T>> transformer) {
+        return new KeysetSlice<>(transformer.apply(getContent()), getPageable(), nextKeyset);
+    }
+}
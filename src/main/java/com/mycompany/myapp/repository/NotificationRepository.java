@@ -1,7 +1,13 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Notification;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,40 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long> {}
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    Slice<Notification> findSliceBy(Pageable pageable);
+
+    /**
+     * Find the card numbers after {@code after} of the patrons whose undelivered notifications are due for a digest:
+     * the oldest was sent by {@code sentBefore}, or has no sending time, or there are at least {@code maxCount} of them.
+     */
+    @Query(
+        "select notification.patronAccount.cardNumber from Notification notification " +
+        "where notification.deliveredAt is null and notification.patronAccount.cardNumber > :after " +
+        "group by notification.patronAccount.cardNumber " +
+        "having min(notification.sentAt) <= :sentBefore or count(notification.sentAt) < count(notification) " +
+        "or count(notification) >= :maxCount " +
+        "order by notification.patronAccount.cardNumber"
+    )
+    List<String> findDigestDueCardNumbers(
+        @Param("after") String after,
+        @Param("sentBefore") Instant sentBefore,
+        @Param("maxCount") long maxCount,
+        Pageable pageable
+    );
+
+    @Query(
+        "select notification from Notification notification " +
+        "join fetch notification.patronAccount patronAccount left join fetch patronAccount.user " +
+        "where notification.deliveredAt is null and patronAccount.cardNumber in :cardNumbers " +
+        "order by notification.sentAt"
+    )
+    List<Notification> findUndeliveredWithPatronByCardNumberIn(@Param("cardNumbers") Collection<String> cardNumbers);
+
+    @Modifying
+    @Query(
+        "update Notification notification set notification.deliveredAt = :deliveredAt " +
+        "where notification.id in :ids and notification.deliveredAt is null"
+    )
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("deliveredAt") Instant deliveredAt);
+}
@@ -0,0 +1,33 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.OutboundMail;
+import com.mycompany.myapp.domain.enumeration.OutboundMailStatus;
+import java.time.Instant;
+import java.util.List;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OutboundMail entity.
+ */
+@Repository
+public interface OutboundMailRepository extends JpaRepository<OutboundMail, Long> {
+    /**
+     * Lock the pending mails due by {@code now}, oldest first, skipping those locked by another instance.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select outboundMail from OutboundMail outboundMail " +
+        "where outboundMail.status = :status and outboundMail.nextAttemptAt <= :now " +
+        "order by outboundMail.nextAttemptAt"
+    )
+    List<OutboundMail> findDueForUpdate(@Param("status") OutboundMailStatus status, @Param("now") Instant now, Pageable pageable);
+}
@@ -1,7 +1,11 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Publisher;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,15 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PublisherRepository extends JpaRepository<Publisher, Long> {}
+public interface PublisherRepository extends JpaRepository<Publisher, Long> {
+    Slice<Publisher> findSliceBy(Pageable pageable);
+
+    @Query(
+        "select bookCopy.publisher.id as id, count(checkOut) as checkOuts from CheckOut checkOut join checkOut.bookCopy bookCopy" +
+        " where bookCopy.publisher is not null group by bookCopy.publisher.id"
+    )
+    List<CheckOutCount> countCheckOuts();
+
+    @Query("select count(checkOut) from CheckOut checkOut where checkOut.bookCopy.publisher.id = :id")
+    long countCheckOutsById(@Param("id") Long id);
+}
@@ -0,0 +1,70 @@
+package com.mycompany.myapp.repository;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Repository fragment loading entities together with any combination of their to-one and collection associations.
+ * <p>
+ * A page is read as a page of ids, then the entities and all their to-one associations are read with one
+ * {@code id in (...)} query, and each collection association with one more: the number of queries depends on the
+ * associations requested, not on the page size. Results keep the order of the page.
+ * <p>
+ * Associations are named by attribute, and a to-one association of an association can be named with a dotted path
+ * ({@code "bookCopies.publisher"}).
+ * <p>
+ * Extend it from a Spring Data repository interface to get its implementation, {@link RelationshipLoaderImpl}.
+ */
+public interface RelationshipLoader {
+    /**
+     * Read a page of entities with their associations.
+     *
+     * @param domainClass the entity to read.
+     * @param pageable the pagination information.
+     * @param associations the associations to fetch.
+     * @return the page of entities.
+     */
+    <T> Page<T> findAllWithRelationships(Class<T> domainClass, Pageable pageable, String... associations);
+
+    /**
+     * Read a page of entities with their associations, without counting them: one more id is read to tell whether a
+     * next page exists.
+     *
+     * @param domainClass the entity to read.
+     * @param pageable the pagination information.
+     * @param associations the associations to fetch.
+     * @return the slice of entities.
+     */
+    <T> Slice<T> findSliceWithRelationships(Class<T> domainClass, Pageable pageable, String... associations);
+
+    /**
+     * Read all the entities with their associations.
+     *
+     * @param domainClass the entity to read.
+     * @param associations the associations to fetch.
+     * @return the entities, by id.
+     */
+    <T> List<T> findAllWithRelationships(Class<T> domainClass, String... associations);
+
+    /**
+     * Read one entity with its associations.
+     *
+     * @param domainClass the entity to read.
+     * @param id the id of the entity.
+     * @param associations the associations to fetch.
+     * @return the entity.
+     */
+    <T> Optional<T> findOneWithRelationships(Class<T> domainClass, Object id, String... associations);
+
+    /**
+     * Fetch associations of entities already read.
+     *
+     * @param entities the entities, all of the same class.
+     * @param associations the associations to fetch.
+     * @return the entities in the same order, with their associations initialized.
+     */
+    <T> List<T> fetchRelationships(List<T> entities, String... associations);
+}
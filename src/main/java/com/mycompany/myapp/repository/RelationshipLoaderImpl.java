@@ -0,0 +1,280 @@
+package com.mycompany.myapp.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.PluralAttribute;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Implementation of {@link RelationshipLoader}.
+ * <p>
+ * Ids are sent in batches of at most {@link #MAX_BATCH_SIZE}, padded to the next power of two by repeating the last
+ * one so that the database sees few distinct statements. Entities are put back at their position in the page through
+ * an {@link IdIndex}: numeric ids, those of every entity but {@code PatronAccount}, are kept unboxed in a sorted
+ * {@code long[]} with their positions, so no id map is built and the results are not sorted. The ids still go through
+ * JPA as {@link Long}s, in the page query results and in the {@code in} parameter.
+ */
+public class RelationshipLoaderImpl implements RelationshipLoader {
+
+    static final int MAX_BATCH_SIZE = 1024;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public <T> Page<T> findAllWithRelationships(Class<T> domainClass, Pageable pageable, String... associations) {
+        List<Object> ids = pageIds(domainClass, pageable, 0);
+        List<T> content = findAllById(domainClass, ids, associations);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(domainClass));
+    }
+
+    @Override
+    public <T> Slice<T> findSliceWithRelationships(Class<T> domainClass, Pageable pageable, String... associations) {
+        List<Object> ids = pageIds(domainClass, pageable, 1);
+        boolean hasNext = pageable.isPaged() && ids.size() > pageable.getPageSize();
+        List<T> content = findAllById(domainClass, hasNext ? ids.subList(0, pageable.getPageSize()) : ids, associations);
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public <T> List<T> findAllWithRelationships(Class<T> domainClass, String... associations) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery(Object.class);
+        Root<T> root = query.from(domainClass);
+        query.select(root.get(idName(entityType))).orderBy(cb.asc(root.get(idName(entityType))));
+        return findAllById(domainClass, entityManager.createQuery(query).getResultList(), associations);
+    }
+
+    @Override
+    public <T> Optional<T> findOneWithRelationships(Class<T> domainClass, Object id, String... associations) {
+        return findAllById(domainClass, Collections.singletonList(id), associations).stream().findFirst();
+    }
+
+    @Override
+    public <T> List<T> fetchRelationships(List<T> entities, String... associations) {
+        if (entities.isEmpty() || associations.length == 0) {
+            return entities;
+        }
+        @SuppressWarnings("unchecked")
+        Class<T> domainClass = Hibernate.getClass(entities.get(0));
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        List<Object> ids = new ArrayList<>(entities.size());
+        boolean managed = true;
+        for (T entity : entities) {
+            ids.add(persistenceUnitUtil.getIdentifier(entity));
+            managed &= entityManager.contains(entity);
+        }
+        // detached entities would not see the associations initialized on their managed copies
+        return load(domainClass, ids, associations, managed ? entities : null);
+    }
+
+    /**
+     * @return the ids of the page, followed by {@code extra} ids of the next one.
+     */
+    private <T> List<Object> pageIds(Class<T> domainClass, Pageable pageable, int extra) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery(Object.class);
+        Root<T> root = query.from(domainClass);
+        query.select(root.get(idName(entityType)));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        return entityManager
+            .createQuery(query)
+            .setFirstResult(pageable.isPaged() ? (int) pageable.getOffset() : 0)
+            .setMaxResults(pageable.isPaged() ? pageable.getPageSize() + extra : Integer.MAX_VALUE)
+            .getResultList();
+    }
+
+    private <T> List<T> findAllById(Class<T> domainClass, List<Object> ids, String... associations) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return load(domainClass, ids, associations, null);
+    }
+
+    /**
+     * Read the to-one associations of the entities (and the entities themselves when {@code loaded} is {@code null})
+     * with one query per batch, then each collection association with one query per batch. Nested to-one associations
+     * ({@code "bookCopies.publisher"}) are joined to the query of their parent association.
+     */
+    private <T> List<T> load(Class<T> domainClass, List<Object> ids, String[] associations, List<T> loaded) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        Map<String, List<String>> toOne = new LinkedHashMap<>();
+        Map<String, List<String>> collections = new LinkedHashMap<>();
+        for (String path : associations) {
+            String[] segments = path.split("\\.", 2);
+            Attribute<? super T, ?> attribute = association(entityType, segments[0]);
+            List<String> nested = (attribute.isCollection() ? collections : toOne).computeIfAbsent(segments[0], name -> new ArrayList<>());
+            if (segments.length > 1) {
+                Class<?> targetClass = attribute instanceof PluralAttribute
+                    ? ((PluralAttribute<?, ?, ?>) attribute).getElementType().getJavaType()
+                    : attribute.getJavaType();
+                if (association(entityManager.getMetamodel().entity(targetClass), segments[1]).isCollection()) {
+                    throw new IllegalArgumentException("Only to-one associations can be nested: " + path);
+                }
+                nested.add(segments[1]);
+            }
+        }
+        List<T> result = loaded;
+        if (result == null || !toOne.isEmpty()) {
+            Object[] slots = new Object[ids.size()];
+            fetch(domainClass, entityType, ids, toOne, slots);
+            result = new ArrayList<>(ids.size());
+            for (Object entity : slots) {
+                if (entity != null) {
+                    result.add(domainClass.cast(entity));
+                }
+            }
+        }
+        for (Map.Entry<String, List<String>> collection : collections.entrySet()) {
+            fetch(domainClass, entityType, ids, Collections.singletonMap(collection.getKey(), collection.getValue()), null);
+        }
+        return result;
+    }
+
+    /**
+     * Run the fetch query for each batch of ids, putting the entities read at the position of their id in
+     * {@code slots} if not {@code null}.
+     */
+    private <T> void fetch(
+        Class<T> domainClass,
+        EntityType<T> entityType,
+        List<Object> ids,
+        Map<String, List<String>> fetches,
+        Object[] slots
+    ) {
+        StringBuilder jpql = new StringBuilder("select entity from ").append(entityType.getName()).append(" entity");
+        int joins = 0;
+        for (Map.Entry<String, List<String>> fetch : fetches.entrySet()) {
+            String alias = "association" + joins++;
+            jpql.append(" left join fetch entity.").append(fetch.getKey()).append(' ').append(alias);
+            for (String nested : fetch.getValue()) {
+                jpql.append(" left join fetch ").append(alias).append('.').append(nested);
+            }
+        }
+        jpql.append(" where entity.").append(idName(entityType)).append(" in :ids");
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        IdIndex index = slots != null ? IdIndex.of(ids) : null;
+        for (int from = 0; from < ids.size(); from += MAX_BATCH_SIZE) {
+            List<Object> batch = padded(ids, from, Math.min(ids.size(), from + MAX_BATCH_SIZE));
+            List<T> rows = entityManager.createQuery(jpql.toString(), domainClass).setParameter("ids", batch).getResultList();
+            if (index != null) {
+                for (T row : rows) {
+                    int position = index.positionOf(persistenceUnitUtil.getIdentifier(row));
+                    if (position >= 0 && slots[position] == null) {
+                        slots[position] = row;
+                    }
+                }
+            }
+        }
+    }
+
+    private static <T> Attribute<? super T, ?> association(EntityType<T> entityType, String name) {
+        Attribute<? super T, ?> attribute = entityType.getAttribute(name);
+        if (!attribute.isAssociation()) {
+            throw new IllegalArgumentException(name + " is not an association of " + entityType.getName());
+        }
+        return attribute;
+    }
+
+    private long count(Class<?> domainClass) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        query.select(cb.count(query.from(domainClass)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static String idName(EntityType<?> entityType) {
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    /**
+     * Positions of distinct ids in a page.
+     * <p>
+     * {@link Long} ids are copied to a sorted {@code long[]}, next to an {@code int[]} of their positions in the page,
+     * and found by binary search. Other ids, the card numbers of patron accounts, fall back to a map.
+     */
+    static final class IdIndex {
+
+        private final long[] sortedIds;
+
+        private final int[] positions;
+
+        private final Map<Object, Integer> otherIds;
+
+        private IdIndex(long[] sortedIds, int[] positions, Map<Object, Integer> otherIds) {
+            this.sortedIds = sortedIds;
+            this.positions = positions;
+            this.otherIds = otherIds;
+        }
+
+        static IdIndex of(List<Object> ids) {
+            long[] values = new long[ids.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object id = ids.get(i);
+                if (!(id instanceof Long)) {
+                    Map<Object, Integer> otherIds = new HashMap<>();
+                    for (int position = 0; position < ids.size(); position++) {
+                        otherIds.putIfAbsent(ids.get(position), position);
+                    }
+                    return new IdIndex(null, null, otherIds);
+                }
+                values[i] = (Long) id;
+            }
+            long[] sortedIds = values.clone();
+            Arrays.sort(sortedIds);
+            int[] positions = new int[values.length];
+            for (int i = values.length - 1; i >= 0; i--) {
+                positions[Arrays.binarySearch(sortedIds, values[i])] = i;
+            }
+            return new IdIndex(sortedIds, positions, null);
+        }
+
+        /**
+         * @return the position of the id in the page, {@code -1} if it is not in it.
+         */
+        int positionOf(Object id) {
+            if (otherIds != null) {
+                return otherIds.getOrDefault(id, -1);
+            }
+            if (!(id instanceof Long)) {
+                return -1;
+            }
+            int found = Arrays.binarySearch(sortedIds, (Long) id);
+            return found >= 0 ? positions[found] : -1;
+        }
+    }
+
+    /**
+     * @return the ids from {@code from} (inclusive) to {@code to} (exclusive), the last one repeated up to the next
+     * power of two.
+     */
+    static List<Object> padded(List<Object> ids, int from, int to) {
+        int size = to - from;
+        int paddedSize = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+        Object[] batch = Arrays.copyOf(ids.subList(from, to).toArray(), paddedSize);
+        Arrays.fill(batch, size, paddedSize, batch[size - 1]);
+        return Arrays.asList(batch);
+    }
+}
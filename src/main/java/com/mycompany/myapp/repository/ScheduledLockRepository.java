@@ -0,0 +1,50 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.ScheduledLock;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ScheduledLock entity.
+ */
+@Repository
+public interface ScheduledLockRepository extends JpaRepository<ScheduledLock, String> {
+    /**
+     * Take the lock if its lease has expired.
+     *
+     * @return 1 if the lock was taken, 0 if it is held or does not exist.
+     */
+    @Modifying
+    @Query(
+        "update ScheduledLock scheduledLock " +
+        "set scheduledLock.lockedUntil = :until, scheduledLock.lockedAt = :now, scheduledLock.lockedBy = :owner " +
+        "where scheduledLock.name = :name and scheduledLock.lockedUntil <= :now"
+    )
+    int acquire(@Param("name") String name, @Param("now") Instant now, @Param("until") Instant until, @Param("owner") String owner);
+
+    /**
+     * Create the lock, taken. Fails with a {@link org.springframework.dao.DataIntegrityViolationException} if it exists.
+     */
+    @Modifying
+    @Query(
+        value = "insert into scheduled_lock (name, locked_until, locked_at, locked_by) values (:name, :until, :now, :owner)",
+        nativeQuery = true
+    )
+    int insert(@Param("name") String name, @Param("now") Instant now, @Param("until") Instant until, @Param("owner") String owner);
+
+    /**
+     * Set the end of the lease of the lock, if it is still held by {@code owner}.
+     *
+     * @return 1 if the lease was set, 0 if the lock was taken over.
+     */
+    @Modifying
+    @Query(
+        "update ScheduledLock scheduledLock set scheduledLock.lockedUntil = :until " +
+        "where scheduledLock.name = :name and scheduledLock.lockedBy = :owner"
+    )
+    int extend(@Param("name") String name, @Param("owner") String owner, @Param("until") Instant until);
+}
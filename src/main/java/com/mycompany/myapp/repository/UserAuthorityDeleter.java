@@ -0,0 +1,18 @@
+package com.mycompany.myapp.repository;
+
+import java.util.Collection;
+
+/**
+ * Repository fragment deleting the rows of the {@code jhi_user_authority} join table.
+ * <p>
+ * Extend it from a Spring Data repository interface to get its implementation, {@link UserAuthorityDeleterImpl}.
+ */
+public interface UserAuthorityDeleter {
+    /**
+     * Delete the authorities of users.
+     *
+     * @param userIds the ids of the users.
+     * @return the number of rows deleted.
+     */
+    int deleteAuthoritiesByUserIdIn(Collection<Long> userIds);
+}
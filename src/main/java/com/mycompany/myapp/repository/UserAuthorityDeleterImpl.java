@@ -0,0 +1,31 @@
+package com.mycompany.myapp.repository;
+
+import java.util.Collection;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Implementation of {@link UserAuthorityDeleter}.
+ * <p>
+ * A join table cannot be deleted from with JPQL, so this is a native statement. Its query space is the
+ * {@code jhi_user_authority} table only, so Hibernate only invalidates the cached {@code User.authorities} collections
+ * after it, not the second-level cache of every entity.
+ */
+public class UserAuthorityDeleterImpl implements UserAuthorityDeleter {
+
+    private static final String TABLE = "jhi_user_authority";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int deleteAuthoritiesByUserIdIn(Collection<Long> userIds) {
+        return entityManager
+            .createNativeQuery("delete from " + TABLE + " where user_id in :userIds")
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(TABLE)
+            .setParameter("userIds", userIds)
+            .executeUpdate();
+    }
+}
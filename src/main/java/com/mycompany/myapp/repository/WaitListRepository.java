@@ -5,36 +5,30 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data JPA repository for the WaitList entity.
  */
 @Repository
-public interface WaitListRepository extends JpaRepository<WaitList, Long> {
+public interface WaitListRepository extends RelationshipLoader, JpaRepository<WaitList, Long> {
+    Slice<WaitList> findSliceBy(Pageable pageable);
+
     default Optional<WaitList> findOneWithEagerRelationships(Long id) {
-        return this.findOneWithToOneRelationships(id);
+        return this.findOneWithRelationships(WaitList.class, id, "book");
     }
 
     default List<WaitList> findAllWithEagerRelationships() {
-        return this.findAllWithToOneRelationships();
+        return this.findAllWithRelationships(WaitList.class, "book");
     }
 
     default Page<WaitList> findAllWithEagerRelationships(Pageable pageable) {
-        return this.findAllWithToOneRelationships(pageable);
+        return this.findAllWithRelationships(WaitList.class, pageable, "book");
     }
 
-    @Query(
-        value = "select distinct waitList from WaitList waitList left join fetch waitList.book",
-        countQuery = "select count(distinct waitList) from WaitList waitList"
-    )
-    Page<WaitList> findAllWithToOneRelationships(Pageable pageable);
-
-    @Query("select distinct waitList from WaitList waitList left join fetch waitList.book")
-    List<WaitList> findAllWithToOneRelationships();
-
-    @Query("select waitList from WaitList waitList left join fetch waitList.book where waitList.id =:id")
-    Optional<WaitList> findOneWithToOneRelationships(@Param("id") Long id);
+    default Slice<WaitList> findSliceWithEagerRelationships(Pageable pageable) {
+        return this.findSliceWithRelationships(WaitList.class, pageable, "book");
+    }
 }
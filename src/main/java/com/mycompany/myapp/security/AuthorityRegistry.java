@@ -0,0 +1,77 @@
+package com.mycompany.myapp.security;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Canonical {@link GrantedAuthority} instances.
+ * <p>
+ * Authorities and the immutable authority sets of {@code auth} claims are interned, so building a principal does not
+ * allocate new ones. The authorities of {@link AuthoritiesConstants} are registered up front; other names are interned
+ * up to a bound, past which they are built on each call.
+ */
+public final class AuthorityRegistry {
+
+    private static final int MAX_INTERNED = 256;
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private static final Map<String, Set<GrantedAuthority>> AUTHORITY_SETS = new ConcurrentHashMap<>();
+
+    static {
+        authority(AuthoritiesConstants.ADMIN);
+        authority(AuthoritiesConstants.USER);
+        authority(AuthoritiesConstants.ANONYMOUS);
+    }
+
+    private AuthorityRegistry() {}
+
+    /**
+     * Get the canonical authority of a name.
+     *
+     * @param name the authority name.
+     * @return the authority.
+     */
+    public static GrantedAuthority authority(String name) {
+        GrantedAuthority authority = AUTHORITIES.get(name);
+        if (authority != null) {
+            return authority;
+        }
+        if (AUTHORITIES.size() >= MAX_INTERNED) {
+            return new SimpleGrantedAuthority(name);
+        }
+        return AUTHORITIES.computeIfAbsent(name, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * Get the canonical authority set of a comma separated list of authority names, as found in the {@code auth} claim.
+     *
+     * @param claim the authority names.
+     * @return the immutable set of authorities, in claim order.
+     */
+    public static Set<GrantedAuthority> authorities(String claim) {
+        Set<GrantedAuthority> authorities = AUTHORITY_SETS.get(claim);
+        if (authorities != null) {
+            return authorities;
+        }
+        if (AUTHORITY_SETS.size() >= MAX_INTERNED) {
+            return parse(claim);
+        }
+        return AUTHORITY_SETS.computeIfAbsent(claim, AuthorityRegistry::parse);
+    }
+
+    private static Set<GrantedAuthority> parse(String claim) {
+        Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+        for (String name : claim.split(",")) {
+            if (!name.trim().isEmpty()) {
+                authorities.add(authority(name));
+            }
+        }
+        return Collections.unmodifiableSet(authorities);
+    }
+}
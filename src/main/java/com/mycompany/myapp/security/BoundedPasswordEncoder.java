@@ -0,0 +1,138 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.management.SecurityMetersService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt {@link PasswordEncoder} hashing on a dedicated, bounded pool of threads.
+ * <p>
+ * Request threads wait for the hash instead of computing it, so a burst of logins cannot take every request thread.
+ * When all the hashing threads are busy and the queue of waiting requests is full, a
+ * {@link PasswordHashingRejectedException} is thrown right away.
+ * <p>
+ * Hashes of another cost factor than the configured strength need an upgrade, so that they are re-hashed on login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder delegate;
+
+    private final int strength;
+
+    private final ThreadPoolExecutor executor;
+
+    private final SecurityMetersService securityMetersService;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, SecurityMetersService securityMetersService) {
+        this(new BCryptPasswordEncoder(strength), strength, threads, queueCapacity, securityMetersService);
+    }
+
+    BoundedPasswordEncoder(
+        PasswordEncoder delegate,
+        int strength,
+        int threads,
+        int queueCapacity,
+        SecurityMetersService securityMetersService
+    ) {
+        this.delegate = delegate;
+        this.strength = strength;
+        this.securityMetersService = securityMetersService;
+        this.executor =
+            new ThreadPoolExecutor(
+                threads,
+                threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory()
+            );
+        securityMetersService.monitorPasswordHashingQueue(executor.getQueue(), BlockingQueue::size);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(
+            () -> {
+                long start = System.nanoTime();
+                String encoded = delegate.encode(rawPassword);
+                securityMetersService.recordPasswordEncode(System.nanoTime() - start);
+                return encoded;
+            }
+        );
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(
+            () -> {
+                long start = System.nanoTime();
+                boolean matches = delegate.matches(rawPassword, encodedPassword);
+                securityMetersService.recordPasswordMatch(System.nanoTime() - start);
+                return matches;
+            }
+        );
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            securityMetersService.trackPasswordHashingRejected();
+            throw new PasswordHashingRejectedException("Too many passwords waiting to be hashed");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolver of the address of the client of a request, through the trusted proxies in front of the application.
+ * <p>
+ * When the request comes from one of the {@code application.login-throttling.trusted-proxies}, the
+ * {@value #FORWARDED_FOR_HEADER} header is read from the right, skipping the trusted proxies: the first other address
+ * is the one the last trusted proxy saw, which the client cannot forge. Requests from other addresses are not
+ * forwarded, so their header is ignored.
+ */
+@Component
+public class ClientAddressResolver {
+
+    static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private static final Pattern IP_ADDRESS = Pattern.compile("[0-9A-Fa-f:.]+");
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public ClientAddressResolver(ApplicationProperties applicationProperties) {
+        this.trustedProxies =
+            applicationProperties.getLoginThrottling().getTrustedProxies().stream().map(IpAddressMatcher::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the address of the client of a request.
+     *
+     * @param request the request.
+     * @return the client address.
+     */
+    public String resolve(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (!isTrusted(address)) {
+            return address;
+        }
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor == null) {
+            return address;
+        }
+        String[] forwarded = forwardedFor.split(",");
+        for (int i = forwarded.length - 1; i >= 0; i--) {
+            String hop = forwarded[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            address = hop;
+            if (!isTrusted(hop)) {
+                break;
+            }
+        }
+        return address;
+    }
+
+    private boolean isTrusted(String address) {
+        // only literal addresses are matched, so that a forged header never triggers a DNS lookup
+        return IP_ADDRESS.matcher(address).matches() && trustedProxies.stream().anyMatch(proxy -> proxy.matches(address));
+    }
+}
@@ -0,0 +1,150 @@
+package com.mycompany.myapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.management.SecurityMetersService;
+import java.time.Duration;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Throttling of login attempts, by login and by client address.
+ * <p>
+ * Failed attempts are counted over a sliding window; once a login or an address reaches its limit, further attempts
+ * are rejected before the user is looked up or any password is hashed. Each key is counted exactly, in a map bounded
+ * to {@code application.login-throttling.max-tracked-keys} keys per kind. A {@link SlidingWindowCounter} in front of
+ * it lets the keys that cannot have reached their limit through without a lookup: it may overestimate, but a key is
+ * only throttled on its exact count, so a flood of failures on other keys never throttles it.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int COUNTER_WIDTH = 8192;
+
+    private final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private final SecurityMetersService securityMetersService;
+
+    private final int maxFailuresPerLogin;
+
+    private final int maxFailuresPerIp;
+
+    private final long windowMillis;
+
+    private final SlidingWindowCounter loginFailureEstimates;
+
+    private final SlidingWindowCounter ipFailureEstimates;
+
+    private final Cache<String, Failures> loginFailures;
+
+    private final Cache<String, Failures> ipFailures;
+
+    public LoginThrottle(ApplicationProperties applicationProperties, SecurityMetersService securityMetersService) {
+        this(applicationProperties, securityMetersService, COUNTER_WIDTH);
+    }
+
+    LoginThrottle(ApplicationProperties applicationProperties, SecurityMetersService securityMetersService, int counterWidth) {
+        this.securityMetersService = securityMetersService;
+        ApplicationProperties.LoginThrottling loginThrottling = applicationProperties.getLoginThrottling();
+        this.maxFailuresPerLogin = loginThrottling.getMaxFailuresPerLogin();
+        this.maxFailuresPerIp = loginThrottling.getMaxFailuresPerIp();
+        this.windowMillis = loginThrottling.getWindow().toMillis();
+        long now = System.currentTimeMillis();
+        this.loginFailureEstimates = new SlidingWindowCounter(counterWidth, windowMillis, now);
+        this.ipFailureEstimates = new SlidingWindowCounter(counterWidth, windowMillis, now);
+        this.loginFailures = failures(loginThrottling.getMaxTrackedKeys(), loginThrottling.getWindow());
+        this.ipFailures = failures(loginThrottling.getMaxTrackedKeys(), loginThrottling.getWindow());
+    }
+
+    /**
+     * Check that a login attempt is allowed.
+     *
+     * @param login the login or email being authenticated.
+     * @param ip the client address.
+     * @throws LoginThrottledException if there were too many failed attempts for the login or from the address.
+     */
+    public void checkAllowed(String login, String ip) {
+        long now = System.currentTimeMillis();
+        if (reached(ipFailureEstimates, ipFailures, ip, maxFailuresPerIp, now)) {
+            log.debug("Throttling login attempts from {}", ip);
+            securityMetersService.trackLoginThrottledByIp();
+            throw new LoginThrottledException("Too many failed login attempts from " + ip);
+        }
+        if (reached(loginFailureEstimates, loginFailures, normalize(login), maxFailuresPerLogin, now)) {
+            log.debug("Throttling login attempts for {}", login);
+            securityMetersService.trackLoginThrottledByLogin();
+            throw new LoginThrottledException("Too many failed login attempts for " + login);
+        }
+    }
+
+    /**
+     * Count a failed login attempt.
+     *
+     * @param login the login or email being authenticated.
+     * @param ip the client address.
+     */
+    public void recordFailure(String login, String ip) {
+        long now = System.currentTimeMillis();
+        String key = normalize(login);
+        ipFailureEstimates.increment(ip, now);
+        loginFailureEstimates.increment(key, now);
+        ipFailures.get(ip, k -> new Failures(now)).increment(now, windowMillis);
+        loginFailures.get(key, k -> new Failures(now)).increment(now, windowMillis);
+    }
+
+    private boolean reached(SlidingWindowCounter estimates, Cache<String, Failures> failures, String key, int limit, long now) {
+        if (estimates.estimate(key, now) < limit) {
+            return false;
+        }
+        Failures keyFailures = failures.getIfPresent(key);
+        return keyFailures != null && keyFailures.count(now, windowMillis) >= limit;
+    }
+
+    private static Cache<String, Failures> failures(long maxTrackedKeys, Duration window) {
+        return Caffeine.newBuilder().maximumSize(maxTrackedKeys).expireAfterAccess(window.multipliedBy(2)).build();
+    }
+
+    private static String normalize(String login) {
+        return login.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Failures of one key over the sliding window, weighted from the current and previous fixed windows like
+     * {@link SlidingWindowCounter}.
+     */
+    private static final class Failures {
+
+        private long start;
+
+        private int current;
+
+        private int previous;
+
+        private Failures(long now) {
+            this.start = now;
+        }
+
+        synchronized void increment(long now, long windowMillis) {
+            rotate(now, windowMillis);
+            current++;
+        }
+
+        synchronized int count(long now, long windowMillis) {
+            rotate(now, windowMillis);
+            double previousWeight = 1 - (double) (now - start) / windowMillis;
+            return current + (int) Math.ceil(previous * previousWeight);
+        }
+
+        private void rotate(long now, long windowMillis) {
+            long elapsed = now - start;
+            if (elapsed >= windowMillis) {
+                previous = elapsed < 2 * windowMillis ? current : 0;
+                current = 0;
+                start = now - elapsed % windowMillis;
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.mycompany.myapp.security;
+
+/**
+ * This exception is thrown when a login attempt is rejected because of too many recent failed attempts for the same
+ * login or from the same address.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,128 @@
+package com.mycompany.myapp.security;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Approximate per-key event counts over a sliding time window, in a fixed amount of memory.
+ * <p>
+ * Counts are kept in a count-min sketch: each key increments one counter in each of {@link #DEPTH} stripes, and its
+ * count is the smallest of them, which may overestimate but never underestimates. The sliding window is approximated
+ * from the counts of the current and previous fixed windows, the previous one weighted by how much of it still
+ * overlaps the sliding window.
+ * <p>
+ * Increments and reads are lock-free; the window rotates with a compare-and-set, and increments racing with it may
+ * land in the previous window.
+ */
+final class SlidingWindowCounter {
+
+    private static final int DEPTH = 4;
+
+    private final int mask;
+
+    private final long windowMillis;
+
+    private final long seed = ThreadLocalRandom.current().nextLong();
+
+    private final AtomicReference<Window> window;
+
+    /**
+     * @param width the number of counters of each stripe, rounded up to a power of two.
+     * @param windowMillis the sliding window length, in milliseconds.
+     * @param now the current time, in milliseconds.
+     */
+    SlidingWindowCounter(int width, long windowMillis, long now) {
+        int stripeWidth = width <= 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.mask = stripeWidth - 1;
+        this.windowMillis = windowMillis;
+        this.window = new AtomicReference<>(new Window(now, new AtomicIntegerArray(DEPTH * stripeWidth), null));
+    }
+
+    /**
+     * Count an event of a key.
+     *
+     * @param key the key.
+     * @param now the current time, in milliseconds.
+     */
+    void increment(String key, long now) {
+        Window current = window(now);
+        long hash = hash(key);
+        for (int stripe = 0; stripe < DEPTH; stripe++) {
+            current.counts.incrementAndGet(index(hash, stripe));
+        }
+    }
+
+    /**
+     * Estimate the number of events of a key within the sliding window ending now.
+     *
+     * @param key the key.
+     * @param now the current time, in milliseconds.
+     * @return the estimated count, never below the actual one.
+     */
+    int estimate(String key, long now) {
+        Window current = window(now);
+        double previousWeight = 1 - (double) (now - current.start) / windowMillis;
+        long hash = hash(key);
+        int estimate = Integer.MAX_VALUE;
+        for (int stripe = 0; stripe < DEPTH; stripe++) {
+            int index = index(hash, stripe);
+            int count = current.counts.get(index);
+            if (current.previous != null) {
+                count += (int) Math.ceil(current.previous.get(index) * previousWeight);
+            }
+            estimate = Math.min(estimate, count);
+        }
+        return estimate;
+    }
+
+    private Window window(long now) {
+        Window current = window.get();
+        while (now - current.start >= windowMillis) {
+            long elapsed = now - current.start;
+            Window next = new Window(
+                now - elapsed % windowMillis,
+                new AtomicIntegerArray(current.counts.length()),
+                elapsed < 2 * windowMillis ? current.counts : null
+            );
+            if (window.compareAndSet(current, next)) {
+                return next;
+            }
+            current = window.get();
+        }
+        return current;
+    }
+
+    private int index(long hash, int stripe) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return stripe * (mask + 1) + ((h1 + stripe * h2) & mask);
+    }
+
+    private long hash(String key) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static final class Window {
+
+        private final long start;
+
+        private final AtomicIntegerArray counts;
+
+        private final AtomicIntegerArray previous;
+
+        private Window(long start, AtomicIntegerArray counts, AtomicIntegerArray previous) {
+            this.start = start;
+            this.counts = counts;
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.mycompany.myapp.security.jwt;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of strings, safe for concurrent use.
+ * <p>
+ * Sized for about 1% false positives at the expected number of entries. Entries cannot be removed: rebuild the filter
+ * instead.
+ */
+final class BloomFilter {
+
+    private static final int HASHES = 7;
+
+    private static final int BITS_PER_ENTRY = 10;
+
+    private final AtomicLongArray words;
+
+    private final int mask;
+
+    BloomFilter(int expectedEntries) {
+        int bits = Integer.highestOneBit(Math.max(1024, expectedEntries * BITS_PER_ENTRY) - 1) << 1;
+        this.words = new AtomicLongArray(bits >>> 6);
+        this.mask = bits - 1;
+    }
+
+    void put(String value) {
+        int h1 = mix(value.hashCode());
+        int h2 = fnv(value) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            long flag = 1L << bit;
+            words.getAndUpdate(bit >>> 6, word -> word | flag);
+        }
+    }
+
+    boolean mightContain(String value) {
+        int h1 = mix(value.hashCode());
+        int h2 = fnv(value) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    private static int fnv(String value) {
+        int h = 0x811c9dc5;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x01000193;
+        }
+        return h;
+    }
+}
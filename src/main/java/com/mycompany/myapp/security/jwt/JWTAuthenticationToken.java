@@ -0,0 +1,55 @@
+package com.mycompany.myapp.security.jwt;
+
+import java.time.Instant;
+import java.util.Collection;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Authentication of a verified JWT.
+ */
+public class JWTAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String tokenId;
+
+    private final Instant issuedAt;
+
+    private final Instant expiresAt;
+
+    public JWTAuthenticationToken(
+        Object principal,
+        String token,
+        Collection<? extends GrantedAuthority> authorities,
+        String tokenId,
+        Instant issuedAt,
+        Instant expiresAt
+    ) {
+        super(principal, token, authorities);
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @return the {@code jti} claim, {@code null} for tokens issued without one.
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /**
+     * @return the {@code iat} claim, {@code null} for tokens issued without one.
+     */
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    /**
+     * @return the {@code exp} claim, {@code null} for tokens issued without one.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
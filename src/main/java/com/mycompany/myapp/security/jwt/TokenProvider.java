@@ -1,20 +1,26 @@
 package com.mycompany.myapp.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.mycompany.myapp.management.SecurityMetersService;
+import com.mycompany.myapp.security.AuthorityRegistry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
@@ -27,8 +33,15 @@ public class TokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
 
+    /**
+     * Issue time in milliseconds, as {@code iat} has a one-second precision; compared to login revocations.
+     */
+    private static final String ISSUED_AT_MILLIS_KEY = "iat_ms";
+
     private static final String INVALID_JWT_TOKEN = "Invalid JWT token.";
 
+    private static final int VERIFIED_TOKENS_MAX_SIZE = 10_000;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -39,6 +52,12 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
+    private final Cache<TokenDigest, VerifiedToken> verifiedTokens = Caffeine
+        .newBuilder()
+        .maximumSize(VERIFIED_TOKENS_MAX_SIZE)
+        .expireAfter(new VerifiedTokenExpiry())
+        .build();
+
     public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
@@ -60,6 +79,7 @@ public class TokenProvider {
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
 
         this.securityMetersService = securityMetersService;
+        securityMetersService.monitorTokenCacheSize(verifiedTokens, Cache::estimatedSize);
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
@@ -75,32 +95,66 @@ public class TokenProvider {
 
         return Jwts
             .builder()
+            .setId(UUID.randomUUID().toString())
+            .setIssuedAt(new Date(now))
             .setSubject(authentication.getName())
             .claim(AUTHORITIES_KEY, authorities)
+            .claim(ISSUED_AT_MILLIS_KEY, now)
             .signWith(key, SignatureAlgorithm.HS512)
             .setExpiration(validity)
             .compact();
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+    public JWTAuthenticationToken getAuthentication(String token) {
+        return VerifiedToken.of(jwtParser.parseClaimsJws(token).getBody()).authentication(token);
+    }
 
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
+    public boolean validateToken(String authToken) {
+        return parseValidClaims(authToken) != null;
+    }
 
-        User principal = new User(claims.getSubject(), "", authorities);
+    /**
+     * Verify a token and get its authentication, parsing and verifying the signature of each distinct token only once.
+     * <p>
+     * The verified claims and principal are cached until the token expires, by the SHA-256 digest of the token, so a
+     * token is rejected as soon as it is expired whether it is cached or not. Each call gets a new authentication, as the
+     * filters of a request may set its details.
+     *
+     * @param token the token.
+     * @return the authentication, or {@code null} if the token is invalid.
+     */
+    public JWTAuthenticationToken getValidAuthentication(String token) {
+        TokenDigest digest = TokenDigest.of(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+        if (verified != null && verified.expiresAt.isAfter(Instant.now())) {
+            securityMetersService.trackTokenCacheHit();
+            return verified.authentication(token);
+        }
+        securityMetersService.trackTokenCacheMiss();
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        Claims claims = parseValidClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        verified = VerifiedToken.of(claims);
+        if (verified.expiresAt != null) {
+            verifiedTokens.put(digest, verified);
+        }
+        return verified.authentication(token);
     }
 
-    public boolean validateToken(String authToken) {
-        try {
-            jwtParser.parseClaimsJws(authToken);
+    private static Instant issuedAt(Claims claims) {
+        Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS_KEY, Long.class);
+        return issuedAtMillis != null ? Instant.ofEpochMilli(issuedAtMillis) : toInstant(claims.getIssuedAt());
+    }
 
-            return true;
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private Claims parseValidClaims(String authToken) {
+        try {
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (ExpiredJwtException e) {
             this.securityMetersService.trackTokenExpired();
 
@@ -121,6 +175,87 @@ public class TokenProvider {
             log.error("Token validation error {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    /**
+     * The claims of a verified token and its principal, which are immutable.
+     */
+    private static final class VerifiedToken {
+
+        private final User principal;
+
+        private final String tokenId;
+
+        private final Instant issuedAt;
+
+        private final Instant expiresAt;
+
+        private VerifiedToken(User principal, String tokenId, Instant issuedAt, Instant expiresAt) {
+            this.principal = principal;
+            this.tokenId = tokenId;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        private static VerifiedToken of(Claims claims) {
+            Collection<? extends GrantedAuthority> authorities = AuthorityRegistry.authorities(claims.get(AUTHORITIES_KEY).toString());
+
+            User principal = new User(claims.getSubject(), "", authorities);
+
+            return new VerifiedToken(principal, claims.getId(), issuedAt(claims), toInstant(claims.getExpiration()));
+        }
+
+        private JWTAuthenticationToken authentication(String token) {
+            return new JWTAuthenticationToken(principal, token, principal.getAuthorities(), tokenId, issuedAt, expiresAt);
+        }
+    }
+
+    private static final class VerifiedTokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt.toEpochMilli() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static final class TokenDigest {
+
+        private final byte[] digest;
+
+        private final int hashCode;
+
+        private TokenDigest(byte[] digest) {
+            this.digest = digest;
+            this.hashCode = Arrays.hashCode(digest);
+        }
+
+        private static TokenDigest of(String token) {
+            try {
+                return new TokenDigest(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TokenDigest && Arrays.equals(digest, ((TokenDigest) o).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
     }
 }
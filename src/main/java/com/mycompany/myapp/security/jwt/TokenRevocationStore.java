@@ -0,0 +1,194 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.RevokedToken;
+import com.mycompany.myapp.repository.RevokedTokenRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Revoked JWTs, either one token by its {@code jti} claim, or all the tokens of a login issued before the revocation.
+ * <p>
+ * Checks first go through in-memory Bloom filters, so a token that is not revoked is accepted without any lookup; the
+ * exact revocations are kept in memory too. Revocations are stored in the {@code revoked_token} table, which every
+ * instance polls for the revocations made by the others. They expire with the tokens they revoke.
+ * <p>
+ * Login revocations and token issue times have a millisecond precision (the {@code iat_ms} claim, see
+ * {@link TokenProvider}). Tokens issued without it only have the one-second {@code iat}, so those issued during the
+ * second of a login revocation, but after it, are revoked too.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final Duration maxTokenValidity;
+
+    private final int expectedRevocations;
+
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+
+    private final Map<String, Revocation> revokedLogins = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter tokenFilter;
+
+    private volatile BloomFilter loginFilter;
+
+    private Instant lastSync = Instant.EPOCH;
+
+    public TokenRevocationStore(
+        RevokedTokenRepository revokedTokenRepository,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        JHipsterProperties.Security.Authentication.Jwt jwt = jHipsterProperties.getSecurity().getAuthentication().getJwt();
+        this.maxTokenValidity =
+            Duration.ofSeconds(Math.max(jwt.getTokenValidityInSeconds(), jwt.getTokenValidityInSecondsForRememberMe()));
+        this.expectedRevocations = applicationProperties.getTokenRevocation().getExpectedRevocations();
+        this.tokenFilter = new BloomFilter(expectedRevocations);
+        this.loginFilter = new BloomFilter(expectedRevocations);
+    }
+
+    /**
+     * Tell whether a token is revoked.
+     *
+     * @param authentication the authentication of the verified token.
+     * @return {@code true} if the token was revoked, by id or by login.
+     */
+    public boolean isRevoked(JWTAuthenticationToken authentication) {
+        String tokenId = authentication.getTokenId();
+        if (tokenId != null && tokenFilter.mightContain(tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        String login = authentication.getName();
+        Revocation revocation = loginFilter.mightContain(login) ? revokedLogins.get(login) : null;
+        return revocation != null && revocation.revokes(authentication.getIssuedAt());
+    }
+
+    /**
+     * Revoke a token, until it expires.
+     *
+     * @param authentication the authentication of the verified token.
+     */
+    @Transactional
+    public void revokeToken(JWTAuthenticationToken authentication) {
+        if (authentication.getTokenId() == null) {
+            revokeLogin(authentication.getName());
+            return;
+        }
+        Instant expiresAt = authentication.getExpiresAt() != null
+            ? authentication.getExpiresAt()
+            : Instant.now().plus(maxTokenValidity);
+        log.debug("Revoking token {} of {}", authentication.getTokenId(), authentication.getName());
+        RevokedToken revokedToken = revokedTokenRepository.save(
+            new RevokedToken().tokenId(authentication.getTokenId()).revokedAt(Instant.now()).expiresAt(expiresAt)
+        );
+        add(revokedToken);
+    }
+
+    /**
+     * Revoke the tokens of a login issued until now.
+     *
+     * @param login the login.
+     */
+    @Transactional
+    public void revokeLogin(String login) {
+        log.debug("Revoking the tokens of {}", login);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        RevokedToken revokedToken = revokedTokenRepository.save(
+            new RevokedToken().login(login).revokedAt(now).expiresAt(now.plus(maxTokenValidity))
+        );
+        add(revokedToken);
+    }
+
+    /**
+     * Read the revocations made by the other instances, forget the expired ones and delete them from the database.
+     * <p>
+     * This is scheduled to run every {@code application.token-revocation.poll-interval}, the first time on startup.
+     */
+    @Scheduled(fixedDelayString = "${application.token-revocation.poll-interval:PT10S}")
+    @Transactional
+    public void sync() {
+        Instant now = Instant.now();
+        Instant since = lastSync.equals(Instant.EPOCH) ? Instant.EPOCH : lastSync.minus(POLL_OVERLAP);
+        int added = 0;
+        for (RevokedToken revokedToken : revokedTokenRepository.findAllByRevokedAtAfterAndExpiresAtAfter(since, now)) {
+            if (add(revokedToken)) {
+                added++;
+            }
+        }
+        int removed = removeExpired(now);
+        revokedTokenRepository.deleteExpired(now);
+        lastSync = now;
+        if (added > 0 || removed > 0) {
+            log.debug("Token revocations synchronized: {} added, {} expired", added, removed);
+        }
+    }
+
+    private synchronized boolean add(RevokedToken revokedToken) {
+        if (revokedToken.getTokenId() != null) {
+            if (revokedTokens.putIfAbsent(revokedToken.getTokenId(), revokedToken.getExpiresAt()) != null) {
+                return false;
+            }
+            tokenFilter.put(revokedToken.getTokenId());
+            return true;
+        }
+        Revocation revocation = new Revocation(revokedToken.getRevokedAt(), revokedToken.getExpiresAt());
+        Revocation previous = revokedLogins.get(revokedToken.getLogin());
+        if (previous != null && !revocation.revokedAt.isAfter(previous.revokedAt)) {
+            return false;
+        }
+        revokedLogins.put(revokedToken.getLogin(), revocation);
+        loginFilter.put(revokedToken.getLogin());
+        return true;
+    }
+
+    private synchronized int removeExpired(Instant now) {
+        int size = revokedTokens.size() + revokedLogins.size();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        revokedLogins.values().removeIf(revocation -> revocation.expiresAt.isBefore(now));
+        int removed = size - revokedTokens.size() - revokedLogins.size();
+        if (removed > 0) {
+            tokenFilter = filterOf(revokedTokens.keySet());
+            loginFilter = filterOf(revokedLogins.keySet());
+        }
+        return removed;
+    }
+
+    private BloomFilter filterOf(Set<String> values) {
+        BloomFilter filter = new BloomFilter(Math.max(expectedRevocations, values.size() * 2));
+        values.forEach(filter::put);
+        return filter;
+    }
+
+    private static final class Revocation {
+
+        private final Instant revokedAt;
+
+        private final Instant expiresAt;
+
+        private Revocation(Instant revokedAt, Instant expiresAt) {
+            this.revokedAt = revokedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean revokes(Instant issuedAt) {
+            return issuedAt == null || issuedAt.isBefore(revokedAt);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.mycompany.myapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.dto.AdminUserDTO;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Cache of the account of the current user, as returned by {@code GET /api/account}.
+ * <p>
+ * Accounts are cached per login, and memoized in the current request so that several lookups in one request share
+ * the same result. They are evicted after the commit of any {@link EntityChangedEvent} on their {@link User}, found
+ * through an index of the cached logins by user id, and expire after {@code application.account-cache.time-to-live},
+ * which bounds how long changes made on another instance are missed. An account read while such a commit happens is
+ * served but not stored.
+ */
+@Service
+public class AccountCache {
+
+    public static final String CACHE_NAME = "accounts";
+
+    private static final String REQUEST_ATTRIBUTE = AccountCache.class.getName() + ".account";
+
+    private final Logger log = LoggerFactory.getLogger(AccountCache.class);
+
+    private final UserService userService;
+
+    private final Cache<String, AdminUserDTO> cache;
+
+    private final Map<Long, String> loginsById = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public AccountCache(UserService userService, MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this.userService = userService;
+        ApplicationProperties.AccountCache accountCache = applicationProperties.getAccountCache();
+        this.cache =
+            Caffeine
+                .newBuilder()
+                .maximumSize(accountCache.getMaxEntries())
+                .expireAfterWrite(accountCache.getTimeToLive())
+                .evictionListener((String login, AdminUserDTO account, RemovalCause cause) -> loginsById.remove(account.getId(), login))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get the account of the current user.
+     *
+     * @return the account, or empty if there is no current user or it was not found.
+     */
+    public Optional<AdminUserDTO> getCurrentAccount() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            AdminUserDTO account = (AdminUserDTO) requestAttributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (account != null) {
+                return Optional.of(account);
+            }
+        }
+        Optional<AdminUserDTO> account = SecurityUtils.getCurrentUserLogin().flatMap(this::getAccount);
+        if (requestAttributes != null) {
+            account.ifPresent(dto -> requestAttributes.setAttribute(REQUEST_ATTRIBUTE, dto, RequestAttributes.SCOPE_REQUEST));
+        }
+        return account;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!event.concerns(User.class)) {
+            return;
+        }
+        generation.incrementAndGet();
+        String login = loginsById.remove(event.getId());
+        if (login != null) {
+            cache.invalidate(login);
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+        log.trace("Evicted account affected by {}", event);
+    }
+
+    /**
+     * Discard all entries.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        loginsById.clear();
+    }
+
+    private Optional<AdminUserDTO> getAccount(String login) {
+        AdminUserDTO account = cache.getIfPresent(login);
+        if (account != null) {
+            return Optional.of(account);
+        }
+        long readGeneration = generation.get();
+        Optional<AdminUserDTO> read = userService.getUserWithAuthoritiesByLogin(login).map(AdminUserDTO::new);
+        read.ifPresent(dto -> {
+            cache.put(login, dto);
+            loginsById.put(dto.getId(), login);
+            if (generation.get() != readGeneration) {
+                cache.invalidate(login);
+                loginsById.remove(dto.getId(), login);
+            }
+        });
+        return read;
+    }
+}
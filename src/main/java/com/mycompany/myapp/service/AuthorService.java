@@ -2,11 +2,17 @@ package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Author;
 import com.mycompany.myapp.repository.AuthorRepository;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +27,14 @@ public class AuthorService {
 
     private final AuthorRepository authorRepository;
 
-    public AuthorService(AuthorRepository authorRepository) {
+    private final KeysetRepository keysetRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AuthorService(AuthorRepository authorRepository, KeysetRepository keysetRepository, ApplicationEventPublisher eventPublisher) {
         this.authorRepository = authorRepository;
+        this.keysetRepository = keysetRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -33,7 +45,7 @@ public class AuthorService {
      */
     public Author save(Author author) {
         log.debug("Request to save Author : {}", author);
-        return authorRepository.save(author);
+        return published(authorRepository.save(author));
     }
 
     /**
@@ -44,7 +56,7 @@ public class AuthorService {
      */
     public Author update(Author author) {
         log.debug("Request to update Author : {}", author);
-        return authorRepository.save(author);
+        return published(authorRepository.save(author));
     }
 
     /**
@@ -65,7 +77,8 @@ public class AuthorService {
 
                 return existingAuthor;
             })
-            .map(authorRepository::save);
+            .map(authorRepository::save)
+            .map(this::published);
     }
 
     /**
@@ -80,6 +93,31 @@ public class AuthorService {
         return authorRepository.findAll(pageable);
     }
 
+    /**
+     * Get a page of the authors without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Author> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of Authors");
+        return authorRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Get a keyset page of the authors, without counting them.
+     *
+     * @param after the keyset of the last author of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Author> findAll(Keyset after, Pageable pageable) {
+        log.debug("Request to get a keyset page of Authors");
+        return keysetRepository.findAll(Author.class, after, pageable);
+    }
+
     /**
      * Get one author by id.
      *
@@ -100,5 +138,11 @@ public class AuthorService {
     public void delete(Long id) {
         log.debug("Request to delete Author : {}", id);
         authorRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(Author.class, id));
+    }
+
+    private Author published(Author author) {
+        eventPublisher.publishEvent(EntityChangedEvent.saved(Author.class, author.getId()));
+        return author;
     }
 }
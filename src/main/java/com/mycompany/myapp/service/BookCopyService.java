@@ -2,11 +2,18 @@ package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.BookCopy;
 import com.mycompany.myapp.repository.BookCopyRepository;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +28,18 @@ public class BookCopyService {
 
     private final BookCopyRepository bookCopyRepository;
 
-    public BookCopyService(BookCopyRepository bookCopyRepository) {
+    private final KeysetRepository keysetRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BookCopyService(
+        BookCopyRepository bookCopyRepository,
+        KeysetRepository keysetRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.bookCopyRepository = bookCopyRepository;
+        this.keysetRepository = keysetRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -33,7 +50,7 @@ public class BookCopyService {
      */
     public BookCopy save(BookCopy bookCopy) {
         log.debug("Request to save BookCopy : {}", bookCopy);
-        return bookCopyRepository.save(bookCopy);
+        return published(bookCopyRepository.save(bookCopy));
     }
 
     /**
@@ -44,7 +61,7 @@ public class BookCopyService {
      */
     public BookCopy update(BookCopy bookCopy) {
         log.debug("Request to update BookCopy : {}", bookCopy);
-        return bookCopyRepository.save(bookCopy);
+        return published(bookCopyRepository.save(bookCopy));
     }
 
     /**
@@ -74,7 +91,8 @@ public class BookCopyService {
 
                 return existingBookCopy;
             })
-            .map(bookCopyRepository::save);
+            .map(bookCopyRepository::save)
+            .map(this::published);
     }
 
     /**
@@ -89,6 +107,73 @@ public class BookCopyService {
         return bookCopyRepository.findAll(pageable);
     }
 
+    /**
+     * Get a page of the bookCopies without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<BookCopy> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of BookCopies");
+        return bookCopyRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Get a keyset page of the bookCopys, without counting them.
+     *
+     * @param after the keyset of the last bookCopy of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<BookCopy> findAll(Keyset after, Pageable pageable) {
+        log.debug("Request to get a keyset page of BookCopies");
+        return keysetRepository.findAll(BookCopy.class, after, pageable);
+    }
+
+    /**
+     * Get all the book copies with the given associations.
+     *
+     * @param pageable the pagination information.
+     * @param expand the associations to fetch.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<BookCopy> findAll(Pageable pageable, Set<String> expand) {
+        log.debug("Request to get all BookCopies expanding {}", expand);
+        return bookCopyRepository.findAllWithRelationships(BookCopy.class, pageable, expand.toArray(new String[0]));
+    }
+
+    /**
+     * Get a page of the bookCopies with the given associations, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @param expand the associations to fetch.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<BookCopy> findSlice(Pageable pageable, Set<String> expand) {
+        log.debug("Request to get a slice of BookCopies expanding {}", expand);
+        return bookCopyRepository.findSliceWithRelationships(BookCopy.class, pageable, expand.toArray(new String[0]));
+    }
+
+    /**
+     * Get a keyset page of the book copies with the given associations, without counting them.
+     *
+     * @param after the keyset of the last book copy of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @param expand the associations to fetch.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<BookCopy> findAll(Keyset after, Pageable pageable, Set<String> expand) {
+        log.debug("Request to get a keyset page of BookCopies expanding {}", expand);
+        return keysetRepository
+            .findAll(BookCopy.class, after, pageable)
+            .withContent(copies -> bookCopyRepository.fetchRelationships(copies, expand.toArray(new String[0])));
+    }
+
     /**
      * Get all the bookCopies with eager load of many-to-many relationships.
      *
@@ -98,6 +183,27 @@ public class BookCopyService {
         return bookCopyRepository.findAllWithEagerRelationships(pageable);
     }
 
+    /**
+     * Get a page of the bookCopies with eager load of relationships, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    public Slice<BookCopy> findSliceWithEagerRelationships(Pageable pageable) {
+        return bookCopyRepository.findSliceWithEagerRelationships(pageable);
+    }
+
+    /**
+     * Get a keyset page of the bookCopys with eager load of relationships, without counting them.
+     *
+     * @param after the keyset of the last bookCopy of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    public KeysetSlice<BookCopy> findAllWithEagerRelationships(Keyset after, Pageable pageable) {
+        return keysetRepository.findAll(BookCopy.class, after, pageable, "book", "publisher");
+    }
+
     /**
      * Get one bookCopy by id.
      *
@@ -110,6 +216,19 @@ public class BookCopyService {
         return bookCopyRepository.findOneWithEagerRelationships(id);
     }
 
+    /**
+     * Get one book copy by id with the given associations.
+     *
+     * @param id the id of the entity.
+     * @param expand the associations to fetch.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BookCopy> findOne(Long id, Set<String> expand) {
+        log.debug("Request to get BookCopy : {} expanding {}", id, expand);
+        return bookCopyRepository.findOneWithRelationships(BookCopy.class, id, expand.toArray(new String[0]));
+    }
+
     /**
      * Delete the bookCopy by id.
      *
@@ -118,5 +237,11 @@ public class BookCopyService {
     public void delete(Long id) {
         log.debug("Request to delete BookCopy : {}", id);
         bookCopyRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(BookCopy.class, id));
+    }
+
+    private BookCopy published(BookCopy bookCopy) {
+        eventPublisher.publishEvent(EntityChangedEvent.saved(BookCopy.class, bookCopy.getId()));
+        return bookCopy;
     }
 }
@@ -2,11 +2,19 @@ package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Book;
 import com.mycompany.myapp.repository.BookRepository;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import com.mycompany.myapp.service.search.BookSearchIndex;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +29,22 @@ public class BookService {
 
     private final BookRepository bookRepository;
 
-    public BookService(BookRepository bookRepository) {
+    private final KeysetRepository keysetRepository;
+
+    private final BookSearchIndex bookSearchIndex;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BookService(
+        BookRepository bookRepository,
+        KeysetRepository keysetRepository,
+        BookSearchIndex bookSearchIndex,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.bookRepository = bookRepository;
+        this.keysetRepository = keysetRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -33,7 +55,7 @@ public class BookService {
      */
     public Book save(Book book) {
         log.debug("Request to save Book : {}", book);
-        return bookRepository.save(book);
+        return published(bookRepository.save(book));
     }
 
     /**
@@ -44,7 +66,7 @@ public class BookService {
      */
     public Book update(Book book) {
         log.debug("Request to update Book : {}", book);
-        return bookRepository.save(book);
+        return published(bookRepository.save(book));
     }
 
     /**
@@ -71,7 +93,8 @@ public class BookService {
 
                 return existingBook;
             })
-            .map(bookRepository::save);
+            .map(bookRepository::save)
+            .map(this::published);
     }
 
     /**
@@ -86,6 +109,73 @@ public class BookService {
         return bookRepository.findAll(pageable);
     }
 
+    /**
+     * Get a page of the books without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Book> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of Books");
+        return bookRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Get a keyset page of the books, without counting them.
+     *
+     * @param after the keyset of the last book of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Book> findAll(Keyset after, Pageable pageable) {
+        log.debug("Request to get a keyset page of Books");
+        return keysetRepository.findAll(Book.class, after, pageable);
+    }
+
+    /**
+     * Get all the books with the given associations.
+     *
+     * @param pageable the pagination information.
+     * @param expand the associations to fetch.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Book> findAll(Pageable pageable, Set<String> expand) {
+        log.debug("Request to get all Books expanding {}", expand);
+        return bookRepository.findAllWithRelationships(Book.class, pageable, expand.toArray(new String[0]));
+    }
+
+    /**
+     * Get a page of the books with the given associations, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @param expand the associations to fetch.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Book> findSlice(Pageable pageable, Set<String> expand) {
+        log.debug("Request to get a slice of Books expanding {}", expand);
+        return bookRepository.findSliceWithRelationships(Book.class, pageable, expand.toArray(new String[0]));
+    }
+
+    /**
+     * Get a keyset page of the books with the given associations, without counting them.
+     *
+     * @param after the keyset of the last book of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @param expand the associations to fetch.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Book> findAll(Keyset after, Pageable pageable, Set<String> expand) {
+        log.debug("Request to get a keyset page of Books expanding {}", expand);
+        return keysetRepository
+            .findAll(Book.class, after, pageable)
+            .withContent(books -> bookRepository.fetchRelationships(books, expand.toArray(new String[0])));
+    }
+
     /**
      * Get all the books with eager load of many-to-many relationships.
      *
@@ -95,6 +185,27 @@ public class BookService {
         return bookRepository.findAllWithEagerRelationships(pageable);
     }
 
+    /**
+     * Get a page of the books with eager load of relationships, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    public Slice<Book> findSliceWithEagerRelationships(Pageable pageable) {
+        return bookRepository.findSliceWithEagerRelationships(pageable);
+    }
+
+    /**
+     * Get a keyset page of the books with eager load of relationships, without counting them.
+     *
+     * @param after the keyset of the last book of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    public KeysetSlice<Book> findAllWithEagerRelationships(Keyset after, Pageable pageable) {
+        return keysetRepository.findAll(Book.class, after, pageable, "category").withContent(bookRepository::fetchBagRelationships);
+    }
+
     /**
      * Get one book by id.
      *
@@ -107,6 +218,19 @@ public class BookService {
         return bookRepository.findOneWithEagerRelationships(id);
     }
 
+    /**
+     * Get one book by id with the given associations.
+     *
+     * @param id the id of the entity.
+     * @param expand the associations to fetch.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Book> findOne(Long id, Set<String> expand) {
+        log.debug("Request to get Book : {} expanding {}", id, expand);
+        return bookRepository.findOneWithRelationships(Book.class, id, expand.toArray(new String[0]));
+    }
+
     /**
      * Delete the book by id.
      *
@@ -115,5 +239,24 @@ public class BookService {
     public void delete(Long id) {
         log.debug("Request to delete Book : {}", id);
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(Book.class, id));
+    }
+
+    /**
+     * Search the books by title, description, author names and category name.
+     *
+     * @param query the query.
+     * @param pageable the pagination information.
+     * @return the page of books, best matches first.
+     */
+    @Transactional(readOnly = true)
+    public Page<Book> search(String query, Pageable pageable) {
+        log.debug("Request to search for a page of Books for query {}", query);
+        return bookSearchIndex.search(query, pageable);
+    }
+
+    private Book published(Book book) {
+        eventPublisher.publishEvent(EntityChangedEvent.saved(Book.class, book.getId()));
+        return book;
     }
 }
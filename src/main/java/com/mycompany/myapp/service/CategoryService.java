@@ -2,11 +2,17 @@ package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Category;
 import com.mycompany.myapp.repository.CategoryRepository;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +27,18 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    private final KeysetRepository keysetRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CategoryService(
+        CategoryRepository categoryRepository,
+        KeysetRepository keysetRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.categoryRepository = categoryRepository;
+        this.keysetRepository = keysetRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -33,7 +49,7 @@ public class CategoryService {
      */
     public Category save(Category category) {
         log.debug("Request to save Category : {}", category);
-        return categoryRepository.save(category);
+        return published(categoryRepository.save(category));
     }
 
     /**
@@ -44,7 +60,7 @@ public class CategoryService {
      */
     public Category update(Category category) {
         log.debug("Request to update Category : {}", category);
-        return categoryRepository.save(category);
+        return published(categoryRepository.save(category));
     }
 
     /**
@@ -68,7 +84,8 @@ public class CategoryService {
 
                 return existingCategory;
             })
-            .map(categoryRepository::save);
+            .map(categoryRepository::save)
+            .map(this::published);
     }
 
     /**
@@ -83,6 +100,31 @@ public class CategoryService {
         return categoryRepository.findAll(pageable);
     }
 
+    /**
+     * Get a page of the categories without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Category> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of Categories");
+        return categoryRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Get a keyset page of the categorys, without counting them.
+     *
+     * @param after the keyset of the last category of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Category> findAll(Keyset after, Pageable pageable) {
+        log.debug("Request to get a keyset page of Categories");
+        return keysetRepository.findAll(Category.class, after, pageable);
+    }
+
     /**
      * Get one category by id.
      *
@@ -103,5 +145,11 @@ public class CategoryService {
     public void delete(Long id) {
         log.debug("Request to delete Category : {}", id);
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(Category.class, id));
+    }
+
+    private Category published(Category category) {
+        eventPublisher.publishEvent(EntityChangedEvent.saved(Category.class, category.getId()));
+        return category;
     }
 }
@@ -1,12 +1,21 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.CheckOut;
 import com.mycompany.myapp.repository.CheckOutRepository;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +30,22 @@ public class CheckOutService {
 
     private final CheckOutRepository checkOutRepository;
 
-    public CheckOutService(CheckOutRepository checkOutRepository) {
+    private final KeysetRepository keysetRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ApplicationProperties.DueDates dueDates;
+
+    public CheckOutService(
+        CheckOutRepository checkOutRepository,
+        KeysetRepository keysetRepository,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties
+    ) {
         this.checkOutRepository = checkOutRepository;
+        this.keysetRepository = keysetRepository;
+        this.eventPublisher = eventPublisher;
+        this.dueDates = applicationProperties.getDueDates();
     }
 
     /**
@@ -33,7 +56,7 @@ public class CheckOutService {
      */
     public CheckOut save(CheckOut checkOut) {
         log.debug("Request to save CheckOut : {}", checkOut);
-        return checkOutRepository.save(checkOut);
+        return published(checkOutRepository.save(checkOut));
     }
 
     /**
@@ -44,7 +67,7 @@ public class CheckOutService {
      */
     public CheckOut update(CheckOut checkOut) {
         log.debug("Request to update CheckOut : {}", checkOut);
-        return checkOutRepository.save(checkOut);
+        return updated(checkOutRepository.save(checkOut));
     }
 
     /**
@@ -74,7 +97,8 @@ public class CheckOutService {
 
                 return existingCheckOut;
             })
-            .map(checkOutRepository::save);
+            .map(checkOutRepository::save)
+            .map(this::updated);
     }
 
     /**
@@ -89,6 +113,73 @@ public class CheckOutService {
         return checkOutRepository.findAll(pageable);
     }
 
+    /**
+     * Get a page of the checkOuts without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CheckOut> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of CheckOuts");
+        return checkOutRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Get a keyset page of the checkOuts, without counting them.
+     *
+     * @param after the keyset of the last checkOut of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<CheckOut> findAll(Keyset after, Pageable pageable) {
+        log.debug("Request to get a keyset page of CheckOuts");
+        return keysetRepository.findAll(CheckOut.class, after, pageable);
+    }
+
+    /**
+     * Get all the check outs with the given associations.
+     *
+     * @param pageable the pagination information.
+     * @param expand the associations to fetch.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<CheckOut> findAll(Pageable pageable, Set<String> expand) {
+        log.debug("Request to get all CheckOuts expanding {}", expand);
+        return checkOutRepository.findAllWithRelationships(CheckOut.class, pageable, expand.toArray(new String[0]));
+    }
+
+    /**
+     * Get a page of the checkOuts with the given associations, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @param expand the associations to fetch.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CheckOut> findSlice(Pageable pageable, Set<String> expand) {
+        log.debug("Request to get a slice of CheckOuts expanding {}", expand);
+        return checkOutRepository.findSliceWithRelationships(CheckOut.class, pageable, expand.toArray(new String[0]));
+    }
+
+    /**
+     * Get a keyset page of the check outs with the given associations, without counting them.
+     *
+     * @param after the keyset of the last check out of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @param expand the associations to fetch.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<CheckOut> findAll(Keyset after, Pageable pageable, Set<String> expand) {
+        log.debug("Request to get a keyset page of CheckOuts expanding {}", expand);
+        return keysetRepository
+            .findAll(CheckOut.class, after, pageable)
+            .withContent(checkOuts -> checkOutRepository.fetchRelationships(checkOuts, expand.toArray(new String[0])));
+    }
+
     /**
      * Get one checkOut by id.
      *
@@ -101,6 +192,19 @@ public class CheckOutService {
         return checkOutRepository.findById(id);
     }
 
+    /**
+     * Get one check out by id with the given associations.
+     *
+     * @param id the id of the entity.
+     * @param expand the associations to fetch.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CheckOut> findOne(Long id, Set<String> expand) {
+        log.debug("Request to get CheckOut : {} expanding {}", id, expand);
+        return checkOutRepository.findOneWithRelationships(CheckOut.class, id, expand.toArray(new String[0]));
+    }
+
     /**
      * Delete the checkOut by id.
      *
@@ -109,5 +213,19 @@ public class CheckOutService {
     public void delete(Long id) {
         log.debug("Request to delete CheckOut : {}", id);
         checkOutRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(CheckOut.class, id));
+    }
+
+    private CheckOut updated(CheckOut checkOut) {
+        // notify it again if it is due soon or overdue again
+        Instant now = Instant.now();
+        checkOutRepository.clearOverdueNotified(checkOut.getId(), now);
+        checkOutRepository.clearDueSoonNotified(checkOut.getId(), now.plus(dueDates.getDueSoonLead()));
+        return published(checkOut);
+    }
+
+    private CheckOut published(CheckOut checkOut) {
+        eventPublisher.publishEvent(EntityChangedEvent.saved(CheckOut.class, checkOut.getId()));
+        return checkOut;
     }
 }
@@ -0,0 +1,224 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.EntityVersion;
+import com.mycompany.myapp.repository.CheckOutDue;
+import com.mycompany.myapp.repository.CheckOutRepository;
+import com.mycompany.myapp.service.event.CheckOutDueEvent;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service publishing a {@link CheckOutDueEvent} when open check-outs become due soon, and when they become overdue.
+ * <p>
+ * The due dates of the open check-outs are kept in {@link TimingWheel}s: loaded at startup, then updated on each
+ * change of a check-out, so that finding the due ones never scans the {@code check_out} table. A check-out is due
+ * soon {@code application.due-dates.due-soon-lead} before its end time. Due dates that are already past when a
+ * check-out is loaded or changed are not scheduled: the {@link OverdueSweeper} notifies the overdue ones.
+ * <p>
+ * Every instance keeps its own wheels. The changes made on other instances are read every
+ * {@code application.due-dates.sync-interval} from the versions of the check-outs changed since the previous sync, see
+ * {@link EntityVersionService}, and only those check-outs are reloaded. As every instance publishes the same due
+ * check-outs, the {@link NotificationService} marks them notified in the database before notifying them, so that each
+ * is notified once.
+ */
+@Service
+public class DueDateScheduler {
+
+    private final Logger log = LoggerFactory.getLogger(DueDateScheduler.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final CheckOutRepository checkOutRepository;
+
+    private final EntityVersionService entityVersionService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ApplicationProperties.DueDates properties;
+
+    private TimingWheel<Long> dueSoon;
+
+    private TimingWheel<Long> overdue;
+
+    private final Set<Long> changedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+
+    private volatile Instant syncedAt;
+
+    public DueDateScheduler(
+        CheckOutRepository checkOutRepository,
+        EntityVersionService entityVersionService,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties
+    ) {
+        this.checkOutRepository = checkOutRepository;
+        this.entityVersionService = entityVersionService;
+        this.eventPublisher = eventPublisher;
+        this.properties = applicationProperties.getDueDates();
+        Instant now = Instant.now();
+        this.dueSoon = new TimingWheel<>(properties.getTick(), now);
+        this.overdue = new TimingWheel<>(properties.getTick(), now);
+    }
+
+    /**
+     * Load the due dates of the open check-outs, replacing the wheels.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        log.debug("Loading the due dates of the open check-outs");
+        loading = true;
+        changedDuringLoad.clear();
+        Instant now = Instant.now();
+        syncedAt = now;
+        TimingWheel<Long> loadedDueSoon = new TimingWheel<>(properties.getTick(), now);
+        TimingWheel<Long> loadedOverdue = new TimingWheel<>(properties.getTick(), now);
+        Long after = Long.MIN_VALUE;
+        int count = 0;
+        List<CheckOutDue> batch;
+        do {
+            batch = checkOutRepository.findOpenDueAfter(after, now, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (CheckOutDue checkOut : batch) {
+                schedule(loadedDueSoon, loadedOverdue, checkOut.getId(), checkOut.getEndTime(), now);
+                after = checkOut.getId();
+            }
+            count += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        synchronized (this) {
+            dueSoon = loadedDueSoon;
+            overdue = loadedOverdue;
+            loading = false;
+        }
+        for (Long id : changedDuringLoad) {
+            refresh(id, false);
+        }
+        log.info("Due dates of {} open check-outs loaded", count);
+    }
+
+    /**
+     * Reschedule the check-outs changed since the previous sync, to pick up the changes made on other instances.
+     * <p>
+     * This is scheduled to run every {@code application.due-dates.sync-interval}.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.due-dates.sync-interval:PT1M}",
+        initialDelayString = "${application.due-dates.sync-interval:PT1M}"
+    )
+    public void sync() {
+        Instant since = syncedAt;
+        if (since == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<EntityVersion> changed = entityVersionService.findChangedSince(CheckOut.class, since.minus(EntityVersionService.SYNC_OVERLAP));
+        List<Long> ids = new ArrayList<>(changed.size());
+        for (EntityVersion entityVersion : changed) {
+            if (!entityVersion.getDeleted()) {
+                ids.add(Long.valueOf(entityVersion.getEntityId()));
+            }
+        }
+        Map<Long, Instant> endTimes = new HashMap<>();
+        for (CheckOut checkOut : checkOutRepository.findAllById(ids)) {
+            if (Boolean.FALSE.equals(checkOut.getIsReturned())) {
+                endTimes.put(checkOut.getId(), checkOut.getEndTime());
+            }
+        }
+        for (EntityVersion entityVersion : changed) {
+            Long id = Long.valueOf(entityVersion.getEntityId());
+            schedule(id, endTimes.get(id), now);
+        }
+        syncedAt = now;
+        log.debug("Due dates of {} changed check-outs synced", changed.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.concerns(CheckOut.class)) {
+            if (loading) {
+                changedDuringLoad.add((Long) event.getId());
+            }
+            refresh((Long) event.getId(), event.isDeleted());
+        }
+    }
+
+    /**
+     * Publish the check-outs that became due soon or overdue.
+     * <p>
+     * This is scheduled to run every {@code application.due-dates.tick}.
+     */
+    @Scheduled(fixedDelayString = "${application.due-dates.tick:PT1M}")
+    public void tick() {
+        advance(Instant.now());
+    }
+
+    void advance(Instant now) {
+        List<Long> dueSoonIds;
+        List<Long> overdueIds;
+        synchronized (this) {
+            dueSoonIds = dueSoon.advance(now);
+            overdueIds = overdue.advance(now);
+        }
+        if (!dueSoonIds.isEmpty()) {
+            log.debug("{} check-outs are due soon", dueSoonIds.size());
+            eventPublisher.publishEvent(new CheckOutDueEvent(CheckOutDueEvent.Type.DUE_SOON, dueSoonIds));
+        }
+        if (!overdueIds.isEmpty()) {
+            log.debug("{} check-outs are overdue", overdueIds.size());
+            eventPublisher.publishEvent(new CheckOutDueEvent(CheckOutDueEvent.Type.OVERDUE, overdueIds));
+        }
+    }
+
+    /**
+     * Schedule the due dates of a check-out, replacing the previous ones.
+     *
+     * @param id the id of the check-out.
+     * @param endTime its end time, {@code null} if it is returned or deleted.
+     * @param now the current time.
+     */
+    synchronized void schedule(Long id, Instant endTime, Instant now) {
+        schedule(dueSoon, overdue, id, endTime, now);
+    }
+
+    private void schedule(TimingWheel<Long> dueSoonWheel, TimingWheel<Long> overdueWheel, Long id, Instant endTime, Instant now) {
+        dueSoonWheel.cancel(id);
+        overdueWheel.cancel(id);
+        if (endTime == null) {
+            return;
+        }
+        Instant dueSoonAt = endTime.minus(properties.getDueSoonLead());
+        if (dueSoonAt.isAfter(now)) {
+            dueSoonWheel.schedule(id, dueSoonAt);
+        }
+        if (endTime.isAfter(now)) {
+            overdueWheel.schedule(id, endTime);
+        }
+    }
+
+    private void refresh(Long id, boolean deleted) {
+        Instant endTime = deleted
+            ? null
+            : checkOutRepository
+                .findById(id)
+                .filter(checkOut -> Boolean.FALSE.equals(checkOut.getIsReturned()))
+                .map(CheckOut::getEndTime)
+                .orElse(null);
+        schedule(id, endTime, Instant.now());
+    }
+}
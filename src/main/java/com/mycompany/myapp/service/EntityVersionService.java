@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.EntityVersion;
+import com.mycompany.myapp.repository.EntityVersionRepository;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for the versions of the entities and of their tables, see {@link EntityVersion}.
+ * <p>
+ * Every {@link EntityChangedEvent} increments the version of its entity and of its table in the transaction of the
+ * change, so the versions are the same on every instance as soon as the change is committed, and roll back with it.
+ * An entity or a table that never changed has version 0.
+ */
+@Service
+@Transactional
+public class EntityVersionService {
+
+    /**
+     * Margin for the commit delays and the clock differences between instances, when polling for changes.
+     */
+    public static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final Logger log = LoggerFactory.getLogger(EntityVersionService.class);
+
+    private final EntityVersionRepository entityVersionRepository;
+
+    public EntityVersionService(EntityVersionRepository entityVersionRepository) {
+        this.entityVersionRepository = entityVersionRepository;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        log.trace("Increment the versions of {}", event);
+        entityVersionRepository.increment(typeName(event.getEntityType()), event.getId().toString(), event.isDeleted(), Instant.now());
+    }
+
+    /**
+     * Get the versions of an entity, or of its table, and of the tables of the entities it depends on, in one query.
+     *
+     * @param entityType the type of the entity.
+     * @param id the id of the entity, {@code null} for the version of its table.
+     * @param dependencies the types of the other entities its representation is read from.
+     * @return the version of the entity or of its table, then the version of the table of each dependency.
+     */
+    @Transactional(readOnly = true)
+    public long[] getVersions(Class<?> entityType, Object id, Class<?>... dependencies) {
+        String entityId = id != null ? id.toString() : EntityVersion.TABLE;
+        List<String> types = new ArrayList<>(dependencies.length + 1);
+        types.add(typeName(entityType));
+        for (Class<?> dependency : dependencies) {
+            types.add(typeName(dependency));
+        }
+        Map<EntityVersion.Key, Long> versions = new HashMap<>();
+        for (EntityVersion entityVersion : entityVersionRepository.findAllByTypesAndIds(types, List.of(entityId, EntityVersion.TABLE))) {
+            versions.put(new EntityVersion.Key(entityVersion.getEntityType(), entityVersion.getEntityId()), entityVersion.getVersion());
+        }
+
+        long[] result = new long[types.size()];
+        result[0] = versions.getOrDefault(new EntityVersion.Key(types.get(0), entityId), 0L);
+        for (int i = 1; i < result.length; i++) {
+            result[i] = versions.getOrDefault(new EntityVersion.Key(types.get(i), EntityVersion.TABLE), 0L);
+        }
+        return result;
+    }
+
+    /**
+     * Get the versions of the entities of a type changed after a time, on any instance.
+     * <p>
+     * A change is timestamped before its transaction commits, and by the clock of the instance that made it: a caller
+     * polling for changes should ask for those after its previous poll minus a margin, see {@link #SYNC_OVERLAP}.
+     *
+     * @param entityType the type of the entities.
+     * @param since the time.
+     * @return the versions of the changed entities, including the deleted ones.
+     */
+    @Transactional(readOnly = true)
+    public List<EntityVersion> findChangedSince(Class<?> entityType, Instant since) {
+        return entityVersionRepository.findAllChangedAfter(typeName(entityType), since);
+    }
+
+    private static String typeName(Class<?> entityType) {
+        return entityType.getSimpleName();
+    }
+}
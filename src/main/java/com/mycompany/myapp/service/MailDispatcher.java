@@ -0,0 +1,175 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.OutboundMail;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Sends the mails queued by {@link MailService}.
+ * <p>
+ * Each batch is sent over one SMTP connection, at most {@code application.mail-queue.max-per-second} mails per second.
+ * The batches are sent on a thread of the dispatcher, so bulk mailings hold neither the task scheduler, which runs the
+ * other scheduled jobs, nor the {@code @Async} executor.
+ */
+@Service
+public class MailDispatcher implements DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private final MailQueueService mailQueueService;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties.MailQueue properties;
+
+    private double permits;
+
+    private long refilledAt = System.nanoTime();
+
+    private final ExecutorService sender;
+
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    public MailDispatcher(
+        MailQueueService mailQueueService,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties
+    ) {
+        this.mailQueueService = mailQueueService;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.properties = applicationProperties.getMailQueue();
+        this.permits = burst();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("mail-dispatcher-");
+        threadFactory.setDaemon(true);
+        this.sender = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Hand the sending of the due mails to the thread of the dispatcher, unless it is still sending.
+     * <p>
+     * This is scheduled to run every {@code application.mail-queue.poll-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.mail-queue.poll-interval:PT5S}")
+    public void dispatch() {
+        if (!sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> {
+                try {
+                    sendDue();
+                } catch (RuntimeException e) {
+                    log.error("Could not send the queued mails", e);
+                } finally {
+                    sending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sending.set(false);
+            log.debug("Not sending the queued mails, the dispatcher is shut down");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // the batch being sent is finished, so its mails are marked as sent
+        sender.shutdown();
+    }
+
+    /**
+     * Send the due mails, in batches, as long as the rate limit allows.
+     */
+    void sendDue() {
+        refill();
+        while (permits >= 1) {
+            int limit = (int) Math.min(properties.getBatchSize(), permits);
+            List<OutboundMail> mails = mailQueueService.claim(limit, Instant.now());
+            if (mails.isEmpty()) {
+                return;
+            }
+            permits -= mails.size();
+            send(mails);
+            if (mails.size() < limit) {
+                return;
+            }
+        }
+    }
+
+    private void send(List<OutboundMail> mails) {
+        Map<MimeMessage, OutboundMail> messages = new IdentityHashMap<>();
+        Map<Long, Exception> failures = new HashMap<>();
+        for (OutboundMail mail : mails) {
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException e) {
+                failures.put(mail.getId(), e);
+            }
+        }
+        if (!messages.isEmpty()) {
+            try {
+                javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(mail -> failures.put(mail.getId(), e));
+                } else {
+                    e.getFailedMessages().forEach((message, failure) -> failures.put(messages.get(message).getId(), failure));
+                }
+            } catch (MailException e) {
+                messages.values().forEach(mail -> failures.put(mail.getId(), e));
+            }
+        }
+        List<Long> sent = new ArrayList<>();
+        messages.values().stream().map(OutboundMail::getId).filter(id -> !failures.containsKey(id)).forEach(sent::add);
+        mailQueueService.markSent(sent);
+        mailQueueService.markFailed(failures, Instant.now());
+        log.debug("Sent {} emails, {} failed", sent.size(), failures.size());
+    }
+
+    MimeMessage toMimeMessage(OutboundMail mail) throws MessagingException {
+        // Prepare message using a Spring helper
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, mail.getMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(mail.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getContent(), mail.getHtml());
+        return mimeMessage;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        permits = Math.min(burst(), permits + properties.getMaxPerSecond() * (now - refilledAt) / 1e9);
+        refilledAt = now;
+    }
+
+    private double burst() {
+        return Math.max(1, Math.max(properties.getBatchSize(), properties.getMaxPerSecond()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.OutboundMail;
+import com.mycompany.myapp.domain.enumeration.OutboundMailStatus;
+import com.mycompany.myapp.repository.OutboundMailRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for the queue of outbound mails, which {@link MailDispatcher} sends.
+ * <p>
+ * A mail is claimed for sending by pushing its next attempt past a lease, so that another instance, or this one after a
+ * restart, retries it if it was neither sent nor marked as failed by then. A sent mail is deleted; a failed one is
+ * retried with exponential backoff, until it is left in the {@link OutboundMailStatus#Dead} state.
+ */
+@Service
+@Transactional
+public class MailQueueService {
+
+    private final Logger log = LoggerFactory.getLogger(MailQueueService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboundMailRepository outboundMailRepository;
+
+    private final ApplicationProperties.MailQueue properties;
+
+    public MailQueueService(OutboundMailRepository outboundMailRepository, ApplicationProperties applicationProperties) {
+        this.outboundMailRepository = outboundMailRepository;
+        this.properties = applicationProperties.getMailQueue();
+    }
+
+    public OutboundMail enqueue(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+        OutboundMail mail = new OutboundMail().recipient(to).subject(subject).content(content).multipart(isMultipart).html(isHtml);
+        return enqueueAll(List.of(mail)).get(0);
+    }
+
+    /**
+     * Queue mails for sending now.
+     *
+     * @param mails the mails, with their recipient, subject, content and format set.
+     * @return the queued mails.
+     */
+    public List<OutboundMail> enqueueAll(List<OutboundMail> mails) {
+        Instant now = Instant.now();
+        mails.forEach(mail -> mail.status(OutboundMailStatus.Pending).attempts(0).nextAttemptAt(now).createdDate(now));
+        List<OutboundMail> queued = outboundMailRepository.saveAll(mails);
+        log.debug("Queued {} emails", queued.size());
+        return queued;
+    }
+
+    /**
+     * Claim the oldest pending mails due by {@code now}, skipping those claimed concurrently by another instance.
+     *
+     * @param limit the maximum number of mails to claim.
+     * @param now the current time.
+     * @return the claimed mails, with their attempt counted.
+     */
+    public List<OutboundMail> claim(int limit, Instant now) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        List<OutboundMail> mails = outboundMailRepository.findDueForUpdate(OutboundMailStatus.Pending, now, PageRequest.of(0, limit));
+        Instant leaseEnd = now.plus(properties.getLease());
+        mails.forEach(mail -> mail.attempts(mail.getAttempts() + 1).nextAttemptAt(leaseEnd));
+        return mails;
+    }
+
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            outboundMailRepository.deleteAllByIdInBatch(ids);
+        }
+    }
+
+    /**
+     * Schedule the retry of mails that could not be sent, or give up on them after {@code max-attempts}.
+     *
+     * @param failures the failure of each mail, by id.
+     * @param now the current time.
+     */
+    public void markFailed(Map<Long, Exception> failures, Instant now) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        for (OutboundMail mail : outboundMailRepository.findAllById(failures.keySet())) {
+            Exception error = failures.get(mail.getId());
+            mail.lastError(truncate(String.valueOf(error)));
+            if (mail.getAttempts() >= properties.getMaxAttempts()) {
+                mail.status(OutboundMailStatus.Dead);
+                log.warn("Giving up on email {} to '{}' after {} attempts", mail.getId(), mail.getRecipient(), mail.getAttempts(), error);
+            } else {
+                mail.nextAttemptAt(now.plus(backoff(mail.getAttempts())));
+                log.warn(
+                    "Email {} could not be sent to '{}', retrying at {}",
+                    mail.getId(),
+                    mail.getRecipient(),
+                    mail.getNextAttemptAt(),
+                    error
+                );
+            }
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 30));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
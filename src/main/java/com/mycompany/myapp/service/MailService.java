@@ -1,17 +1,21 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.domain.OutboundMail;
 import com.mycompany.myapp.domain.User;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
@@ -20,7 +24,7 @@ import tech.jhipster.config.JHipsterProperties;
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Emails are queued in the database, in the caller's transaction if any, and sent by {@link MailDispatcher}.
  */
 @Service
 public class MailService {
@@ -31,80 +35,184 @@ public class MailService {
 
     private static final String BASE_URL = "baseUrl";
 
+    private static final int RENDER_BATCH_SIZE = 50;
+
     private final JHipsterProperties jHipsterProperties;
 
-    private final JavaMailSender javaMailSender;
+    private final MailQueueService mailQueueService;
 
     private final MessageSource messageSource;
 
     private final SpringTemplateEngine templateEngine;
 
+    private final Executor taskExecutor;
+
     public MailService(
         JHipsterProperties jHipsterProperties,
-        JavaMailSender javaMailSender,
+        MailQueueService mailQueueService,
         MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        SpringTemplateEngine templateEngine,
+        @Qualifier("taskExecutor") Executor taskExecutor
     ) {
         this.jHipsterProperties = jHipsterProperties;
-        this.javaMailSender = javaMailSender;
+        this.mailQueueService = mailQueueService;
         this.messageSource = messageSource;
         this.templateEngine = templateEngine;
+        this.taskExecutor = taskExecutor;
     }
 
-    @Async
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug(
-            "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
+            "Queue email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
             isMultipart,
             isHtml,
             to,
             subject,
             content
         );
-
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            log.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
-            log.warn("Email could not be sent to user '{}'", to, e);
-        }
+        mailQueueService.enqueue(to, subject, content, isMultipart, isHtml);
     }
 
-    @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
             log.debug("Email doesn't exist for user '{}'", user.getLogin());
             return;
         }
         Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
+        String content = renderTemplate(templateName, user, locale);
         String subject = messageSource.getMessage(titleKey, null, locale);
         sendEmail(user.getEmail(), subject, content, false, true);
     }
 
-    @Async
+    /**
+     * Queue an email from the same template to each of the users, e.g. notices to many patrons.
+     * <p>
+     * Users without an email are skipped. The users and their variables are copied on the calling thread, then the
+     * emails are rendered in parallel batches on the task executor, the subject once per language, and queued together.
+     *
+     * @param users the recipients.
+     * @param templateName the template.
+     * @param titleKey the message key of the subject.
+     */
+    public void sendEmailsFromTemplate(Collection<User> users, String templateName, String titleKey) {
+        sendEmailsFromTemplate(users, templateName, titleKey, user -> Map.of());
+    }
+
+    /**
+     * Queue an email from the same template to each of the users, with variables of its own.
+     *
+     * @param users the recipients.
+     * @param templateName the template.
+     * @param titleKey the message key of the subject.
+     * @param variables the template variables of a user, besides {@code user} and {@code baseUrl}, applied on the calling
+     * thread: they are read on other threads, so they must not be managed entities.
+     * @see #sendEmailsFromTemplate(Collection, String, String)
+     */
+    public void sendEmailsFromTemplate(
+        Collection<User> users,
+        String templateName,
+        String titleKey,
+        Function<User, Map<String, Object>> variables
+    ) {
+        List<OutboundMail> mails = renderEmailsFromTemplate(users, templateName, titleKey, variables);
+        log.debug("Sending {} '{}' emails", mails.size(), templateName);
+        if (!mails.isEmpty()) {
+            mailQueueService.enqueueAll(mails);
+        }
+    }
+
+    List<OutboundMail> renderEmailsFromTemplate(Collection<User> users, String templateName, String titleKey) {
+        return renderEmailsFromTemplate(users, templateName, titleKey, user -> Map.of());
+    }
+
+    private List<OutboundMail> renderEmailsFromTemplate(
+        Collection<User> users,
+        String templateName,
+        String titleKey,
+        Function<User, Map<String, Object>> variables
+    ) {
+        // everything the templates read is copied here, on the caller's thread and persistence context
+        Map<String, Locale> locales = new HashMap<>();
+        Map<Locale, String> subjects = new HashMap<>();
+        List<User> recipients = new ArrayList<>();
+        List<Map<String, Object>> recipientVariables = new ArrayList<>();
+        List<OutboundMail> mails = new ArrayList<>();
+        for (User user : users) {
+            if (user.getEmail() == null) {
+                continue;
+            }
+            Locale locale = locales.computeIfAbsent(user.getLangKey(), Locale::forLanguageTag);
+            String subject = subjects.computeIfAbsent(locale, key -> messageSource.getMessage(titleKey, null, key));
+            recipients.add(detach(user));
+            recipientVariables.add(variables.apply(user));
+            mails.add(new OutboundMail().recipient(user.getEmail()).subject(subject).multipart(false).html(true));
+        }
+
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < mails.size(); from += RENDER_BATCH_SIZE) {
+            int start = from;
+            int end = Math.min(from + RENDER_BATCH_SIZE, mails.size());
+            batches.add(
+                CompletableFuture.runAsync(
+                    () -> {
+                        for (int i = start; i < end; i++) {
+                            User recipient = recipients.get(i);
+                            Locale locale = locales.get(recipient.getLangKey());
+                            mails.get(i).content(renderTemplate(templateName, recipient, locale, recipientVariables.get(i)));
+                        }
+                    },
+                    taskExecutor
+                )
+            );
+        }
+        try {
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return mails;
+    }
+
+    /**
+     * @return a copy of the user with the fields the templates read, and without associations, to render it on another thread.
+     */
+    private static User detach(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setLogin(user.getLogin());
+        copy.setFirstName(user.getFirstName());
+        copy.setLastName(user.getLastName());
+        copy.setEmail(user.getEmail());
+        copy.setLangKey(user.getLangKey());
+        copy.setActivationKey(user.getActivationKey());
+        copy.setResetKey(user.getResetKey());
+        return copy;
+    }
+
+    String renderTemplate(String templateName, User user, Locale locale) {
+        return renderTemplate(templateName, user, locale, Map.of());
+    }
+
+    private String renderTemplate(String templateName, User user, Locale locale, Map<String, Object> variables) {
+        Context context = new Context(locale, variables);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        return templateEngine.process(templateName, context);
+    }
+
     public void sendActivationEmail(User user) {
         log.debug("Sending activation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendCreationEmail(User user) {
         log.debug("Sending creation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendPasswordResetMail(User user) {
         log.debug("Sending password reset email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
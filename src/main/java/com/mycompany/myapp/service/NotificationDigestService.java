@@ -0,0 +1,145 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Notification;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.NotificationRepository;
+import com.mycompany.myapp.service.scheduling.SchedulerLock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service delivering the {@link Notification}s of each patron as one digest email, rather than one email each.
+ * <p>
+ * Undelivered notifications are the buffer. A patron's digest is due once their oldest undelivered notification is
+ * {@code application.notification-digest.window} old, or they have {@code max-count} of them. Due digests are sent
+ * {@code batch-size} patrons per transaction: their notifications are read with one query, the emails queued
+ * together, and the notifications marked delivered with one update.
+ */
+@Service
+public class NotificationDigestService {
+
+    private final Logger log = LoggerFactory.getLogger(NotificationDigestService.class);
+
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+
+    private static final String NOTIFICATIONS = "notifications";
+
+    private final NotificationRepository notificationRepository;
+
+    private final MailService mailService;
+
+    private final ApplicationProperties.NotificationDigest properties;
+
+    private final TransactionTemplate transaction;
+
+    public NotificationDigestService(
+        NotificationRepository notificationRepository,
+        MailService mailService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.mailService = mailService;
+        this.properties = applicationProperties.getNotificationDigest();
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Send the due digests.
+     * <p>
+     * This is scheduled to run every {@code application.notification-digest.poll-interval}, on one instance at a time.
+     */
+    @Scheduled(fixedDelayString = "${application.notification-digest.poll-interval:PT1M}")
+    @SchedulerLock
+    public void sendDueDigests() {
+        String after = "";
+        int patrons = 0;
+        while (true) {
+            String from = after;
+            List<String> cardNumbers;
+            try {
+                cardNumbers = transaction.execute(status -> sendDigests(from, Instant.now()));
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("Stopping, digests were sent concurrently: {}", e.getMessage());
+                break;
+            }
+            patrons += cardNumbers.size();
+            if (cardNumbers.size() < properties.getBatchSize()) {
+                break;
+            }
+            after = cardNumbers.get(cardNumbers.size() - 1);
+        }
+        if (patrons > 0) {
+            log.info("Sent the notification digests of {} patrons", patrons);
+        }
+    }
+
+    /**
+     * Send the due digests of the next batch of patrons.
+     *
+     * @param after the card number after which to look for patrons.
+     * @param now the current time.
+     * @return the card numbers of the patrons whose digest was sent, in order.
+     * @throws OptimisticLockingFailureException if some notifications were delivered concurrently.
+     */
+    List<String> sendDigests(String after, Instant now) {
+        List<String> cardNumbers = notificationRepository.findDigestDueCardNumbers(
+            after,
+            now.minus(properties.getWindow()),
+            properties.getMaxCount(),
+            PageRequest.of(0, properties.getBatchSize())
+        );
+        if (cardNumbers.isEmpty()) {
+            return cardNumbers;
+        }
+        Map<User, List<Notification>> digests = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>();
+        for (Notification notification : notificationRepository.findUndeliveredWithPatronByCardNumberIn(cardNumbers)) {
+            ids.add(notification.getId());
+            User user = notification.getPatronAccount().getUser();
+            if (user != null) {
+                digests.computeIfAbsent(user, key -> new ArrayList<>()).add(notification);
+            }
+        }
+        mailService.sendEmailsFromTemplate(
+            digests.keySet(),
+            "mail/notificationDigest",
+            "email.digest.title",
+            user -> Map.of(NOTIFICATIONS, detach(digests.get(user)))
+        );
+        int delivered = 0;
+        for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+            delivered += notificationRepository.markDelivered(ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size())), now);
+        }
+        if (delivered != ids.size()) {
+            throw new OptimisticLockingFailureException(
+                (ids.size() - delivered) + " notifications of " + cardNumbers.size() + " patrons were already delivered"
+            );
+        }
+        log.debug("Sent {} digests of {} notifications", digests.size(), ids.size());
+        return cardNumbers;
+    }
+
+    /**
+     * @return copies of the notifications with the fields the digest template reads, as it is rendered on other threads.
+     */
+    private static List<Notification> detach(List<Notification> notifications) {
+        List<Notification> copies = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            copies.add(new Notification().id(notification.getId()).type(notification.getType()).sentAt(notification.getSentAt()));
+        }
+        return copies;
+    }
+}
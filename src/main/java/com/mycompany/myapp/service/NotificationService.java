@@ -1,12 +1,26 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Notification;
+import com.mycompany.myapp.domain.enumeration.NoTi;
+import com.mycompany.myapp.repository.CheckOutRepository;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
 import com.mycompany.myapp.repository.NotificationRepository;
+import com.mycompany.myapp.repository.PatronAccountRepository;
+import com.mycompany.myapp.service.event.CheckOutDueEvent;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,10 +33,100 @@ public class NotificationService {
 
     private final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
+    private static final int DUE_CHUNK_SIZE = 1000;
+
     private final NotificationRepository notificationRepository;
 
-    public NotificationService(NotificationRepository notificationRepository) {
+    private final KeysetRepository keysetRepository;
+
+    private final CheckOutRepository checkOutRepository;
+
+    private final PatronAccountRepository patronAccountRepository;
+
+    public NotificationService(
+        NotificationRepository notificationRepository,
+        KeysetRepository keysetRepository,
+        CheckOutRepository checkOutRepository,
+        PatronAccountRepository patronAccountRepository
+    ) {
         this.notificationRepository = notificationRepository;
+        this.keysetRepository = keysetRepository;
+        this.checkOutRepository = checkOutRepository;
+        this.patronAccountRepository = patronAccountRepository;
+    }
+
+    /**
+     * Notify the patrons of the check-outs that became due soon or overdue, unless they were returned meanwhile.
+     * <p>
+     * Each instance publishes the same due check-outs: marking them notified first makes only one of them notify each.
+     * The notifications are inserted in JDBC batches, and emailed by the {@link NotificationDigestService}.
+     *
+     * @param event the due check-outs.
+     */
+    @EventListener
+    public void onCheckOutsDue(CheckOutDueEvent event) {
+        if (event.getType() == CheckOutDueEvent.Type.OVERDUE) {
+            notifyOverdue(event.getCheckOutIds());
+        } else {
+            notifyDueSoon(event.getCheckOutIds());
+        }
+    }
+
+    /**
+     * Notify the patrons of check-outs due soon, unless they were returned or notified already, and mark them notified.
+     *
+     * @param checkOutIds the ids of the check-outs due soon.
+     * @return the number of notifications created.
+     */
+    public int notifyDueSoon(List<Long> checkOutIds) {
+        Instant notifiedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        int count = notify(
+            NoTi.DueSoon,
+            checkOutIds,
+            ids -> {
+                checkOutRepository.markDueSoonNotified(ids, notifiedAt);
+                return checkOutRepository.findPatronCardNumbersByIdInAndDueSoonNotifiedAt(ids, notifiedAt);
+            }
+        );
+        log.debug("Created {} due soon notifications", count);
+        return count;
+    }
+
+    /**
+     * Notify the patrons of overdue check-outs, unless they were returned or notified already, and mark them notified.
+     *
+     * @param checkOutIds the ids of the overdue check-outs.
+     * @return the number of notifications created.
+     */
+    public int notifyOverdue(List<Long> checkOutIds) {
+        Instant notifiedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        int count = notify(
+            NoTi.Overdue,
+            checkOutIds,
+            ids -> {
+                checkOutRepository.markOverdueNotified(ids, notifiedAt);
+                return checkOutRepository.findPatronCardNumbersByIdInAndOverdueNotifiedAt(ids, notifiedAt);
+            }
+        );
+        log.debug("Created {} overdue notifications", count);
+        return count;
+    }
+
+    private int notify(NoTi type, List<Long> checkOutIds, Function<List<Long>, List<String>> cardNumbers) {
+        Instant now = Instant.now();
+        int count = 0;
+        for (int from = 0; from < checkOutIds.size(); from += DUE_CHUNK_SIZE) {
+            List<Notification> notifications = cardNumbers
+                .apply(checkOutIds.subList(from, Math.min(from + DUE_CHUNK_SIZE, checkOutIds.size())))
+                .stream()
+                .map(cardNumber ->
+                    new Notification().type(type).sentAt(now).patronAccount(patronAccountRepository.getReferenceById(cardNumber))
+                )
+                .collect(Collectors.toList());
+            notificationRepository.saveAll(notifications);
+            count += notifications.size();
+        }
+        return count;
     }
 
     /**
@@ -83,6 +187,31 @@ public class NotificationService {
         return notificationRepository.findAll(pageable);
     }
 
+    /**
+     * Get a page of the notifications without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Notification> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of Notifications");
+        return notificationRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Get a keyset page of the notifications, without counting them.
+     *
+     * @param after the keyset of the last notification of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Notification> findAll(Keyset after, Pageable pageable) {
+        log.debug("Request to get a keyset page of Notifications");
+        return keysetRepository.findAll(Notification.class, after, pageable);
+    }
+
     /**
      * Get one notification by id.
      *
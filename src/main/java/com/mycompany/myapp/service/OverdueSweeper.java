@@ -0,0 +1,82 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.CheckOutDue;
+import com.mycompany.myapp.repository.CheckOutRepository;
+import com.mycompany.myapp.service.scheduling.SchedulerLock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service notifying the patrons of the overdue check-outs that the {@link DueDateScheduler} did not notify, because
+ * they became overdue while no instance was running, or before they were loaded.
+ * <p>
+ * The check-outs are read {@code application.overdue-sweep.chunk-size} at a time, by end time and id, from the partial
+ * index of the check-outs not returned nor notified. Each chunk is marked notified and its notifications inserted in
+ * one short transaction, so a sweep that stops resumes after the last committed chunk, and sweeps running at once on
+ * several instances do not notify the same check-outs twice.
+ */
+@Service
+public class OverdueSweeper {
+
+    private final Logger log = LoggerFactory.getLogger(OverdueSweeper.class);
+
+    private final CheckOutRepository checkOutRepository;
+
+    private final NotificationService notificationService;
+
+    private final ApplicationProperties.OverdueSweep properties;
+
+    public OverdueSweeper(
+        CheckOutRepository checkOutRepository,
+        NotificationService notificationService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.checkOutRepository = checkOutRepository;
+        this.notificationService = notificationService;
+        this.properties = applicationProperties.getOverdueSweep();
+    }
+
+    /**
+     * Notify the overdue check-outs.
+     * <p>
+     * This is scheduled to run every {@code application.overdue-sweep.poll-interval}, on one instance at a time.
+     */
+    @Scheduled(fixedDelayString = "${application.overdue-sweep.poll-interval:PT1H}")
+    @SchedulerLock
+    public void sweep() {
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        Instant afterEndTime = Instant.EPOCH;
+        Long afterId = Long.MIN_VALUE;
+        int checkOuts = 0;
+        int notifications = 0;
+        List<CheckOutDue> chunk;
+        do {
+            chunk = checkOutRepository.findOverdueAfter(afterEndTime, afterId, now, PageRequest.of(0, properties.getChunkSize()));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            notifications += notificationService.notifyOverdue(chunk.stream().map(CheckOutDue::getId).collect(Collectors.toList()));
+            checkOuts += chunk.size();
+            CheckOutDue last = chunk.get(chunk.size() - 1);
+            afterEndTime = last.getEndTime();
+            afterId = last.getId();
+        } while (chunk.size() == properties.getChunkSize());
+        if (checkOuts > 0) {
+            log.info(
+                "Swept {} overdue check-outs and created {} notifications in {} ms",
+                checkOuts,
+                notifications,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+            );
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.PatronAccount;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
 import com.mycompany.myapp.repository.PatronAccountRepository;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +26,11 @@ public class PatronAccountService {
 
     private final PatronAccountRepository patronAccountRepository;
 
-    public PatronAccountService(PatronAccountRepository patronAccountRepository) {
+    private final KeysetRepository keysetRepository;
+
+    public PatronAccountService(PatronAccountRepository patronAccountRepository, KeysetRepository keysetRepository) {
         this.patronAccountRepository = patronAccountRepository;
+        this.keysetRepository = keysetRepository;
     }
 
     /**
@@ -77,6 +85,73 @@ public class PatronAccountService {
         return patronAccountRepository.findAll(pageable);
     }
 
+    /**
+     * Get a page of the patronAccounts without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PatronAccount> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of PatronAccounts");
+        return patronAccountRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Get a keyset page of the patronAccounts, without counting them.
+     *
+     * @param after the keyset of the last patronAccount of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<PatronAccount> findAll(Keyset after, Pageable pageable) {
+        log.debug("Request to get a keyset page of PatronAccounts");
+        return keysetRepository.findAll(PatronAccount.class, after, pageable);
+    }
+
+    /**
+     * Get all the patron accounts with the given associations.
+     *
+     * @param pageable the pagination information.
+     * @param expand the associations to fetch.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<PatronAccount> findAll(Pageable pageable, Set<String> expand) {
+        log.debug("Request to get all PatronAccounts expanding {}", expand);
+        return patronAccountRepository.findAllWithRelationships(PatronAccount.class, pageable, expand.toArray(new String[0]));
+    }
+
+    /**
+     * Get a page of the patronAccounts with the given associations, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @param expand the associations to fetch.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PatronAccount> findSlice(Pageable pageable, Set<String> expand) {
+        log.debug("Request to get a slice of PatronAccounts expanding {}", expand);
+        return patronAccountRepository.findSliceWithRelationships(PatronAccount.class, pageable, expand.toArray(new String[0]));
+    }
+
+    /**
+     * Get a keyset page of the patron accounts with the given associations, without counting them.
+     *
+     * @param after the keyset of the last patron account of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @param expand the associations to fetch.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<PatronAccount> findAll(Keyset after, Pageable pageable, Set<String> expand) {
+        log.debug("Request to get a keyset page of PatronAccounts expanding {}", expand);
+        return keysetRepository
+            .findAll(PatronAccount.class, after, pageable)
+            .withContent(accounts -> patronAccountRepository.fetchRelationships(accounts, expand.toArray(new String[0])));
+    }
+
     /**
      * Get all the patronAccounts with eager load of many-to-many relationships.
      *
@@ -86,6 +161,27 @@ public class PatronAccountService {
         return patronAccountRepository.findAllWithEagerRelationships(pageable);
     }
 
+    /**
+     * Get a page of the patronAccounts with eager load of relationships, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    public Slice<PatronAccount> findSliceWithEagerRelationships(Pageable pageable) {
+        return patronAccountRepository.findSliceWithEagerRelationships(pageable);
+    }
+
+    /**
+     * Get a keyset page of the patronAccounts with eager load of relationships, without counting them.
+     *
+     * @param after the keyset of the last patronAccount of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    public KeysetSlice<PatronAccount> findAllWithEagerRelationships(Keyset after, Pageable pageable) {
+        return keysetRepository.findAll(PatronAccount.class, after, pageable, "user");
+    }
+
     /**
      * Get one patronAccount by id.
      *
@@ -98,6 +194,19 @@ public class PatronAccountService {
         return patronAccountRepository.findOneWithEagerRelationships(id);
     }
 
+    /**
+     * Get one patron account by id with the given associations.
+     *
+     * @param id the id of the entity.
+     * @param expand the associations to fetch.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PatronAccount> findOne(String id, Set<String> expand) {
+        log.debug("Request to get PatronAccount : {} expanding {}", id, expand);
+        return patronAccountRepository.findOneWithRelationships(PatronAccount.class, id, expand.toArray(new String[0]));
+    }
+
     /**
      * Delete the patronAccount by id.
      *
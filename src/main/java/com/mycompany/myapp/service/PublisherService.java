@@ -1,12 +1,18 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
 import com.mycompany.myapp.repository.PublisherRepository;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +27,18 @@ public class PublisherService {
 
     private final PublisherRepository publisherRepository;
 
-    public PublisherService(PublisherRepository publisherRepository) {
+    private final KeysetRepository keysetRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PublisherService(
+        PublisherRepository publisherRepository,
+        KeysetRepository keysetRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.publisherRepository = publisherRepository;
+        this.keysetRepository = keysetRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -33,7 +49,7 @@ public class PublisherService {
      */
     public Publisher save(Publisher publisher) {
         log.debug("Request to save Publisher : {}", publisher);
-        return publisherRepository.save(publisher);
+        return published(publisherRepository.save(publisher));
     }
 
     /**
@@ -44,7 +60,7 @@ public class PublisherService {
      */
     public Publisher update(Publisher publisher) {
         log.debug("Request to update Publisher : {}", publisher);
-        return publisherRepository.save(publisher);
+        return published(publisherRepository.save(publisher));
     }
 
     /**
@@ -65,7 +81,8 @@ public class PublisherService {
 
                 return existingPublisher;
             })
-            .map(publisherRepository::save);
+            .map(publisherRepository::save)
+            .map(this::published);
     }
 
     /**
@@ -80,6 +97,31 @@ public class PublisherService {
         return publisherRepository.findAll(pageable);
     }
 
+    /**
+     * Get a page of the publishers without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Publisher> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of Publishers");
+        return publisherRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Get a keyset page of the publishers, without counting them.
+     *
+     * @param after the keyset of the last publisher of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Publisher> findAll(Keyset after, Pageable pageable) {
+        log.debug("Request to get a keyset page of Publishers");
+        return keysetRepository.findAll(Publisher.class, after, pageable);
+    }
+
     /**
      * Get one publisher by id.
      *
@@ -100,5 +142,11 @@ public class PublisherService {
     public void delete(Long id) {
         log.debug("Request to delete Publisher : {}", id);
         publisherRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(Publisher.class, id));
+    }
+
+    private Publisher published(Publisher publisher) {
+        eventPublisher.publishEvent(EntityChangedEvent.saved(Publisher.class, publisher.getId()));
+        return publisher;
     }
 }
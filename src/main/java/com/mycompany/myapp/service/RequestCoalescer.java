@@ -0,0 +1,171 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Shares one in-flight load between concurrent callers asking for the same key.
+ * <p>
+ * The first caller runs the load, the callers arriving before it completes wait for its result instead of querying the
+ * database again. A caller that waits longer than {@code application.coalescing.timeout} runs its own load.
+ * <p>
+ * Loads are meant to be called outside of any transaction, and to open their own: a waiting caller then holds no
+ * pooled connection. The result is shared as is, so it must be immutable, such as a serialized response body, never a
+ * managed entity. A caller already in a transaction runs its own load, as it may read its own uncommitted writes.
+ * <p>
+ * An in-flight load is forgotten after the commit of an {@link EntityChangedEvent} of the entity it reads, or of one of
+ * its dependencies: a caller arriving after a write never gets a result read before it.
+ */
+@Service
+public class RequestCoalescer {
+
+    public static final String CALLS_METER_NAME = "service.coalescing.calls";
+    public static final String CALLS_METER_DESCRIPTION = "Indicates the reads run, shared or timed out by the request coalescing.";
+    public static final String CALLS_METER_BASE_UNIT = "calls";
+    public static final String CALLS_METER_NAME_DIMENSION = "name";
+    public static final String CALLS_METER_RESULT_DIMENSION = "result";
+
+    private final Logger log = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final Map<List<Object>, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration timeout;
+
+    public RequestCoalescer(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this.meterRegistry = meterRegistry;
+        this.timeout = applicationProperties.getCoalescing().getTimeout();
+    }
+
+    /**
+     * Run a load, or share the result of the identical load in flight.
+     *
+     * @param name the name of the load, used in metrics.
+     * @param key the arguments of the load.
+     * @param entityType the type of the entities read.
+     * @param id the id of the entity read, {@code null} for a load of several entities.
+     * @param dependencies the other entities the result is read from.
+     * @param loader the load.
+     * @return the result of the load.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String name, Object key, Class<?> entityType, Object id, Class<?>[] dependencies, Supplier<T> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        List<Object> flightKey = Arrays.asList(name, key);
+        Flight flight = new Flight(entityType, id, dependencies);
+        Flight leader = inFlight.putIfAbsent(flightKey, flight);
+        if (leader == null) {
+            return lead(name, flightKey, flight, loader);
+        }
+
+        try {
+            T result = (T) leader.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            track(name, "coalesced");
+            return result;
+        } catch (TimeoutException e) {
+            log.debug("Timed out waiting for {} of {}, loading it", name, key);
+            track(name, "timeout");
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            track(name, "timeout");
+            return loader.get();
+        } catch (ExecutionException e) {
+            track(name, "coalesced");
+            throw rethrow(e.getCause());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        // in-flight loads are bounded by the concurrent requests, so they are scanned rather than indexed
+        inFlight.values().removeIf(flight -> flight.isAffectedBy(event));
+    }
+
+    private <T> T lead(String name, List<Object> flightKey, Flight flight, Supplier<T> loader) {
+        track(name, "loaded");
+        try {
+            T result = loader.get();
+            flight.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private void track(String name, String result) {
+        Counter
+            .builder(CALLS_METER_NAME)
+            .baseUnit(CALLS_METER_BASE_UNIT)
+            .description(CALLS_METER_DESCRIPTION)
+            .tag(CALLS_METER_NAME_DIMENSION, name)
+            .tag(CALLS_METER_RESULT_DIMENSION, result)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private static final class Flight {
+
+        private final Class<?> entityType;
+
+        private final Object id;
+
+        private final Class<?>[] dependencies;
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Flight(Class<?> entityType, Object id, Class<?>[] dependencies) {
+            this.entityType = entityType;
+            this.id = id;
+            this.dependencies = dependencies;
+        }
+
+        private boolean isAffectedBy(EntityChangedEvent event) {
+            if (event.concerns(entityType)) {
+                return id == null || id.equals(event.getId());
+            }
+            for (Class<?> dependency : dependencies) {
+                if (event.concerns(dependency)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
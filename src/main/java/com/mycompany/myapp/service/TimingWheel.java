@@ -0,0 +1,164 @@
+package com.mycompany.myapp.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel: keys scheduled at a deadline, returned by {@link #advance} once it has passed.
+ * <p>
+ * Time is cut in ticks. Level 0 has a bucket per tick of the current {@value #SLOTS} ticks, level 1 a bucket per
+ * {@value #SLOTS} ticks of the current {@value #SLOTS}², and so on; deadlines past the last level wait in an overflow
+ * bucket. When the wheel reaches the start of a higher level bucket, its keys are moved down to the level matching
+ * their remaining time. Scheduling and cancelling are O(1), and each key is moved down at most once per level.
+ * <p>
+ * Deadlines are rounded up to a tick, so keys are returned up to a tick late, never early. This class is not
+ * thread-safe.
+ *
+ * @param <K> the type of the keys.
+ */
+final class TimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+
+    private final List<Set<K>> buckets = new ArrayList<>(LEVELS * SLOTS);
+
+    private final Set<K> overflow = new LinkedHashSet<>();
+
+    private final Set<K> due = new LinkedHashSet<>();
+
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+
+    private long currentTick;
+
+    /**
+     * @param tick the resolution of the wheel.
+     * @param now the current time.
+     */
+    TimingWheel(Duration tick, Instant now) {
+        this.tickMillis = tick.toMillis();
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("The tick must be at least a millisecond: " + tick);
+        }
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            buckets.add(new LinkedHashSet<>());
+        }
+        this.currentTick = Math.floorDiv(now.toEpochMilli(), tickMillis);
+    }
+
+    /**
+     * Schedule a key, replacing its previous deadline if it has one.
+     *
+     * @param key the key.
+     * @param deadline the time after which {@link #advance} returns the key.
+     */
+    void schedule(K key, Instant deadline) {
+        cancel(key);
+        Timer<K> timer = new Timer<>(-Math.floorDiv(-deadline.toEpochMilli(), tickMillis));
+        timers.put(key, timer);
+        place(key, timer);
+    }
+
+    /**
+     * Cancel a key.
+     *
+     * @param key the key.
+     * @return whether the key was scheduled.
+     */
+    boolean cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.bucket.remove(key);
+        return true;
+    }
+
+    /**
+     * Advance the wheel up to now.
+     *
+     * @param now the current time.
+     * @return the keys whose deadline has passed, which are no longer scheduled.
+     */
+    List<K> advance(Instant now) {
+        long targetTick = Math.floorDiv(now.toEpochMilli(), tickMillis);
+        List<K> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            if (timers.size() == due.size()) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            for (int level = LEVELS; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level == LEVELS ? overflow : bucket(level, currentTick));
+                }
+            }
+            expire(bucket(0, currentTick), expired);
+        }
+        expire(due, expired);
+        return expired;
+    }
+
+    /**
+     * @return the number of scheduled keys.
+     */
+    int size() {
+        return timers.size();
+    }
+
+    private void place(K key, Timer<K> timer) {
+        if (timer.tick <= currentTick) {
+            timer.bucket = due;
+        } else {
+            int level = 0;
+            while (level < LEVELS && (timer.tick >>> (SLOT_BITS * (level + 1))) != (currentTick >>> (SLOT_BITS * (level + 1)))) {
+                level++;
+            }
+            timer.bucket = level == LEVELS ? overflow : bucket(level, timer.tick);
+        }
+        timer.bucket.add(key);
+    }
+
+    private void cascade(Set<K> bucket) {
+        List<K> keys = new ArrayList<>(bucket);
+        bucket.clear();
+        for (K key : keys) {
+            place(key, timers.get(key));
+        }
+    }
+
+    private void expire(Set<K> bucket, List<K> expired) {
+        for (K key : bucket) {
+            timers.remove(key);
+            expired.add(key);
+        }
+        bucket.clear();
+    }
+
+    private Set<K> bucket(int level, long tick) {
+        return buckets.get(level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1)));
+    }
+
+    private static final class Timer<K> {
+
+        private final long tick;
+
+        private Set<K> bucket;
+
+        private Timer(long tick) {
+            this.tick = tick;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
@@ -7,20 +8,33 @@ import com.mycompany.myapp.repository.AuthorityRepository;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.security.jwt.TokenRevocationStore;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
 import com.mycompany.myapp.service.dto.UserDTO;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import com.mycompany.myapp.service.scheduling.SchedulerLock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -30,6 +44,10 @@ import tech.jhipster.security.RandomUtil;
 @Transactional
 public class UserService {
 
+    public static final String PURGED_METER_NAME = "users.purge.rows";
+    public static final String PURGE_CHUNK_METER_NAME = "users.purge.chunk";
+    public static final String PURGED_METER_TABLE_DIMENSION = "table";
+
     private final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
@@ -38,10 +56,43 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final TokenRevocationStore tokenRevocationStore;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transaction;
+
+    private final ApplicationProperties.UserPurge purgeProperties;
+
+    private final Counter purgedUsers;
+
+    private final Counter purgedAuthorities;
+
+    private final Timer purgeChunks;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        TokenRevocationStore tokenRevocationStore,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.purgeProperties = applicationProperties.getUserPurge();
+        this.purgedUsers = purgedRows(meterRegistry, "jhi_user");
+        this.purgedAuthorities = purgedRows(meterRegistry, "jhi_user_authority");
+        this.purgeChunks = Timer
+            .builder(PURGE_CHUNK_METER_NAME)
+            .description("Time spent purging a chunk of not activated users")
+            .register(meterRegistry);
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -53,7 +104,7 @@ public class UserService {
                 user.setActivated(true);
                 user.setActivationKey(null);
                 log.debug("Activated user: {}", user);
-                return user;
+                return published(user);
             });
     }
 
@@ -66,7 +117,8 @@ public class UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
-                return user;
+                tokenRevocationStore.revokeLogin(user.getLogin());
+                return published(user);
             });
     }
 
@@ -119,7 +171,7 @@ public class UserService {
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
         log.debug("Created Information for User: {}", newUser);
-        return newUser;
+        return published(newUser);
     }
 
     private boolean removeNonActivatedUser(User existingUser) {
@@ -128,6 +180,7 @@ public class UserService {
         }
         userRepository.delete(existingUser);
         userRepository.flush();
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(User.class, existingUser.getId()));
         return true;
     }
 
@@ -162,7 +215,7 @@ public class UserService {
         }
         userRepository.save(user);
         log.debug("Created Information for User: {}", user);
-        return user;
+        return published(user);
     }
 
     /**
@@ -177,6 +230,9 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                if ((user.isActivated() && !userDTO.isActivated()) || !user.getLogin().equals(userDTO.getLogin().toLowerCase())) {
+                    tokenRevocationStore.revokeLogin(user.getLogin());
+                }
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -196,7 +252,7 @@ public class UserService {
                     .map(Optional::get)
                     .forEach(managedAuthorities::add);
                 log.debug("Changed Information for User: {}", user);
-                return user;
+                return published(user);
             })
             .map(AdminUserDTO::new);
     }
@@ -206,6 +262,8 @@ public class UserService {
             .findOneByLogin(login)
             .ifPresent(user -> {
                 userRepository.delete(user);
+                tokenRevocationStore.revokeLogin(user.getLogin());
+                eventPublisher.publishEvent(EntityChangedEvent.deleted(User.class, user.getId()));
                 log.debug("Deleted User: {}", user);
             });
     }
@@ -231,6 +289,7 @@ public class UserService {
                 }
                 user.setLangKey(langKey);
                 user.setImageUrl(imageUrl);
+                published(user);
                 log.debug("Changed Information for User: {}", user);
             });
     }
@@ -247,6 +306,8 @@ public class UserService {
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
+                tokenRevocationStore.revokeLogin(user.getLogin());
+                published(user);
                 log.debug("Changed password for User: {}", user);
             });
     }
@@ -256,11 +317,21 @@ public class UserService {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<AdminUserDTO> getManagedUsersSlice(Pageable pageable) {
+        return userRepository.findSliceBy(pageable).map(AdminUserDTO::new);
+    }
+
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<UserDTO> getPublicUsersSlice(Pageable pageable) {
+        return userRepository.findSliceByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
+    }
+
     @Transactional(readOnly = true)
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
         return userRepository.findOneWithAuthoritiesByLogin(login);
@@ -274,16 +345,50 @@ public class UserService {
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
+     * They are deleted {@code application.user-purge.chunk-size} at a time, by id, each chunk in its own transaction:
+     * their authorities with one statement, then the users with another. It never joins the caller's transaction, so
+     * each chunk is committed on its own. Users locked by a concurrent purge are skipped, and users with a patron account
+     * are kept. The deleted rows are counted in the {@value #PURGED_METER_NAME} meter.
+     * <p>
+     * This is scheduled to get fired everyday, at 01:00 (am), on one instance at a time.
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @SchedulerLock
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                log.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
-            });
+        long start = System.nanoTime();
+        Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+        Long after = Long.MIN_VALUE;
+        int deleted = 0;
+        while (true) {
+            Long from = after;
+            List<Long> ids = purgeChunks.record(() -> transaction.execute(status -> removeNotActivatedUsers(from, createdBefore)));
+            if (ids.isEmpty()) {
+                break;
+            }
+            deleted += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+        if (deleted > 0) {
+            long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.info("Deleted {} not activated users in {} ms ({} users/s)", deleted, millis, deleted * 1000L / millis);
+        }
+    }
+
+    private List<Long> removeNotActivatedUsers(Long after, Instant createdBefore) {
+        List<Long> ids = userRepository.findNotActivatedIdsForUpdate(
+            after,
+            createdBefore,
+            PageRequest.of(0, purgeProperties.getChunkSize())
+        );
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        purgedAuthorities.increment(userRepository.deleteAuthoritiesByUserIdIn(ids));
+        purgedUsers.increment(userRepository.deleteByIdIn(ids));
+        log.debug("Deleted not activated users {} to {}", ids.get(0), ids.get(ids.size() - 1));
+        ids.forEach(id -> eventPublisher.publishEvent(EntityChangedEvent.deleted(User.class, id)));
+        return ids;
     }
 
     /**
@@ -294,4 +399,18 @@ public class UserService {
     public List<String> getAuthorities() {
         return authorityRepository.findAll().stream().map(Authority::getName).collect(Collectors.toList());
     }
+
+    private static Counter purgedRows(MeterRegistry meterRegistry, String table) {
+        return Counter
+            .builder(PURGED_METER_NAME)
+            .baseUnit("rows")
+            .description("Rows deleted by the purge of not activated users")
+            .tag(PURGED_METER_TABLE_DIMENSION, table)
+            .register(meterRegistry);
+    }
+
+    private User published(User user) {
+        eventPublisher.publishEvent(EntityChangedEvent.saved(User.class, user.getId()));
+        return user;
+    }
 }
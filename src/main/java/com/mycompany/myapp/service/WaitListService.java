@@ -1,12 +1,18 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.WaitList;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
 import com.mycompany.myapp.repository.WaitListRepository;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +27,18 @@ public class WaitListService {
 
     private final WaitListRepository waitListRepository;
 
-    public WaitListService(WaitListRepository waitListRepository) {
+    private final KeysetRepository keysetRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public WaitListService(
+        WaitListRepository waitListRepository,
+        KeysetRepository keysetRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.waitListRepository = waitListRepository;
+        this.keysetRepository = keysetRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -33,7 +49,7 @@ public class WaitListService {
      */
     public WaitList save(WaitList waitList) {
         log.debug("Request to save WaitList : {}", waitList);
-        return waitListRepository.save(waitList);
+        return published(waitListRepository.save(waitList));
     }
 
     /**
@@ -44,7 +60,7 @@ public class WaitListService {
      */
     public WaitList update(WaitList waitList) {
         log.debug("Request to update WaitList : {}", waitList);
-        return waitListRepository.save(waitList);
+        return published(waitListRepository.save(waitList));
     }
 
     /**
@@ -65,7 +81,8 @@ public class WaitListService {
 
                 return existingWaitList;
             })
-            .map(waitListRepository::save);
+            .map(waitListRepository::save)
+            .map(this::published);
     }
 
     /**
@@ -80,6 +97,31 @@ public class WaitListService {
         return waitListRepository.findAll(pageable);
     }
 
+    /**
+     * Get a page of the waitLists without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<WaitList> findSlice(Pageable pageable) {
+        log.debug("Request to get a slice of WaitLists");
+        return waitListRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Get a keyset page of the waitLists, without counting them.
+     *
+     * @param after the keyset of the last waitList of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<WaitList> findAll(Keyset after, Pageable pageable) {
+        log.debug("Request to get a keyset page of WaitLists");
+        return keysetRepository.findAll(WaitList.class, after, pageable);
+    }
+
     /**
      * Get all the waitLists with eager load of many-to-many relationships.
      *
@@ -89,6 +131,27 @@ public class WaitListService {
         return waitListRepository.findAllWithEagerRelationships(pageable);
     }
 
+    /**
+     * Get a page of the waitLists with eager load of relationships, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities, and whether there is a next page.
+     */
+    public Slice<WaitList> findSliceWithEagerRelationships(Pageable pageable) {
+        return waitListRepository.findSliceWithEagerRelationships(pageable);
+    }
+
+    /**
+     * Get a keyset page of the waitLists with eager load of relationships, without counting them.
+     *
+     * @param after the keyset of the last waitList of the previous page, or {@code null} for the first page.
+     * @param pageable the page size and the sort key.
+     * @return the list of entities.
+     */
+    public KeysetSlice<WaitList> findAllWithEagerRelationships(Keyset after, Pageable pageable) {
+        return keysetRepository.findAll(WaitList.class, after, pageable, "book");
+    }
+
     /**
      * Get one waitList by id.
      *
@@ -109,5 +172,11 @@ public class WaitListService {
     public void delete(Long id) {
         log.debug("Request to delete WaitList : {}", id);
         waitListRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(WaitList.class, id));
+    }
+
+    private WaitList published(WaitList waitList) {
+        eventPublisher.publishEvent(EntityChangedEvent.saved(WaitList.class, waitList.getId()));
+        return waitList;
     }
 }
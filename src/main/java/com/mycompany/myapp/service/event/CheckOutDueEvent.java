@@ -0,0 +1,41 @@
+package com.mycompany.myapp.service.event;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Published by {@link com.mycompany.myapp.service.DueDateScheduler} when check-outs become due soon or overdue.
+ */
+public final class CheckOutDueEvent {
+
+    public enum Type {
+        DUE_SOON,
+        OVERDUE,
+    }
+
+    private final Type type;
+
+    private final List<Long> checkOutIds;
+
+    public CheckOutDueEvent(Type type, List<Long> checkOutIds) {
+        this.type = Objects.requireNonNull(type);
+        this.checkOutIds = List.copyOf(checkOutIds);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<Long> getCheckOutIds() {
+        return checkOutIds;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CheckOutDueEvent{" +
+            "type=" + type +
+            ", checkOutIds=" + checkOutIds.size() +
+            "}";
+    }
+}
@@ -0,0 +1,67 @@
+package com.mycompany.myapp.service.event;
+
+import java.util.Objects;
+
+/**
+ * Published by the entity services when an entity is created, updated or deleted.
+ * <p>
+ * Listeners that maintain derived state (indexes, caches) should use
+ * {@link org.springframework.transaction.event.TransactionalEventListener} so they only see committed changes.
+ */
+public final class EntityChangedEvent {
+
+    public enum Type {
+        SAVED,
+        DELETED,
+    }
+
+    private final Class<?> entityType;
+
+    private final Object id;
+
+    private final Type type;
+
+    private EntityChangedEvent(Class<?> entityType, Object id, Type type) {
+        this.entityType = Objects.requireNonNull(entityType);
+        this.id = Objects.requireNonNull(id);
+        this.type = type;
+    }
+
+    public static EntityChangedEvent saved(Class<?> entityType, Object id) {
+        return new EntityChangedEvent(entityType, id, Type.SAVED);
+    }
+
+    public static EntityChangedEvent deleted(Class<?> entityType, Object id) {
+        return new EntityChangedEvent(entityType, id, Type.DELETED);
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isDeleted() {
+        return type == Type.DELETED;
+    }
+
+    public boolean concerns(Class<?> entityType) {
+        return this.entityType.equals(entityType);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityChangedEvent{" +
+            "entityType=" + entityType.getSimpleName() +
+            ", id=" + id +
+            ", type=" + type +
+            "}";
+    }
+}
@@ -0,0 +1,130 @@
+package com.mycompany.myapp.service.scheduling;
+
+import com.mycompany.myapp.domain.ScheduledLock;
+import com.mycompany.myapp.repository.ScheduledLockRepository;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service managing the {@link ScheduledLock} leases.
+ * <p>
+ * Each change is committed in its own transaction, so that the other instances see it at once. Leases are compared
+ * with the clock of each instance, which should be kept in sync.
+ */
+@Service
+public class ScheduledLockService {
+
+    private final Logger log = LoggerFactory.getLogger(ScheduledLockService.class);
+
+    // leaves room for the UUID in the 255 characters of locked_by
+    private static final int MAX_HOST_NAME_LENGTH = 200;
+
+    private final ScheduledLockRepository scheduledLockRepository;
+
+    private final TransactionTemplate transaction;
+
+    private final String instance;
+
+    public ScheduledLockService(ScheduledLockRepository scheduledLockRepository, PlatformTransactionManager transactionManager) {
+        this.scheduledLockRepository = scheduledLockRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.instance = hostName();
+    }
+
+    /**
+     * Take a lock, unless another instance holds it.
+     *
+     * @param name the name of the lock.
+     * @param until the end of the lease.
+     * @return the lease, or empty if the lock is held.
+     */
+    public Optional<Lease> tryLock(String name, Instant until) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Lease lease = new Lease(name, instance + "/" + UUID.randomUUID(), now);
+        Integer acquired = transaction.execute(status -> scheduledLockRepository.acquire(name, now, until, lease.owner));
+        if (acquired != null && acquired > 0) {
+            return Optional.of(lease);
+        }
+        try {
+            transaction.execute(status -> scheduledLockRepository.insert(name, now, until, lease.owner));
+            return Optional.of(lease);
+        } catch (DataIntegrityViolationException e) {
+            log.trace("Lock {} is held: {}", name, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Move the end of a lease.
+     *
+     * @param lease the lease.
+     * @param until the new end of the lease.
+     * @return whether the lock was still held, and not taken over by another instance after the lease expired.
+     */
+    public boolean extend(Lease lease, Instant until) {
+        Integer extended = transaction.execute(status -> scheduledLockRepository.extend(lease.name, lease.owner, until));
+        return extended != null && extended > 0;
+    }
+
+    /**
+     * Release a lock, unless it was taken over.
+     *
+     * @param lease the lease.
+     */
+    public void unlock(Lease lease) {
+        if (!extend(lease, Instant.now())) {
+            log.warn("Lock {} was taken over before it was released", lease.name);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            String hostName = InetAddress.getLocalHost().getHostName();
+            return hostName.length() > MAX_HOST_NAME_LENGTH ? hostName.substring(0, MAX_HOST_NAME_LENGTH) : hostName;
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * A held lock.
+     */
+    public static final class Lease {
+
+        private final String name;
+
+        private final String owner;
+
+        private final Instant acquiredAt;
+
+        Lease(String name, String owner, Instant acquiredAt) {
+            this.name = name;
+            this.owner = owner;
+            this.acquiredAt = acquiredAt;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public Instant getAcquiredAt() {
+            return acquiredAt;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.mycompany.myapp.service.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Run a {@code void} method, typically {@code @Scheduled}, on one instance at a time: an instance that cannot take the
+ * lock skips the run. See {@link SchedulerLockAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SchedulerLock {
+    /**
+     * The name of the lock, {@code SimpleClassName.methodName} by default.
+     */
+    String name() default "";
+
+    /**
+     * How long the lock may be held at most, as an ISO-8601 duration, {@code application.scheduled-lock.lock-at-most-for}
+     * by default. Past it, the lease is no longer renewed, so another instance may take over a run that hangs.
+     */
+    String lockAtMostFor() default "";
+}
@@ -0,0 +1,142 @@
+package com.mycompany.myapp.service.scheduling;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspect running the {@link SchedulerLock} methods only while holding their {@link ScheduledLockService} lock.
+ * <p>
+ * The lock is taken for {@code application.scheduled-lock.lease}, and the lease renewed every third of it while the
+ * method runs, so the lock of an instance that dies is released within a lease. The lease is never renewed past
+ * {@code lockAtMostFor} after the lock was taken. Each call is counted in the {@value #RUNS_METER_NAME} meter, as
+ * executed or skipped.
+ * <p>
+ * It runs outside the transactions of the method, so that the lock is committed before the method starts.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SchedulerLockAspect implements DisposableBean {
+
+    public static final String RUNS_METER_NAME = "scheduled.lock.runs";
+    public static final String RUNS_METER_NAME_DIMENSION = "name";
+    public static final String RUNS_METER_RESULT_DIMENSION = "result";
+    public static final String EXECUTED = "executed";
+    public static final String SKIPPED = "skipped";
+
+    private final Logger log = LoggerFactory.getLogger(SchedulerLockAspect.class);
+
+    private final ScheduledLockService scheduledLockService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationProperties.ScheduledLock properties;
+
+    private final ScheduledExecutorService renewals;
+
+    public SchedulerLockAspect(
+        ScheduledLockService scheduledLockService,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.scheduledLockService = scheduledLockService;
+        this.meterRegistry = meterRegistry;
+        this.properties = applicationProperties.getScheduledLock();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("scheduled-lock-");
+        threadFactory.setDaemon(true);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, threadFactory);
+        executor.setRemoveOnCancelPolicy(true);
+        this.renewals = executor;
+    }
+
+    @Around("@annotation(com.mycompany.myapp.service.scheduling.SchedulerLock)")
+    public Object runLocked(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        SchedulerLock schedulerLock = method.getAnnotation(SchedulerLock.class);
+        String name = name(method, schedulerLock);
+        Duration lease = properties.getLease();
+        Instant now = Instant.now();
+        Instant deadline = now.plus(
+            schedulerLock.lockAtMostFor().isEmpty() ? properties.getLockAtMostFor() : Duration.parse(schedulerLock.lockAtMostFor())
+        );
+        Optional<ScheduledLockService.Lease> held = scheduledLockService.tryLock(name, min(now.plus(lease), deadline));
+        if (held.isEmpty()) {
+            log.debug("Skipping {}, locked by another instance", name);
+            track(name, SKIPPED);
+            return null;
+        }
+        ScheduledLockService.Lease lock = held.get();
+        long period = Math.max(1, lease.toMillis() / 3);
+        ScheduledFuture<?> renewal = renewals.scheduleAtFixedRate(
+            () -> renew(lock, lease, deadline),
+            period,
+            period,
+            TimeUnit.MILLISECONDS
+        );
+        try {
+            track(name, EXECUTED);
+            return joinPoint.proceed();
+        } finally {
+            renewal.cancel(false);
+            scheduledLockService.unlock(lock);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        renewals.shutdownNow();
+    }
+
+    private void renew(ScheduledLockService.Lease lock, Duration lease, Instant deadline) {
+        Instant now = Instant.now();
+        if (!now.isBefore(deadline)) {
+            log.warn("Lock {} held since {} reached its lockAtMostFor, no longer renewed", lock.getName(), lock.getAcquiredAt());
+            return;
+        }
+        try {
+            if (!scheduledLockService.extend(lock, min(now.plus(lease), deadline))) {
+                log.warn("Lock {} was taken over by another instance while held", lock.getName());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not renew lock {}: {}", lock.getName(), e.getMessage());
+        }
+    }
+
+    private void track(String name, String result) {
+        Counter
+            .builder(RUNS_METER_NAME)
+            .description("Indicates the runs of the locked scheduled jobs executed or skipped because another instance held the lock.")
+            .tag(RUNS_METER_NAME_DIMENSION, name)
+            .tag(RUNS_METER_RESULT_DIMENSION, result)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private static String name(Method method, SchedulerLock schedulerLock) {
+        return schedulerLock.name().isEmpty() ? method.getDeclaringClass().getSimpleName() + "." + method.getName() : schedulerLock.name();
+    }
+
+    private static Instant min(Instant first, Instant second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
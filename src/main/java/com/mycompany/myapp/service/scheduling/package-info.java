@@ -0,0 +1,4 @@
+/**
+ * Locking of scheduled jobs across the instances of the application.
+ */
+package com.mycompany.myapp.service.scheduling;
@@ -0,0 +1,263 @@
+package com.mycompany.myapp.service.search;
+
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.EntityVersion;
+import com.mycompany.myapp.repository.BookRepository;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
+import com.mycompany.myapp.service.EntityVersionService;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Full-text index of the catalog: {@link Book} title and description, author names and category name.
+ * <p>
+ * The index is built from the database when the application is ready and kept current from the
+ * {@link EntityChangedEvent}s of committed {@link Book}, {@link Author} and {@link Category} writes, the latter two
+ * re-indexing the books of the changed author or category. The rebuilt index replaces the current one once complete,
+ * so searches are never served from a partial index. The changes made on other instances are read every
+ * {@code application.search.sync-interval} from the versions of the books, authors and categories changed since the
+ * previous sync, see {@link EntityVersionService}, and only the affected books are re-indexed. Title terms are indexed
+ * twice so that title matches rank above description matches.
+ */
+@Service
+public class BookSearchIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    private final BookRepository bookRepository;
+
+    private final KeysetRepository keysetRepository;
+
+    private final EntityVersionService entityVersionService;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TransactionTemplate readOnlyNewTransaction;
+
+    private InvertedIndex index = new InvertedIndex();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean rebuilding;
+
+    private volatile Instant syncedAt;
+
+    public BookSearchIndex(
+        BookRepository bookRepository,
+        KeysetRepository keysetRepository,
+        EntityVersionService entityVersionService,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.bookRepository = bookRepository;
+        this.keysetRepository = keysetRepository;
+        this.entityVersionService = entityVersionService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // changes are read after the writing transaction committed, while its resources are still bound
+        this.readOnlyNewTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyNewTransaction.setReadOnly(true);
+        this.readOnlyNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Rebuild the whole index from the database, in keyset-ordered batches, when the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        log.debug("Rebuilding the book search index");
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        Instant startedAt = Instant.now();
+        InvertedIndex rebuilt = new InvertedIndex();
+        Keyset after = null;
+        do {
+            Keyset current = after;
+            KeysetSlice<Map.Entry<Long, List<String>>> batch = readOnlyTransaction.execute(status ->
+                keysetRepository
+                    .findAll(Book.class, current, PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")), "category")
+                    .withContent(bookRepository::fetchBagRelationships)
+                    .map(book -> Map.entry(book.getId(), terms(book)))
+            );
+            batch.getContent().forEach(document -> rebuilt.put(document.getKey(), document.getValue()));
+            after = batch.getNextKeyset().orElse(null);
+        } while (after != null);
+        withWriteLock(() -> {
+            index = rebuilt;
+            rebuilding = false;
+        });
+        syncedAt = startedAt;
+        refreshAll(new ArrayList<>(changedDuringRebuild));
+        log.info("Book search index built with {} books and {} terms", rebuilt.size(), rebuilt.termCount());
+    }
+
+    /**
+     * Re-index the books affected by the changes since the previous sync, to pick up the changes made on other instances.
+     * <p>
+     * This is scheduled to run every {@code application.search.sync-interval}.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.search.sync-interval:PT1M}",
+        initialDelayString = "${application.search.sync-interval:PT1M}"
+    )
+    public void sync() {
+        Instant since = syncedAt;
+        if (since == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        Instant after = since.minus(EntityVersionService.SYNC_OVERLAP);
+        Map<Long, Boolean> changed = new LinkedHashMap<>();
+        for (EntityVersion entityVersion : entityVersionService.findChangedSince(Book.class, after)) {
+            changed.put(Long.valueOf(entityVersion.getEntityId()), entityVersion.getDeleted());
+        }
+        for (EntityVersion entityVersion : entityVersionService.findChangedSince(Author.class, after)) {
+            if (!entityVersion.getDeleted()) {
+                Long authorId = Long.valueOf(entityVersion.getEntityId());
+                List<Long> ids = readOnlyTransaction.execute(status -> bookRepository.findIdsByAuthorId(authorId));
+                ids.forEach(id -> changed.putIfAbsent(id, false));
+            }
+        }
+        for (EntityVersion entityVersion : entityVersionService.findChangedSince(Category.class, after)) {
+            if (!entityVersion.getDeleted()) {
+                Long categoryId = Long.valueOf(entityVersion.getEntityId());
+                List<Long> ids = readOnlyTransaction.execute(status -> bookRepository.findIdsByCategoryId(categoryId));
+                ids.forEach(id -> changed.putIfAbsent(id, false));
+            }
+        }
+        changed.forEach(this::refresh);
+        syncedAt = now;
+        log.debug("Book search index synced with {} changed books", changed.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.concerns(Book.class)) {
+            refresh((Long) event.getId(), event.isDeleted());
+        } else if (!event.isDeleted() && event.concerns(Author.class)) {
+            // an author or a category with books cannot be deleted, so only renames change the indexed terms
+            refreshAll(readOnlyNewTransaction.execute(status -> bookRepository.findIdsByAuthorId((Long) event.getId())));
+        } else if (!event.isDeleted() && event.concerns(Category.class)) {
+            refreshAll(readOnlyNewTransaction.execute(status -> bookRepository.findIdsByCategoryId((Long) event.getId())));
+        }
+    }
+
+    private void refreshAll(List<Long> ids) {
+        for (Long id : ids) {
+            refresh(id, false);
+        }
+    }
+
+    private void refresh(Long id, boolean deleted) {
+        if (rebuilding) {
+            changedDuringRebuild.add(id);
+        }
+        Optional<List<String>> terms = deleted
+            ? Optional.empty()
+            : readOnlyNewTransaction.execute(status -> bookRepository.findOneWithEagerRelationships(id).map(BookSearchIndex::terms));
+        withWriteLock(() -> {
+            if (terms.isPresent()) {
+                index.put(id, terms.get());
+            } else {
+                index.remove(id);
+            }
+        });
+    }
+
+    /**
+     * Search the catalog.
+     *
+     * @param query the user query, any of its terms may match.
+     * @param pageable the pagination information, sorting is ignored as results are ranked by relevance.
+     * @return the page of books, best matches first.
+     */
+    public Page<Book> search(String query, Pageable pageable) {
+        List<String> queryTerms = TextAnalyzer.tokenize(query);
+        InvertedIndex.SearchHits hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(queryTerms, (int) pageable.getOffset(), pageable.getPageSize());
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> ids = new ArrayList<>(hits.getKeys().length);
+        for (long key : hits.getKeys()) {
+            ids.add(key);
+        }
+        if (ids.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, hits.getTotalHits());
+        }
+        Map<Long, Book> books = readOnlyTransaction
+            .execute(status -> bookRepository.findAllById(ids))
+            .stream()
+            .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<Book> content = ids.stream().map(books::get).filter(book -> book != null).collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.getTotalHits());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> terms(Book book) {
+        List<String> terms = new ArrayList<>();
+        TextAnalyzer.tokenize(book.getTitle(), terms::add);
+        TextAnalyzer.tokenize(book.getTitle(), terms::add);
+        TextAnalyzer.tokenize(book.getDescription(), terms::add);
+        for (Author author : book.getAuthors()) {
+            TextAnalyzer.tokenize(author.getName(), terms::add);
+        }
+        if (book.getCategory() != null) {
+            TextAnalyzer.tokenize(book.getCategory().getName(), terms::add);
+        }
+        return terms;
+    }
+
+    private void withWriteLock(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
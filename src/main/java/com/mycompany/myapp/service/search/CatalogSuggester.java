@@ -0,0 +1,256 @@
+package com.mycompany.myapp.service.search;
+
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.repository.AuthorRepository;
+import com.mycompany.myapp.repository.BookRepository;
+import com.mycompany.myapp.repository.CheckOutCount;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
+import com.mycompany.myapp.repository.PublisherRepository;
+import com.mycompany.myapp.service.dto.SuggestionDTO;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Typeahead suggestions for book titles, author names and publisher names, most checked-out first.
+ * <p>
+ * One {@link SuggestionTree} per {@link SuggestionDTO.Type} is built from the database when the application is ready
+ * and kept current from the {@link EntityChangedEvent}s of committed writes, which also refresh the popularity of the
+ * saved entity.
+ */
+@Service
+public class CatalogSuggester {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(CatalogSuggester.class);
+
+    private final KeysetRepository keysetRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TransactionTemplate readOnlyNewTransaction;
+
+    private final Map<SuggestionDTO.Type, Source<?>> sources = new EnumMap<>(SuggestionDTO.Type.class);
+
+    private final Map<SuggestionDTO.Type, SuggestionTree> trees = new EnumMap<>(SuggestionDTO.Type.class);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Set<EntityChangedEvent> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean rebuilding;
+
+    public CatalogSuggester(
+        BookRepository bookRepository,
+        AuthorRepository authorRepository,
+        PublisherRepository publisherRepository,
+        KeysetRepository keysetRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.keysetRepository = keysetRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // changes are read after the writing transaction committed, while its resources are still bound
+        this.readOnlyNewTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyNewTransaction.setReadOnly(true);
+        this.readOnlyNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        sources.put(
+            SuggestionDTO.Type.BOOK,
+            new Source<>(
+                Book.class,
+                Book::getId,
+                Book::getTitle,
+                bookRepository::findById,
+                bookRepository::countCheckOuts,
+                bookRepository::countCheckOutsById
+            )
+        );
+        sources.put(
+            SuggestionDTO.Type.AUTHOR,
+            new Source<>(
+                Author.class,
+                Author::getId,
+                Author::getName,
+                authorRepository::findById,
+                authorRepository::countCheckOuts,
+                authorRepository::countCheckOutsById
+            )
+        );
+        sources.put(
+            SuggestionDTO.Type.PUBLISHER,
+            new Source<>(
+                Publisher.class,
+                Publisher::getId,
+                Publisher::getName,
+                publisherRepository::findById,
+                publisherRepository::countCheckOuts,
+                publisherRepository::countCheckOutsById
+            )
+        );
+        for (SuggestionDTO.Type type : SuggestionDTO.Type.values()) {
+            trees.put(type, new SuggestionTree(MAX_SUGGESTIONS));
+        }
+    }
+
+    /**
+     * Rebuild the suggestions from the database. Each tree is built aside and swapped in, so queries keep being
+     * answered meanwhile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.debug("Rebuilding the catalog suggestions");
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        for (SuggestionDTO.Type type : SuggestionDTO.Type.values()) {
+            SuggestionTree tree = load(sources.get(type));
+            withWriteLock(() -> trees.put(type, tree));
+            log.info("Catalog suggestions built with {} entries of type {}", tree.size(), type);
+        }
+        rebuilding = false;
+        for (EntityChangedEvent event : changedDuringRebuild) {
+            onEntityChanged(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        for (Map.Entry<SuggestionDTO.Type, Source<?>> source : sources.entrySet()) {
+            if (event.concerns(source.getValue().entityClass)) {
+                if (rebuilding) {
+                    changedDuringRebuild.add(event);
+                }
+                refresh(source.getKey(), source.getValue(), (Long) event.getId(), event.isDeleted());
+            }
+        }
+    }
+
+    /**
+     * Suggest entities having a word starting with the prefix.
+     *
+     * @param prefix the text typed so far.
+     * @param type the kind of entity to suggest.
+     * @param limit the maximum number of suggestions, at most {@link #MAX_SUGGESTIONS}.
+     * @return the suggestions, most checked-out first.
+     */
+    public List<SuggestionDTO> suggest(String prefix, SuggestionDTO.Type type, int limit) {
+        List<SuggestionTree.Suggestion> suggestions;
+        lock.readLock().lock();
+        try {
+            suggestions = trees.get(type).suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions
+            .stream()
+            .map(suggestion -> new SuggestionDTO(type, suggestion.getId(), suggestion.getText(), suggestion.getWeight()))
+            .collect(Collectors.toList());
+    }
+
+    private <T> SuggestionTree load(Source<T> source) {
+        SuggestionTree tree = new SuggestionTree(MAX_SUGGESTIONS);
+        Map<Long, Long> checkOuts = new HashMap<>();
+        readOnlyTransaction.executeWithoutResult(status ->
+            source.checkOutCounts.get().forEach(count -> checkOuts.put(count.getId(), count.getCheckOuts()))
+        );
+        Keyset after = null;
+        do {
+            Keyset current = after;
+            KeysetSlice<T> batch = readOnlyTransaction.execute(status ->
+                keysetRepository.findAll(source.entityClass, current, PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")))
+            );
+            for (T entity : batch) {
+                Long id = source.id.apply(entity);
+                tree.put(id, source.text.apply(entity), checkOuts.getOrDefault(id, 0L));
+            }
+            after = batch.getNextKeyset().orElse(null);
+        } while (after != null);
+        return tree;
+    }
+
+    private <T> void refresh(SuggestionDTO.Type type, Source<T> source, Long id, boolean deleted) {
+        Optional<Map.Entry<String, Long>> suggestion = deleted
+            ? Optional.empty()
+            : readOnlyNewTransaction.execute(status ->
+                source.finder.apply(id).map(entity -> Map.entry(source.text.apply(entity), source.checkOutCount.applyAsLong(id)))
+            );
+        withWriteLock(() -> {
+            if (suggestion.isPresent()) {
+                trees.get(type).put(id, suggestion.get().getKey(), suggestion.get().getValue());
+            } else {
+                trees.get(type).remove(id);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * How to read the suggestions of one entity.
+     */
+    private static final class Source<T> {
+
+        private final Class<T> entityClass;
+
+        private final Function<T, Long> id;
+
+        private final Function<T, String> text;
+
+        private final Function<Long, Optional<T>> finder;
+
+        private final Supplier<List<CheckOutCount>> checkOutCounts;
+
+        private final ToLongFunction<Long> checkOutCount;
+
+        Source(
+            Class<T> entityClass,
+            Function<T, Long> id,
+            Function<T, String> text,
+            Function<Long, Optional<T>> finder,
+            Supplier<List<CheckOutCount>> checkOutCounts,
+            ToLongFunction<Long> checkOutCount
+        ) {
+            this.entityClass = entityClass;
+            this.id = id;
+            this.text = text;
+            this.finder = finder;
+            this.checkOutCounts = checkOutCounts;
+            this.checkOutCount = checkOutCount;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.mycompany.myapp.service.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index ranking documents with Okapi BM25.
+ * <p>
+ * Documents are identified by a {@code long} key (the entity id) and numbered internally with dense {@code int} doc ids,
+ * which are stored in primitive posting lists together with the term frequencies. Updating a document appends a new
+ * doc id and marks the old one as deleted; deleted entries are skipped at query time and purged once they make up a
+ * quarter of the index. As in Lucene, document frequencies count deleted entries until they are purged.
+ * <p>
+ * This class is not thread-safe: readers and writers must be coordinated by the caller.
+ */
+public class InvertedIndex {
+
+    static final float K1 = 1.2f;
+
+    static final float B = 0.75f;
+
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    private final Map<Long, Integer> docByKey = new HashMap<>();
+
+    private final BitSet live = new BitSet();
+
+    private long[] keys = new long[64];
+
+    private int[] lengths = new int[64];
+
+    private int maxDoc;
+
+    private long liveLength;
+
+    /**
+     * Index a document, replacing the previous version with the same key.
+     *
+     * @param key the document key.
+     * @param terms the analyzed terms of the document, repeated as often as they occur.
+     */
+    public void put(long key, Collection<String> terms) {
+        remove(key);
+        if (terms.isEmpty()) {
+            return;
+        }
+        int doc = maxDoc++;
+        if (doc == keys.length) {
+            keys = Arrays.copyOf(keys, doc * 2);
+            lengths = Arrays.copyOf(lengths, doc * 2);
+        }
+        Map<String, int[]> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.computeIfAbsent(term, t -> new int[1])[0]++;
+        }
+        frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new PostingList()).add(doc, frequency[0]));
+        keys[doc] = key;
+        lengths[doc] = terms.size();
+        live.set(doc);
+        liveLength += terms.size();
+        docByKey.put(key, doc);
+    }
+
+    /**
+     * Remove a document.
+     *
+     * @param key the document key.
+     * @return {@code true} if the document was indexed.
+     */
+    public boolean remove(long key) {
+        Integer doc = docByKey.remove(key);
+        if (doc == null) {
+            return false;
+        }
+        live.clear(doc);
+        liveLength -= lengths[doc];
+        if (maxDoc >= MIN_COMPACTION_SIZE && maxDoc - docByKey.size() > maxDoc / 4) {
+            compact();
+        }
+        return true;
+    }
+
+    public void clear() {
+        postings.clear();
+        docByKey.clear();
+        live.clear();
+        keys = new long[64];
+        lengths = new int[64];
+        maxDoc = 0;
+        liveLength = 0;
+    }
+
+    public int size() {
+        return docByKey.size();
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    /**
+     * Rank the documents matching any of the query terms.
+     *
+     * @param queryTerms the analyzed query terms.
+     * @param offset the number of top hits to skip.
+     * @param limit the maximum number of hits to return.
+     * @return the hits, best first.
+     */
+    public SearchHits search(Collection<String> queryTerms, int offset, int limit) {
+        if (docByKey.isEmpty() || queryTerms.isEmpty() || limit <= 0) {
+            return new SearchHits(new long[0], new float[0], 0);
+        }
+        Scratch scratch = SCRATCH.get();
+        scratch.reset(maxDoc);
+        float averageLength = (float) liveLength / docByKey.size();
+        Set<String> uniqueTerms = new LinkedHashSet<>(queryTerms);
+        for (String term : uniqueTerms) {
+            PostingList postingList = postings.get(term);
+            if (postingList == null) {
+                continue;
+            }
+            float idf = (float) Math.log(1 + (maxDoc - postingList.size + 0.5) / (postingList.size + 0.5));
+            for (int i = 0; i < postingList.size; i++) {
+                int doc = postingList.docs[i];
+                if (!live.get(doc)) {
+                    continue;
+                }
+                int frequency = postingList.frequencies[i];
+                float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                scratch.add(doc, idf * frequency * (K1 + 1) / (frequency + norm));
+            }
+        }
+        return scratch.top(keys, offset, limit);
+    }
+
+    private void compact() {
+        int[] remap = new int[maxDoc];
+        int next = 0;
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            remap[doc] = next;
+            keys[next] = keys[doc];
+            lengths[next] = lengths[doc];
+            next++;
+        }
+        Iterator<PostingList> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            PostingList postingList = iterator.next();
+            postingList.retain(live, remap);
+            if (postingList.size == 0) {
+                iterator.remove();
+            }
+        }
+        docByKey.replaceAll((key, doc) -> remap[doc]);
+        live.clear();
+        live.set(0, next);
+        maxDoc = next;
+    }
+
+    /**
+     * Ranked keys of the documents matching a query.
+     */
+    public static final class SearchHits {
+
+        private final long[] keys;
+
+        private final float[] scores;
+
+        private final int totalHits;
+
+        SearchHits(long[] keys, float[] scores, int totalHits) {
+            this.keys = keys;
+            this.scores = scores;
+            this.totalHits = totalHits;
+        }
+
+        public long[] getKeys() {
+            return keys;
+        }
+
+        public float[] getScores() {
+            return scores;
+        }
+
+        /**
+         * @return the number of documents matching the query, including those outside of the requested window.
+         */
+        public int getTotalHits() {
+            return totalHits;
+        }
+    }
+
+    private static final class PostingList {
+
+        private int[] docs = new int[4];
+
+        private int[] frequencies = new int[4];
+
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void retain(BitSet live, int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.get(docs[i])) {
+                    docs[kept] = remap[docs[i]];
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, kept));
+                frequencies = Arrays.copyOf(frequencies, Math.max(4, kept));
+            }
+        }
+    }
+
+    /**
+     * Per-thread score accumulator, cleared in time proportional to the documents it touched.
+     */
+    private static final class Scratch {
+
+        private float[] scores = new float[0];
+
+        private int[] touched = new int[64];
+
+        private int touchedCount;
+
+        void reset(int maxDoc) {
+            for (int i = 0; i < touchedCount; i++) {
+                if (touched[i] < scores.length) {
+                    scores[touched[i]] = 0;
+                }
+            }
+            touchedCount = 0;
+            if (scores.length < maxDoc) {
+                scores = new float[Math.max(maxDoc, scores.length * 2)];
+            }
+        }
+
+        void add(int doc, float score) {
+            if (scores[doc] == 0) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = doc;
+            }
+            scores[doc] += score;
+        }
+
+        SearchHits top(long[] keys, int offset, int limit) {
+            int capacity = (int) Math.min((long) offset + limit, touchedCount);
+            int[] heap = new int[capacity];
+            int heapSize = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (heapSize < capacity) {
+                    heap[heapSize++] = doc;
+                    siftUp(heap, heapSize - 1);
+                } else if (capacity > 0 && better(doc, heap[0])) {
+                    heap[0] = doc;
+                    siftDown(heap, heapSize);
+                }
+            }
+            int resultSize = Math.max(0, heapSize - offset);
+            long[] resultKeys = new long[resultSize];
+            float[] resultScores = new float[resultSize];
+            while (heapSize > 0) {
+                int doc = heap[0];
+                int rank = --heapSize;
+                if (rank >= offset) {
+                    resultKeys[rank - offset] = keys[doc];
+                    resultScores[rank - offset] = scores[doc];
+                }
+                heap[0] = heap[heapSize];
+                siftDown(heap, heapSize);
+            }
+            return new SearchHits(resultKeys, resultScores, touchedCount);
+        }
+
+        private boolean better(int doc, int other) {
+            return scores[doc] > scores[other] || (scores[doc] == scores[other] && doc < other);
+        }
+
+        private void siftUp(int[] heap, int index) {
+            int doc = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(heap[parent], doc)) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = doc;
+        }
+
+        private void siftDown(int[] heap, int size) {
+            if (size == 0) {
+                return;
+            }
+            int index = 0;
+            int doc = heap[0];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && better(heap[child], heap[child + 1])) {
+                    child++;
+                }
+                if (!better(doc, heap[child])) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = doc;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.mycompany.myapp.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Radix tree answering prefix queries with the most popular matching entries.
+ * <p>
+ * Each entry is indexed under its normalized text and under the suffixes starting at its next few words, so "tolk"
+ * suggests "J. R. R. Tolkien". Edges are compressed into {@code char[]} labels and every node keeps the best
+ * {@code capacity} distinct entries of its subtree, ordered by weight, so a query only walks the prefix and copies that
+ * list. Inserting offers the new entry to the nodes on its path; removing recomputes the lists that contained it from
+ * the lists of their children.
+ * <p>
+ * This class is not thread-safe: readers and writers must be coordinated by the caller.
+ */
+public class SuggestionTree {
+
+    static final int MAX_KEYS_PER_ENTRY = 4;
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final int capacity;
+
+    private final Node root = new Node(new char[0]);
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    /**
+     * @param capacity the maximum number of suggestions a query can return.
+     */
+    public SuggestionTree(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Index an entry, replacing the previous version with the same id.
+     *
+     * @param id the entry id.
+     * @param text the text to suggest.
+     * @param weight the popularity of the entry, higher first.
+     */
+    public void put(long id, String text, long weight) {
+        remove(id);
+        List<String> keys = keys(text);
+        if (keys.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(id, text, weight, keys.toArray(new String[0]));
+        entries.put(id, entry);
+        for (String key : entry.keys) {
+            insert(key, entry);
+        }
+    }
+
+    /**
+     * Remove an entry.
+     *
+     * @param id the entry id.
+     * @return {@code true} if the entry was indexed.
+     */
+    public boolean remove(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        for (String key : entry.keys) {
+            delete(key, entry);
+        }
+        return true;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Find the most popular entries having a word starting with the prefix.
+     *
+     * @param prefix the text typed so far; a trailing separator requires the last word to be complete.
+     * @param limit the maximum number of suggestions, at most the capacity of the tree.
+     * @return the suggestions, most popular first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = queryKey(prefix);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                return Collections.emptyList();
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (i + common == key.length()) {
+                node = child;
+                break;
+            }
+            if (common < child.label.length) {
+                return Collections.emptyList();
+            }
+            node = child;
+            i += common;
+        }
+        int count = Math.min(Math.min(limit, capacity), node.top.length);
+        List<Suggestion> suggestions = new ArrayList<>(Math.max(count, 0));
+        for (int j = 0; j < count; j++) {
+            Entry entry = node.top[j];
+            suggestions.add(new Suggestion(entry.id, entry.text, entry.weight));
+        }
+        return suggestions;
+    }
+
+    static List<String> keys(String text) {
+        List<String> words = TextAnalyzer.tokenize(text);
+        List<String> keys = new ArrayList<>(Math.min(words.size(), MAX_KEYS_PER_ENTRY));
+        for (int start = 0; start < words.size() && start < MAX_KEYS_PER_ENTRY; start++) {
+            keys.add(String.join(" ", words.subList(start, words.size())));
+        }
+        return keys;
+    }
+
+    static String queryKey(String prefix) {
+        String key = String.join(" ", TextAnalyzer.tokenize(prefix));
+        if (!key.isEmpty() && !Character.isLetterOrDigit(prefix.charAt(prefix.length() - 1))) {
+            key += " ";
+        }
+        return key;
+    }
+
+    private void insert(String key, Entry entry) {
+        Node[] path = new Node[key.length() + 1];
+        int depth = 0;
+        Node node = root;
+        path[depth++] = node;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i).toCharArray());
+                node.insertChild(-index - 1, leaf);
+                node = leaf;
+                path[depth++] = node;
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length) {
+                child = node.splitChild(index, common);
+            }
+            node = child;
+            path[depth++] = node;
+            i += common;
+        }
+        node.terminals = append(node.terminals, entry);
+        for (int d = 0; d < depth; d++) {
+            path[d].offer(entry, capacity);
+        }
+    }
+
+    private void delete(String key, Entry entry) {
+        Node[] path = new Node[key.length() + 1];
+        int depth = 0;
+        Node node = root;
+        path[depth++] = node;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                return;
+            }
+            node = node.children[index];
+            if (commonPrefix(node.label, key, i) < node.label.length) {
+                return;
+            }
+            path[depth++] = node;
+            i += node.label.length;
+        }
+        node.terminals = without(node.terminals, entry);
+        for (int d = depth - 1; d > 0; d--) {
+            Node current = path[d];
+            Node parent = path[d - 1];
+            if (current.terminals.length == 0 && current.children.length == 0) {
+                parent.removeChild(current);
+            } else if (current.terminals.length == 0 && current.children.length == 1) {
+                parent.replaceChild(current, current.children[0].prefixed(current.label));
+            } else if (current.contains(entry)) {
+                current.recomputeTop(capacity);
+            }
+        }
+        if (root.contains(entry)) {
+            root.recomputeTop(capacity);
+        }
+    }
+
+    private static int commonPrefix(char[] label, String key, int offset) {
+        int max = Math.min(label.length, key.length() - offset);
+        int i = 0;
+        while (i < max && label[i] == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Entry[] append(Entry[] entries, Entry entry) {
+        Entry[] result = Arrays.copyOf(entries, entries.length + 1);
+        result[entries.length] = entry;
+        return result;
+    }
+
+    private static Entry[] without(Entry[] entries, Entry entry) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] == entry) {
+                Entry[] result = new Entry[entries.length - 1];
+                System.arraycopy(entries, 0, result, 0, i);
+                System.arraycopy(entries, i + 1, result, i, entries.length - i - 1);
+                return result;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * A suggested entry.
+     */
+    public static final class Suggestion {
+
+        private final long id;
+
+        private final String text;
+
+        private final long weight;
+
+        Suggestion(long id, String text, long weight) {
+            this.id = id;
+            this.text = text;
+            this.weight = weight;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        private final long id;
+
+        private final String text;
+
+        private final long weight;
+
+        private final String[] keys;
+
+        Entry(long id, String text, long weight, String[] keys) {
+            this.id = id;
+            this.text = text;
+            this.weight = weight;
+            this.keys = keys;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            if (weight != other.weight) {
+                return weight > other.weight ? -1 : 1;
+            }
+            int byText = keys[0].compareTo(other.keys[0]);
+            return byText != 0 ? byText : Long.compare(id, other.id);
+        }
+    }
+
+    private static final class Node {
+
+        private char[] label;
+
+        private Node[] children = NO_CHILDREN;
+
+        private Entry[] terminals = NO_ENTRIES;
+
+        private Entry[] top = NO_ENTRIES;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        int childIndex(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char first = children[middle].label[0];
+                if (first < c) {
+                    low = middle + 1;
+                } else if (first > c) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int index, Node child) {
+            Node[] result = new Node[children.length + 1];
+            System.arraycopy(children, 0, result, 0, index);
+            result[index] = child;
+            System.arraycopy(children, index, result, index + 1, children.length - index);
+            children = result;
+        }
+
+        void removeChild(Node child) {
+            int index = childIndex(child.label[0]);
+            Node[] result = new Node[children.length - 1];
+            System.arraycopy(children, 0, result, 0, index);
+            System.arraycopy(children, index + 1, result, index, children.length - index - 1);
+            children = result;
+        }
+
+        void replaceChild(Node child, Node replacement) {
+            children[childIndex(child.label[0])] = replacement;
+        }
+
+        /**
+         * Split the edge to a child, inserting a node for the first {@code length} characters of its label.
+         */
+        Node splitChild(int index, int length) {
+            Node child = children[index];
+            Node middle = new Node(Arrays.copyOf(child.label, length));
+            child.label = Arrays.copyOfRange(child.label, length, child.label.length);
+            middle.children = new Node[] { child };
+            middle.top = child.top;
+            children[index] = middle;
+            return middle;
+        }
+
+        Node prefixed(char[] prefix) {
+            char[] merged = Arrays.copyOf(prefix, prefix.length + label.length);
+            System.arraycopy(label, 0, merged, prefix.length, label.length);
+            label = merged;
+            return this;
+        }
+
+        boolean contains(Entry entry) {
+            for (Entry candidate : top) {
+                if (candidate == entry) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void offer(Entry entry, int capacity) {
+            if (contains(entry) || (top.length == capacity && entry.compareTo(top[capacity - 1]) > 0)) {
+                return;
+            }
+            int position = 0;
+            while (position < top.length && top[position].compareTo(entry) < 0) {
+                position++;
+            }
+            Entry[] result = new Entry[Math.min(capacity, top.length + 1)];
+            System.arraycopy(top, 0, result, 0, position);
+            result[position] = entry;
+            System.arraycopy(top, position, result, position + 1, result.length - position - 1);
+            top = result;
+        }
+
+        void recomputeTop(int capacity) {
+            int candidateCount = terminals.length;
+            for (Node child : children) {
+                candidateCount += child.top.length;
+            }
+            Entry[] candidates = Arrays.copyOf(terminals, candidateCount);
+            int next = terminals.length;
+            for (Node child : children) {
+                System.arraycopy(child.top, 0, candidates, next, child.top.length);
+                next += child.top.length;
+            }
+            Arrays.sort(candidates);
+            Entry[] result = new Entry[Math.min(capacity, candidateCount)];
+            int size = 0;
+            for (int i = 0; i < candidateCount && size < result.length; i++) {
+                if (i == 0 || candidates[i] != candidates[i - 1]) {
+                    result[size++] = candidates[i];
+                }
+            }
+            top = size == result.length ? result : Arrays.copyOf(result, size);
+        }
+    }
+}
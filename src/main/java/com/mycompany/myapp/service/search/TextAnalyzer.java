@@ -0,0 +1,67 @@
+package com.mycompany.myapp.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Splits catalog text into index terms.
+ * <p>
+ * Terms are runs of letters and digits, lower-cased and folded to ASCII where possible (so "Đắc Nhân Tâm" matches
+ * "dac nhan tam").
+ */
+public final class TextAnalyzer {
+
+    private TextAnalyzer() {}
+
+    /**
+     * Fold a text the same way indexed terms are folded, without splitting it.
+     *
+     * @param text the text to normalize.
+     * @return the normalized text, empty if {@code text} is {@code null}.
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (c == 'đ' || c == 'Đ') {
+                c = 'd';
+            }
+            folded.append(c);
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    public static void tokenize(String text, Consumer<String> sink) {
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                sink.accept(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            sink.accept(normalized.substring(start));
+        }
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        tokenize(text, terms::add);
+        return terms;
+    }
+}
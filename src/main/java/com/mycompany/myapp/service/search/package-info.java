@@ -0,0 +1,4 @@
+/**
+ * In-memory search structures over the catalog.
+ */
+package com.mycompany.myapp.service.search;
@@ -3,6 +3,7 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.AccountCache;
 import com.mycompany.myapp.service.MailService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
@@ -41,10 +42,13 @@ public class AccountResource {
 
     private final MailService mailService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    private final AccountCache accountCache;
+
+    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService, AccountCache accountCache) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.mailService = mailService;
+        this.accountCache = accountCache;
     }
 
     /**
@@ -99,10 +103,7 @@ public class AccountResource {
      */
     @GetMapping("/account")
     public AdminUserDTO getAccount() {
-        return userService
-            .getUserWithAuthorities()
-            .map(AdminUserDTO::new)
-            .orElseThrow(() -> new AccountResourceException("User could not be found"));
+        return accountCache.getCurrentAccount().orElseThrow(() -> new AccountResourceException("User could not be found"));
     }
 
     /**
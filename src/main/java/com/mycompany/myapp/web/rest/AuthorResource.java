@@ -1,9 +1,14 @@
 package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
 import com.mycompany.myapp.repository.AuthorRepository;
 import com.mycompany.myapp.service.AuthorService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.EntityTagger;
+import com.mycompany.myapp.web.rest.util.ListResponseUtil;
+import com.mycompany.myapp.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +19,11 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -36,6 +37,8 @@ public class AuthorResource {
 
     private static final String ENTITY_NAME = "author";
 
+    private static final Class<?>[] ASSOCIATED_TYPES = { Book.class };
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -43,9 +46,12 @@ public class AuthorResource {
 
     private final AuthorRepository authorRepository;
 
-    public AuthorResource(AuthorService authorService, AuthorRepository authorRepository) {
+    private final EntityTagger entityTagger;
+
+    public AuthorResource(AuthorService authorService, AuthorRepository authorRepository, EntityTagger entityTagger) {
         this.authorService = authorService;
         this.authorRepository = authorRepository;
+        this.entityTagger = entityTagger;
     }
 
     /**
@@ -73,15 +79,18 @@ public class AuthorResource {
      *
      * @param id the id of the author to save.
      * @param author the author to update.
+     * @param ifMatch the entity tag the update is conditional on, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated author,
      * or with status {@code 400 (Bad Request)} if the author is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the author changed since {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the author couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/authors/{id}")
     public ResponseEntity<Author> updateAuthor(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody Author author
+        @Valid @RequestBody Author author,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update Author : {}, {}", id, author);
         if (author.getId() == null) {
@@ -94,6 +103,7 @@ public class AuthorResource {
         if (!authorRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        checkIfMatch(id, ifMatch);
 
         Author result = authorService.update(author);
         return ResponseEntity
@@ -107,8 +117,10 @@ public class AuthorResource {
      *
      * @param id the id of the author to save.
      * @param author the author to update.
+     * @param ifMatch the entity tag the update is conditional on, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated author,
      * or with status {@code 400 (Bad Request)} if the author is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the author changed since {@code ifMatch},
      * or with status {@code 404 (Not Found)} if the author is not found,
      * or with status {@code 500 (Internal Server Error)} if the author couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -116,7 +128,8 @@ public class AuthorResource {
     @PatchMapping(value = "/authors/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Author> partialUpdateAuthor(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Author author
+        @NotNull @RequestBody Author author,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update Author partially : {}, {}", id, author);
         if (author.getId() == null) {
@@ -129,6 +142,7 @@ public class AuthorResource {
         if (!authorRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        checkIfMatch(id, ifMatch);
 
         Optional<Author> result = authorService.partialUpdate(author);
 
@@ -142,27 +156,55 @@ public class AuthorResource {
      * {@code GET  /authors} : get all the authors.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of authors in body.
+     * @param after the keyset cursor of the previous page, empty for the first one; switches to count-free keyset pagination.
+     * @param count {@code false} to skip the total count, sending only {@code next} and {@code prev} links.
+     * @param ifNoneMatch the entity tag of the client copy, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of authors in body,
+     * or with status {@code 304 (Not Modified)} if {@code ifNoneMatch} is current.
      */
     @GetMapping("/authors")
-    public ResponseEntity<List<Author>> getAllAuthors(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<Author>> getAllAuthors(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String after,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") boolean count,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get a page of Authors");
-        Page<Author> page = authorService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return entityTagger.conditionalGet(
+            entityTagger.eTagOfAll(Author.class, ASSOCIATED_TYPES),
+            ifNoneMatch,
+            () ->
+                ListResponseUtil.ok(
+                    after,
+                    count,
+                    ENTITY_NAME,
+                    keyset -> authorService.findAll(keyset, pageable),
+                    () -> authorService.findSlice(pageable),
+                    () -> authorService.findAll(pageable)
+                )
+        );
     }
 
     /**
      * {@code GET  /authors/:id} : get the "id" author.
      *
      * @param id the id of the author to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the author, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tag of the client copy, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the author,
+     * or with status {@code 304 (Not Modified)} if {@code ifNoneMatch} is current,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/authors/{id}")
-    public ResponseEntity<Author> getAuthor(@PathVariable Long id) {
+    public ResponseEntity<Author> getAuthor(
+        @PathVariable Long id,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get Author : {}", id);
-        Optional<Author> author = authorService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(author);
+        return entityTagger.conditionalGet(
+            entityTagger.eTag(Author.class, id, ASSOCIATED_TYPES),
+            ifNoneMatch,
+            () -> ResponseUtil.wrapOrNotFound(authorService.findOne(id))
+        );
     }
 
     /**
@@ -180,4 +222,16 @@ public class AuthorResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Check an {@code If-Match} header against the entity tag of the current author.
+     *
+     * @param id the id of the author.
+     * @param ifMatch the header value, {@code null} if absent.
+     */
+    private void checkIfMatch(Long id, String ifMatch) {
+        if (ifMatch != null) {
+            ETagUtil.checkIfMatch(ifMatch, entityTagger.eTag(Author.class, id, ASSOCIATED_TYPES), ENTITY_NAME);
+        }
+    }
 }
@@ -1,26 +1,31 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.domain.Book;
 import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.Publisher;
 import com.mycompany.myapp.repository.BookCopyRepository;
 import com.mycompany.myapp.service.BookCopyService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ExpandUtil;
+import com.mycompany.myapp.web.rest.util.JsonResponseCoalescer;
+import com.mycompany.myapp.web.rest.util.ListResponseUtil;
+import com.mycompany.myapp.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -34,6 +39,10 @@ public class BookCopyResource {
 
     private static final String ENTITY_NAME = "bookCopy";
 
+    private static final Set<String> EXPANDABLE = Set.of("book", "publisher", "checkOuts");
+
+    private static final Class<?>[] ASSOCIATED_TYPES = { Book.class, Publisher.class, CheckOut.class };
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -41,9 +50,16 @@ public class BookCopyResource {
 
     private final BookCopyRepository bookCopyRepository;
 
-    public BookCopyResource(BookCopyService bookCopyService, BookCopyRepository bookCopyRepository) {
+    private final JsonResponseCoalescer jsonResponseCoalescer;
+
+    public BookCopyResource(
+        BookCopyService bookCopyService,
+        BookCopyRepository bookCopyRepository,
+        JsonResponseCoalescer jsonResponseCoalescer
+    ) {
         this.bookCopyService = bookCopyService;
         this.bookCopyRepository = bookCopyRepository;
+        this.jsonResponseCoalescer = jsonResponseCoalescer;
     }
 
     /**
@@ -141,35 +157,79 @@ public class BookCopyResource {
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param after the keyset cursor of the previous page, empty for the first one; switches to count-free keyset pagination.
+     * @param count {@code false} to skip the total count, sending only {@code next} and {@code prev} links.
+     * @param expand the associations to load and serialize, see {@link ExpandUtil}; takes precedence over {@code eagerload}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bookCopies in body.
      */
     @GetMapping("/book-copies")
     public ResponseEntity<List<BookCopy>> getAllBookCopies(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
-        @RequestParam(required = false, defaultValue = "false") boolean eagerload
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        @RequestParam(required = false) String after,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") boolean count,
+        @RequestParam(name = ExpandUtil.EXPAND_PARAM, required = false) String expand
     ) {
         log.debug("REST request to get a page of BookCopies");
-        Page<BookCopy> page;
+        if (expand != null) {
+            Set<String> associations = ExpandUtil.parse(expand, EXPANDABLE, ENTITY_NAME);
+            return ListResponseUtil.ok(
+                after,
+                count,
+                ENTITY_NAME,
+                keyset -> bookCopyService.findAll(keyset, pageable, associations),
+                () -> bookCopyService.findSlice(pageable, associations),
+                () -> bookCopyService.findAll(pageable, associations)
+            );
+        }
         if (eagerload) {
-            page = bookCopyService.findAllWithEagerRelationships(pageable);
-        } else {
-            page = bookCopyService.findAll(pageable);
+            return ListResponseUtil.ok(
+                after,
+                count,
+                ENTITY_NAME,
+                keyset -> bookCopyService.findAllWithEagerRelationships(keyset, pageable),
+                () -> bookCopyService.findSliceWithEagerRelationships(pageable),
+                () -> bookCopyService.findAllWithEagerRelationships(pageable)
+            );
         }
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ListResponseUtil.ok(
+            after,
+            count,
+            ENTITY_NAME,
+            keyset -> bookCopyService.findAll(keyset, pageable),
+            () -> bookCopyService.findSlice(pageable),
+            () -> bookCopyService.findAll(pageable)
+        );
     }
 
     /**
      * {@code GET  /book-copies/:id} : get the "id" bookCopy.
+     * <p>
+     * Concurrent identical requests share one read, see {@link JsonResponseCoalescer}.
      *
      * @param id the id of the bookCopy to retrieve.
+     * @param expand the associations to load and serialize, see {@link ExpandUtil}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the bookCopy, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/book-copies/{id}")
-    public ResponseEntity<BookCopy> getBookCopy(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getBookCopy(
+        @PathVariable Long id,
+        @RequestParam(name = ExpandUtil.EXPAND_PARAM, required = false) String expand
+    ) {
         log.debug("REST request to get BookCopy : {}", id);
-        Optional<BookCopy> bookCopy = bookCopyService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(bookCopy);
+        Set<String> associations = expand != null ? ExpandUtil.parse(expand, EXPANDABLE, ENTITY_NAME) : null;
+        return jsonResponseCoalescer.readResponse(
+            "book-copies",
+            Arrays.asList(id, associations),
+            BookCopy.class,
+            id,
+            associations,
+            ASSOCIATED_TYPES,
+            () -> {
+                Optional<BookCopy> bookCopy = associations != null ? bookCopyService.findOne(id, associations) : bookCopyService.findOne(id);
+                return ResponseUtil.wrapOrNotFound(bookCopy);
+            }
+        );
     }
 
     /**
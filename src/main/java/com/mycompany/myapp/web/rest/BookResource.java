@@ -1,14 +1,27 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.domain.Author;
 import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.domain.WaitList;
 import com.mycompany.myapp.repository.BookRepository;
 import com.mycompany.myapp.service.BookService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.EntityTagger;
+import com.mycompany.myapp.web.rest.util.ExpandUtil;
+import com.mycompany.myapp.web.rest.util.JsonResponseCache;
+import com.mycompany.myapp.web.rest.util.ListResponseUtil;
+import com.mycompany.myapp.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -18,6 +31,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -36,6 +50,21 @@ public class BookResource {
 
     private static final String ENTITY_NAME = "book";
 
+    private static final Map<String, Class<?>> EXPANDABLE = Map.of(
+        "authors",
+        Author.class,
+        "category",
+        Category.class,
+        "bookCopies",
+        BookCopy.class,
+        "bookCopies.publisher",
+        Publisher.class,
+        "waitLists",
+        WaitList.class
+    );
+
+    private static final Set<String> DEFAULT_ASSOCIATIONS = Set.of("authors", "category");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -43,9 +72,20 @@ public class BookResource {
 
     private final BookRepository bookRepository;
 
-    public BookResource(BookService bookService, BookRepository bookRepository) {
+    private final EntityTagger entityTagger;
+
+    private final JsonResponseCache jsonResponseCache;
+
+    public BookResource(
+        BookService bookService,
+        BookRepository bookRepository,
+        EntityTagger entityTagger,
+        JsonResponseCache jsonResponseCache
+    ) {
         this.bookService = bookService;
         this.bookRepository = bookRepository;
+        this.entityTagger = entityTagger;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
     /**
@@ -73,14 +113,19 @@ public class BookResource {
      *
      * @param id the id of the book to save.
      * @param book the book to update.
+     * @param ifMatch the entity tag of the default representation the update is conditional on, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated book,
      * or with status {@code 400 (Bad Request)} if the book is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the book changed since {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the book couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/books/{id}")
-    public ResponseEntity<Book> updateBook(@PathVariable(value = "id", required = false) final Long id, @Valid @RequestBody Book book)
-        throws URISyntaxException {
+    public ResponseEntity<Book> updateBook(
+        @PathVariable(value = "id", required = false) final Long id,
+        @Valid @RequestBody Book book,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) throws URISyntaxException {
         log.debug("REST request to update Book : {}, {}", id, book);
         if (book.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -92,6 +137,7 @@ public class BookResource {
         if (!bookRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        checkIfMatch(id, ifMatch);
 
         Book result = bookService.update(book);
         return ResponseEntity
@@ -105,8 +151,10 @@ public class BookResource {
      *
      * @param id the id of the book to save.
      * @param book the book to update.
+     * @param ifMatch the entity tag of the default representation the update is conditional on, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated book,
      * or with status {@code 400 (Bad Request)} if the book is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the book changed since {@code ifMatch},
      * or with status {@code 404 (Not Found)} if the book is not found,
      * or with status {@code 500 (Internal Server Error)} if the book couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -114,7 +162,8 @@ public class BookResource {
     @PatchMapping(value = "/books/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Book> partialUpdateBook(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Book book
+        @NotNull @RequestBody Book book,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update Book partially : {}, {}", id, book);
         if (book.getId() == null) {
@@ -127,6 +176,7 @@ public class BookResource {
         if (!bookRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        checkIfMatch(id, ifMatch);
 
         Optional<Book> result = bookService.partialUpdate(book);
 
@@ -141,35 +191,110 @@ public class BookResource {
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param after the keyset cursor of the previous page, empty for the first one; switches to count-free keyset pagination.
+     * @param count {@code false} to skip the total count, sending only {@code next} and {@code prev} links.
+     * @param expand the associations to load and serialize, see {@link ExpandUtil}; takes precedence over {@code eagerload}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of books in body.
      */
     @GetMapping("/books")
     public ResponseEntity<List<Book>> getAllBooks(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
-        @RequestParam(required = false, defaultValue = "false") boolean eagerload
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        @RequestParam(required = false) String after,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") boolean count,
+        @RequestParam(name = ExpandUtil.EXPAND_PARAM, required = false) String expand
     ) {
         log.debug("REST request to get a page of Books");
-        Page<Book> page;
+        if (expand != null) {
+            Set<String> associations = ExpandUtil.parse(expand, EXPANDABLE.keySet(), ENTITY_NAME);
+            return ListResponseUtil.ok(
+                after,
+                count,
+                ENTITY_NAME,
+                keyset -> bookService.findAll(keyset, pageable, associations),
+                () -> bookService.findSlice(pageable, associations),
+                () -> bookService.findAll(pageable, associations)
+            );
+        }
         if (eagerload) {
-            page = bookService.findAllWithEagerRelationships(pageable);
-        } else {
-            page = bookService.findAll(pageable);
+            return ListResponseUtil.ok(
+                after,
+                count,
+                ENTITY_NAME,
+                keyset -> bookService.findAllWithEagerRelationships(keyset, pageable),
+                () -> bookService.findSliceWithEagerRelationships(pageable),
+                () -> bookService.findAllWithEagerRelationships(pageable)
+            );
         }
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ListResponseUtil.ok(
+            after,
+            count,
+            ENTITY_NAME,
+            keyset -> bookService.findAll(keyset, pageable),
+            () -> bookService.findSlice(pageable),
+            () -> bookService.findAll(pageable)
+        );
     }
 
     /**
      * {@code GET  /books/:id} : get the "id" book.
+     * <p>
+     * The entity tag is read before the book, see {@link EntityTagger}, and the serialized body is served from the
+     * {@link JsonResponseCache}.
      *
      * @param id the id of the book to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the book, or with status {@code 404 (Not Found)}.
+     * @param expand the associations to load and serialize, see {@link ExpandUtil}.
+     * @param ifNoneMatch the entity tag of the client copy, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the book,
+     * or with status {@code 304 (Not Modified)} if {@code ifNoneMatch} is current,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/books/{id}")
-    public ResponseEntity<Book> getBook(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getBook(
+        @PathVariable Long id,
+        @RequestParam(name = ExpandUtil.EXPAND_PARAM, required = false) String expand,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get Book : {}", id);
-        Optional<Book> book = bookService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(book);
+        Set<String> associations = expand != null ? ExpandUtil.parse(expand, EXPANDABLE.keySet(), ENTITY_NAME) : null;
+        Class<?>[] dependencies = associatedTypes(associations);
+        String eTag = entityTagger.eTag(Book.class, id, dependencies);
+        if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        Optional<byte[]> body = jsonResponseCache.get(
+            "books",
+            Book.class,
+            id,
+            associations,
+            dependencies,
+            eTag,
+            () -> associations != null ? bookService.findOne(id, associations) : bookService.findOne(id)
+        );
+        if (body.isEmpty()) {
+            return ResponseUtil.wrapOrNotFound(body);
+        }
+        HttpHeaders headers = ETagUtil.createETagHeaders(eTag);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return ResponseEntity.ok().headers(headers).body(body.get());
+    }
+
+    /**
+     * {@code SEARCH  /_search/books?q=:query} : search for the books corresponding to the query.
+     *
+     * @param query the query of the book search.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the books in body, best matches first.
+     */
+    @GetMapping("/_search/books")
+    public ResponseEntity<List<Book>> searchBooks(
+        @RequestParam("q") String query,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to search for a page of Books for query {}", query);
+        Page<Book> page = bookService.search(query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
@@ -187,4 +312,20 @@ public class BookResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Check an {@code If-Match} header against the entity tag of the default representation of the current book.
+     *
+     * @param id the id of the book.
+     * @param ifMatch the header value, {@code null} if absent.
+     */
+    private void checkIfMatch(Long id, String ifMatch) {
+        if (ifMatch != null) {
+            ETagUtil.checkIfMatch(ifMatch, entityTagger.eTag(Book.class, id, associatedTypes(null)), ENTITY_NAME);
+        }
+    }
+
+    private Class<?>[] associatedTypes(Set<String> expand) {
+        return (expand != null ? expand : DEFAULT_ASSOCIATIONS).stream().map(EXPANDABLE::get).toArray(Class<?>[]::new);
+    }
 }
@@ -1,9 +1,14 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.domain.Book;
 import com.mycompany.myapp.domain.Category;
 import com.mycompany.myapp.repository.CategoryRepository;
 import com.mycompany.myapp.service.CategoryService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.EntityTagger;
+import com.mycompany.myapp.web.rest.util.ListResponseUtil;
+import com.mycompany.myapp.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +19,11 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -36,6 +37,8 @@ public class CategoryResource {
 
     private static final String ENTITY_NAME = "category";
 
+    private static final Class<?>[] ASSOCIATED_TYPES = { Book.class };
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -43,9 +46,12 @@ public class CategoryResource {
 
     private final CategoryRepository categoryRepository;
 
-    public CategoryResource(CategoryService categoryService, CategoryRepository categoryRepository) {
+    private final EntityTagger entityTagger;
+
+    public CategoryResource(CategoryService categoryService, CategoryRepository categoryRepository, EntityTagger entityTagger) {
         this.categoryService = categoryService;
         this.categoryRepository = categoryRepository;
+        this.entityTagger = entityTagger;
     }
 
     /**
@@ -73,15 +79,18 @@ public class CategoryResource {
      *
      * @param id the id of the category to save.
      * @param category the category to update.
+     * @param ifMatch the entity tag the update is conditional on, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated category,
      * or with status {@code 400 (Bad Request)} if the category is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the category changed since {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the category couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/categories/{id}")
     public ResponseEntity<Category> updateCategory(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody Category category
+        @Valid @RequestBody Category category,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update Category : {}, {}", id, category);
         if (category.getId() == null) {
@@ -94,6 +103,7 @@ public class CategoryResource {
         if (!categoryRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        checkIfMatch(id, ifMatch);
 
         Category result = categoryService.update(category);
         return ResponseEntity
@@ -107,8 +117,10 @@ public class CategoryResource {
      *
      * @param id the id of the category to save.
      * @param category the category to update.
+     * @param ifMatch the entity tag the update is conditional on, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated category,
      * or with status {@code 400 (Bad Request)} if the category is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the category changed since {@code ifMatch},
      * or with status {@code 404 (Not Found)} if the category is not found,
      * or with status {@code 500 (Internal Server Error)} if the category couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -116,7 +128,8 @@ public class CategoryResource {
     @PatchMapping(value = "/categories/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Category> partialUpdateCategory(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Category category
+        @NotNull @RequestBody Category category,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update Category partially : {}, {}", id, category);
         if (category.getId() == null) {
@@ -129,6 +142,7 @@ public class CategoryResource {
         if (!categoryRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        checkIfMatch(id, ifMatch);
 
         Optional<Category> result = categoryService.partialUpdate(category);
 
@@ -142,27 +156,55 @@ public class CategoryResource {
      * {@code GET  /categories} : get all the categories.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of categories in body.
+     * @param after the keyset cursor of the previous page, empty for the first one; switches to count-free keyset pagination.
+     * @param count {@code false} to skip the total count, sending only {@code next} and {@code prev} links.
+     * @param ifNoneMatch the entity tag of the client copy, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of categories in body,
+     * or with status {@code 304 (Not Modified)} if {@code ifNoneMatch} is current.
      */
     @GetMapping("/categories")
-    public ResponseEntity<List<Category>> getAllCategories(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<Category>> getAllCategories(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String after,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") boolean count,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get a page of Categories");
-        Page<Category> page = categoryService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return entityTagger.conditionalGet(
+            entityTagger.eTagOfAll(Category.class, ASSOCIATED_TYPES),
+            ifNoneMatch,
+            () ->
+                ListResponseUtil.ok(
+                    after,
+                    count,
+                    ENTITY_NAME,
+                    keyset -> categoryService.findAll(keyset, pageable),
+                    () -> categoryService.findSlice(pageable),
+                    () -> categoryService.findAll(pageable)
+                )
+        );
     }
 
     /**
      * {@code GET  /categories/:id} : get the "id" category.
      *
      * @param id the id of the category to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the category, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tag of the client copy, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the category,
+     * or with status {@code 304 (Not Modified)} if {@code ifNoneMatch} is current,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/categories/{id}")
-    public ResponseEntity<Category> getCategory(@PathVariable Long id) {
+    public ResponseEntity<Category> getCategory(
+        @PathVariable Long id,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get Category : {}", id);
-        Optional<Category> category = categoryService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(category);
+        return entityTagger.conditionalGet(
+            entityTagger.eTag(Category.class, id, ASSOCIATED_TYPES),
+            ifNoneMatch,
+            () -> ResponseUtil.wrapOrNotFound(categoryService.findOne(id))
+        );
     }
 
     /**
@@ -180,4 +222,16 @@ public class CategoryResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Check an {@code If-Match} header against the entity tag of the current category.
+     *
+     * @param id the id of the category.
+     * @param ifMatch the header value, {@code null} if absent.
+     */
+    private void checkIfMatch(Long id, String ifMatch) {
+        if (ifMatch != null) {
+            ETagUtil.checkIfMatch(ifMatch, entityTagger.eTag(Category.class, id, ASSOCIATED_TYPES), ENTITY_NAME);
+        }
+    }
 }
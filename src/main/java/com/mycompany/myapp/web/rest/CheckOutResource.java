@@ -4,23 +4,23 @@ import com.mycompany.myapp.domain.CheckOut;
 import com.mycompany.myapp.repository.CheckOutRepository;
 import com.mycompany.myapp.service.CheckOutService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ExpandUtil;
+import com.mycompany.myapp.web.rest.util.ListResponseUtil;
+import com.mycompany.myapp.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -34,6 +34,8 @@ public class CheckOutResource {
 
     private static final String ENTITY_NAME = "checkOut";
 
+    private static final Set<String> EXPANDABLE = Set.of("bookCopy", "patronAccount");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -140,26 +142,56 @@ public class CheckOutResource {
      * {@code GET  /check-outs} : get all the checkOuts.
      *
      * @param pageable the pagination information.
+     * @param after the keyset cursor of the previous page, empty for the first one; switches to count-free keyset pagination.
+     * @param count {@code false} to skip the total count, sending only {@code next} and {@code prev} links.
+     * @param expand the associations to load and serialize, see {@link ExpandUtil}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of checkOuts in body.
      */
     @GetMapping("/check-outs")
-    public ResponseEntity<List<CheckOut>> getAllCheckOuts(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<CheckOut>> getAllCheckOuts(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String after,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") boolean count,
+        @RequestParam(name = ExpandUtil.EXPAND_PARAM, required = false) String expand
+    ) {
         log.debug("REST request to get a page of CheckOuts");
-        Page<CheckOut> page = checkOutService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        if (expand != null) {
+            Set<String> associations = ExpandUtil.parse(expand, EXPANDABLE, ENTITY_NAME);
+            return ListResponseUtil.ok(
+                after,
+                count,
+                ENTITY_NAME,
+                keyset -> checkOutService.findAll(keyset, pageable, associations),
+                () -> checkOutService.findSlice(pageable, associations),
+                () -> checkOutService.findAll(pageable, associations)
+            );
+        }
+        return ListResponseUtil.ok(
+            after,
+            count,
+            ENTITY_NAME,
+            keyset -> checkOutService.findAll(keyset, pageable),
+            () -> checkOutService.findSlice(pageable),
+            () -> checkOutService.findAll(pageable)
+        );
     }
 
     /**
      * {@code GET  /check-outs/:id} : get the "id" checkOut.
      *
      * @param id the id of the checkOut to retrieve.
+     * @param expand the associations to load and serialize, see {@link ExpandUtil}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the checkOut, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/check-outs/{id}")
-    public ResponseEntity<CheckOut> getCheckOut(@PathVariable Long id) {
+    public ResponseEntity<CheckOut> getCheckOut(
+        @PathVariable Long id,
+        @RequestParam(name = ExpandUtil.EXPAND_PARAM, required = false) String expand
+    ) {
         log.debug("REST request to get CheckOut : {}", id);
-        Optional<CheckOut> checkOut = checkOutService.findOne(id);
+        Optional<CheckOut> checkOut = expand != null
+            ? checkOutService.findOne(id, ExpandUtil.parse(expand, EXPANDABLE, ENTITY_NAME))
+            : checkOutService.findOne(id);
         return ResponseUtil.wrapOrNotFound(checkOut);
     }
 
@@ -4,25 +4,25 @@ import com.mycompany.myapp.domain.PatronAccount;
 import com.mycompany.myapp.repository.PatronAccountRepository;
 import com.mycompany.myapp.service.PatronAccountService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ExpandUtil;
+import com.mycompany.myapp.web.rest.util.ListResponseUtil;
+import com.mycompany.myapp.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -36,6 +36,8 @@ public class PatronAccountResource {
 
     private static final String ENTITY_NAME = "patronAccount";
 
+    private static final Set<String> EXPANDABLE = Set.of("user", "notifications", "waitLists", "checkOuts");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -143,34 +145,67 @@ public class PatronAccountResource {
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param after the keyset cursor of the previous page, empty for the first one; switches to count-free keyset pagination.
+     * @param count {@code false} to skip the total count, sending only {@code next} and {@code prev} links.
+     * @param expand the associations to load and serialize, see {@link ExpandUtil}; takes precedence over {@code eagerload}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of patronAccounts in body.
      */
     @GetMapping("/patron-accounts")
     public ResponseEntity<List<PatronAccount>> getAllPatronAccounts(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
-        @RequestParam(required = false, defaultValue = "false") boolean eagerload
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        @RequestParam(required = false) String after,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") boolean count,
+        @RequestParam(name = ExpandUtil.EXPAND_PARAM, required = false) String expand
     ) {
         log.debug("REST request to get a page of PatronAccounts");
-        Page<PatronAccount> page;
+        if (expand != null) {
+            Set<String> associations = ExpandUtil.parse(expand, EXPANDABLE, ENTITY_NAME);
+            return ListResponseUtil.ok(
+                after,
+                count,
+                ENTITY_NAME,
+                keyset -> patronAccountService.findAll(keyset, pageable, associations),
+                () -> patronAccountService.findSlice(pageable, associations),
+                () -> patronAccountService.findAll(pageable, associations)
+            );
+        }
         if (eagerload) {
-            page = patronAccountService.findAllWithEagerRelationships(pageable);
-        } else {
-            page = patronAccountService.findAll(pageable);
+            return ListResponseUtil.ok(
+                after,
+                count,
+                ENTITY_NAME,
+                keyset -> patronAccountService.findAllWithEagerRelationships(keyset, pageable),
+                () -> patronAccountService.findSliceWithEagerRelationships(pageable),
+                () -> patronAccountService.findAllWithEagerRelationships(pageable)
+            );
         }
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ListResponseUtil.ok(
+            after,
+            count,
+            ENTITY_NAME,
+            keyset -> patronAccountService.findAll(keyset, pageable),
+            () -> patronAccountService.findSlice(pageable),
+            () -> patronAccountService.findAll(pageable)
+        );
     }
 
     /**
      * {@code GET  /patron-accounts/:id} : get the "id" patronAccount.
      *
      * @param id the id of the patronAccount to retrieve.
+     * @param expand the associations to load and serialize, see {@link ExpandUtil}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the patronAccount, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/patron-accounts/{id}")
-    public ResponseEntity<PatronAccount> getPatronAccount(@PathVariable String id) {
+    public ResponseEntity<PatronAccount> getPatronAccount(
+        @PathVariable String id,
+        @RequestParam(name = ExpandUtil.EXPAND_PARAM, required = false) String expand
+    ) {
         log.debug("REST request to get PatronAccount : {}", id);
-        Optional<PatronAccount> patronAccount = patronAccountService.findOne(id);
+        Optional<PatronAccount> patronAccount = expand != null
+            ? patronAccountService.findOne(id, ExpandUtil.parse(expand, EXPANDABLE, ENTITY_NAME))
+            : patronAccountService.findOne(id);
         return ResponseUtil.wrapOrNotFound(patronAccount);
     }
 
@@ -1,9 +1,14 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.domain.BookCopy;
 import com.mycompany.myapp.domain.Publisher;
 import com.mycompany.myapp.repository.PublisherRepository;
 import com.mycompany.myapp.service.PublisherService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.EntityTagger;
+import com.mycompany.myapp.web.rest.util.ListResponseUtil;
+import com.mycompany.myapp.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +19,11 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -36,6 +37,8 @@ public class PublisherResource {
 
     private static final String ENTITY_NAME = "publisher";
 
+    private static final Class<?>[] ASSOCIATED_TYPES = { BookCopy.class };
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -43,9 +46,12 @@ public class PublisherResource {
 
     private final PublisherRepository publisherRepository;
 
-    public PublisherResource(PublisherService publisherService, PublisherRepository publisherRepository) {
+    private final EntityTagger entityTagger;
+
+    public PublisherResource(PublisherService publisherService, PublisherRepository publisherRepository, EntityTagger entityTagger) {
         this.publisherService = publisherService;
         this.publisherRepository = publisherRepository;
+        this.entityTagger = entityTagger;
     }
 
     /**
@@ -73,15 +79,18 @@ public class PublisherResource {
      *
      * @param id the id of the publisher to save.
      * @param publisher the publisher to update.
+     * @param ifMatch the entity tag the update is conditional on, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated publisher,
      * or with status {@code 400 (Bad Request)} if the publisher is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the publisher changed since {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the publisher couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/publishers/{id}")
     public ResponseEntity<Publisher> updatePublisher(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody Publisher publisher
+        @Valid @RequestBody Publisher publisher,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update Publisher : {}, {}", id, publisher);
         if (publisher.getId() == null) {
@@ -94,6 +103,7 @@ public class PublisherResource {
         if (!publisherRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        checkIfMatch(id, ifMatch);
 
         Publisher result = publisherService.update(publisher);
         return ResponseEntity
@@ -107,8 +117,10 @@ public class PublisherResource {
      *
      * @param id the id of the publisher to save.
      * @param publisher the publisher to update.
+     * @param ifMatch the entity tag the update is conditional on, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated publisher,
      * or with status {@code 400 (Bad Request)} if the publisher is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the publisher changed since {@code ifMatch},
      * or with status {@code 404 (Not Found)} if the publisher is not found,
      * or with status {@code 500 (Internal Server Error)} if the publisher couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -116,7 +128,8 @@ public class PublisherResource {
     @PatchMapping(value = "/publishers/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Publisher> partialUpdatePublisher(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Publisher publisher
+        @NotNull @RequestBody Publisher publisher,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update Publisher partially : {}, {}", id, publisher);
         if (publisher.getId() == null) {
@@ -129,6 +142,7 @@ public class PublisherResource {
         if (!publisherRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        checkIfMatch(id, ifMatch);
 
         Optional<Publisher> result = publisherService.partialUpdate(publisher);
 
@@ -142,27 +156,55 @@ public class PublisherResource {
      * {@code GET  /publishers} : get all the publishers.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of publishers in body.
+     * @param after the keyset cursor of the previous page, empty for the first one; switches to count-free keyset pagination.
+     * @param count {@code false} to skip the total count, sending only {@code next} and {@code prev} links.
+     * @param ifNoneMatch the entity tag of the client copy, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of publishers in body,
+     * or with status {@code 304 (Not Modified)} if {@code ifNoneMatch} is current.
      */
     @GetMapping("/publishers")
-    public ResponseEntity<List<Publisher>> getAllPublishers(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<Publisher>> getAllPublishers(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String after,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") boolean count,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get a page of Publishers");
-        Page<Publisher> page = publisherService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return entityTagger.conditionalGet(
+            entityTagger.eTagOfAll(Publisher.class, ASSOCIATED_TYPES),
+            ifNoneMatch,
+            () ->
+                ListResponseUtil.ok(
+                    after,
+                    count,
+                    ENTITY_NAME,
+                    keyset -> publisherService.findAll(keyset, pageable),
+                    () -> publisherService.findSlice(pageable),
+                    () -> publisherService.findAll(pageable)
+                )
+        );
     }
 
     /**
      * {@code GET  /publishers/:id} : get the "id" publisher.
      *
      * @param id the id of the publisher to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the publisher, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tag of the client copy, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the publisher,
+     * or with status {@code 304 (Not Modified)} if {@code ifNoneMatch} is current,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/publishers/{id}")
-    public ResponseEntity<Publisher> getPublisher(@PathVariable Long id) {
+    public ResponseEntity<Publisher> getPublisher(
+        @PathVariable Long id,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get Publisher : {}", id);
-        Optional<Publisher> publisher = publisherService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(publisher);
+        return entityTagger.conditionalGet(
+            entityTagger.eTag(Publisher.class, id, ASSOCIATED_TYPES),
+            ifNoneMatch,
+            () -> ResponseUtil.wrapOrNotFound(publisherService.findOne(id))
+        );
     }
 
     /**
@@ -180,4 +222,16 @@ public class PublisherResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Check an {@code If-Match} header against the entity tag of the current publisher.
+     *
+     * @param id the id of the publisher.
+     * @param ifMatch the header value, {@code null} if absent.
+     */
+    private void checkIfMatch(Long id, String ifMatch) {
+        if (ifMatch != null) {
+            ETagUtil.checkIfMatch(ifMatch, entityTagger.eTag(Publisher.class, id, ASSOCIATED_TYPES), ENTITY_NAME);
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.service.dto.SuggestionDTO;
+import com.mycompany.myapp.service.search.CatalogSuggester;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for typeahead suggestions over the catalog.
+ */
+@RestController
+@RequestMapping("/api")
+public class SuggestResource {
+
+    private static final String ENTITY_NAME = "suggestion";
+
+    private final Logger log = LoggerFactory.getLogger(SuggestResource.class);
+
+    private final CatalogSuggester catalogSuggester;
+
+    public SuggestResource(CatalogSuggester catalogSuggester) {
+        this.catalogSuggester = catalogSuggester;
+    }
+
+    /**
+     * {@code GET  /_suggest?prefix=:prefix&type=:type} : suggest the books, authors or publishers having a word starting
+     * with the prefix.
+     *
+     * @param prefix the text typed so far.
+     * @param type the kind of entity to suggest: {@code book}, {@code author} or {@code publisher}.
+     * @param size the maximum number of suggestions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the suggestions in body, most checked-out first,
+     * or with status {@code 400 (Bad Request)} if the type is unknown.
+     */
+    @GetMapping("/_suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+        @RequestParam("prefix") String prefix,
+        @RequestParam(value = "type", defaultValue = "book") String type,
+        @RequestParam(value = "size", defaultValue = "" + CatalogSuggester.MAX_SUGGESTIONS) int size
+    ) {
+        log.debug("REST request to suggest {} for prefix {}", type, prefix);
+        SuggestionDTO.Type suggestionType;
+        try {
+            suggestionType = SuggestionDTO.Type.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid suggestion type", ENTITY_NAME, "typeinvalid");
+        }
+        int limit = Math.max(1, Math.min(size, CatalogSuggester.MAX_SUGGESTIONS));
+        return ResponseEntity.ok(catalogSuggester.suggest(prefix, suggestionType, limit));
+    }
+}
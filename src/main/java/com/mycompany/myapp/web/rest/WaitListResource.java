@@ -1,9 +1,14 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.PatronAccount;
 import com.mycompany.myapp.domain.WaitList;
 import com.mycompany.myapp.repository.WaitListRepository;
 import com.mycompany.myapp.service.WaitListService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.JsonResponseCoalescer;
+import com.mycompany.myapp.web.rest.util.ListResponseUtil;
+import com.mycompany.myapp.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -12,15 +17,12 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -34,6 +36,8 @@ public class WaitListResource {
 
     private static final String ENTITY_NAME = "waitList";
 
+    private static final Class<?>[] ASSOCIATED_TYPES = { PatronAccount.class, Book.class };
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -41,9 +45,16 @@ public class WaitListResource {
 
     private final WaitListRepository waitListRepository;
 
-    public WaitListResource(WaitListService waitListService, WaitListRepository waitListRepository) {
+    private final JsonResponseCoalescer jsonResponseCoalescer;
+
+    public WaitListResource(
+        WaitListService waitListService,
+        WaitListRepository waitListRepository,
+        JsonResponseCoalescer jsonResponseCoalescer
+    ) {
         this.waitListService = waitListService;
         this.waitListRepository = waitListRepository;
+        this.jsonResponseCoalescer = jsonResponseCoalescer;
     }
 
     /**
@@ -138,38 +149,55 @@ public class WaitListResource {
 
     /**
      * {@code GET  /wait-lists} : get all the waitLists.
+     * <p>
+     * Concurrent identical requests share one read, see {@link JsonResponseCoalescer}.
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param after the keyset cursor of the previous page, empty for the first one; switches to count-free keyset pagination.
+     * @param count {@code false} to skip the total count, sending only {@code next} and {@code prev} links.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of waitLists in body.
      */
     @GetMapping("/wait-lists")
-    public ResponseEntity<List<WaitList>> getAllWaitLists(
+    public ResponseEntity<byte[]> getAllWaitLists(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
-        @RequestParam(required = false, defaultValue = "false") boolean eagerload
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        @RequestParam(required = false) String after,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") boolean count
     ) {
         log.debug("REST request to get a page of WaitLists");
-        Page<WaitList> page;
-        if (eagerload) {
-            page = waitListService.findAllWithEagerRelationships(pageable);
-        } else {
-            page = waitListService.findAll(pageable);
-        }
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        // the response, pagination links included, only depends on the request URI
+        return jsonResponseCoalescer.readResponse(
+            "wait-lists",
+            ServletUriComponentsBuilder.fromCurrentRequest().toUriString(),
+            WaitList.class,
+            null,
+            null,
+            ASSOCIATED_TYPES,
+            () -> readAllWaitLists(pageable, eagerload, after, count)
+        );
     }
 
     /**
      * {@code GET  /wait-lists/:id} : get the "id" waitList.
+     * <p>
+     * Concurrent identical requests share one read, see {@link JsonResponseCoalescer}.
      *
      * @param id the id of the waitList to retrieve.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the waitList, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/wait-lists/{id}")
-    public ResponseEntity<WaitList> getWaitList(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getWaitList(@PathVariable Long id) {
         log.debug("REST request to get WaitList : {}", id);
-        Optional<WaitList> waitList = waitListService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(waitList);
+        return jsonResponseCoalescer.readResponse(
+            "wait-lists",
+            id,
+            WaitList.class,
+            id,
+            null,
+            ASSOCIATED_TYPES,
+            () -> ResponseUtil.wrapOrNotFound(waitListService.findOne(id))
+        );
     }
 
     /**
@@ -187,4 +215,25 @@ public class WaitListResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private ResponseEntity<List<WaitList>> readAllWaitLists(Pageable pageable, boolean eagerload, String after, boolean count) {
+        if (eagerload) {
+            return ListResponseUtil.ok(
+                after,
+                count,
+                ENTITY_NAME,
+                keyset -> waitListService.findAllWithEagerRelationships(keyset, pageable),
+                () -> waitListService.findSliceWithEagerRelationships(pageable),
+                () -> waitListService.findAllWithEagerRelationships(pageable)
+            );
+        }
+        return ListResponseUtil.ok(
+            after,
+            count,
+            ENTITY_NAME,
+            keyset -> waitListService.findAll(keyset, pageable),
+            () -> waitListService.findSlice(pageable),
+            () -> waitListService.findAll(pageable)
+        );
+    }
 }
@@ -0,0 +1,99 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.web.rest.errors.PreconditionFailedAlertException;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Utility class for handling conditional requests on entity tags (RFC 7232).
+ * <p>
+ * Entity tags are built from the versions of the entities a representation is read from, see {@link EntityTagger}, so
+ * they are the same on every instance. {@code If-None-Match} on a {@code GET} is answered with {@code 304 (Not Modified)}
+ * without reading the body; {@code If-Match} on a {@code PUT} or {@code PATCH} fails with
+ * {@code 412 (Precondition Failed)} when the entity changed since the client read it.
+ */
+public final class ETagUtil {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETagUtil() {}
+
+    /**
+     * Get the strong entity tag of a representation from the versions it is read from.
+     *
+     * @param versions the versions.
+     * @return the quoted entity tag.
+     */
+    public static String eTag(long... versions) {
+        return LongStream.of(versions).mapToObj(Long::toString).collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Tell whether an {@code If-None-Match} header matches the current entity tag, using the weak comparison.
+     *
+     * @param ifNoneMatch the header value, {@code null} if absent.
+     * @param eTag the current entity tag.
+     * @return {@code true} if the client copy is current.
+     */
+    public static boolean isNotModified(String ifNoneMatch, String eTag) {
+        return ifNoneMatch != null && matches(ifNoneMatch, eTag, true);
+    }
+
+    /**
+     * Build a {@code 304 (Not Modified)} response.
+     *
+     * @param eTag the current entity tag.
+     * @return the response entity, without body.
+     */
+    public static <X> ResponseEntity<X> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    /**
+     * Check an {@code If-Match} header against the current entity tag, using the strong comparison.
+     *
+     * @param ifMatch the header value, {@code null} if absent.
+     * @param eTag the current entity tag.
+     * @param entityName the entity name used in the error response.
+     * @throws PreconditionFailedAlertException if the header is present and does not match.
+     */
+    public static void checkIfMatch(String ifMatch, String eTag, String entityName) {
+        if (ifMatch != null && !matches(ifMatch, eTag, false)) {
+            throw new PreconditionFailedAlertException("Entity was modified", entityName, "etagmismatch");
+        }
+    }
+
+    /**
+     * Create the headers of a response with an entity tag.
+     *
+     * @param eTag the entity tag.
+     * @return the http headers.
+     */
+    public static HttpHeaders createETagHeaders(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        return headers;
+    }
+
+    static boolean matches(String header, String eTag, boolean weak) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith(WEAK_PREFIX)) {
+                if (!weak) {
+                    continue;
+                }
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.service.EntityVersionService;
+import java.util.function.Supplier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity tags of representations, computed from the versions of the entities they are read from.
+ * <p>
+ * The tag of an entity is its version and the versions of the tables of the entities its representation depends on,
+ * and the tag of a list is the version of its table and of those tables, see {@link EntityVersionService}. Tags are read
+ * with one small query, before the entities, so a current client copy is answered without reading or serializing them.
+ * As the tag is read first, a body is never sent with the tag of a version older than itself.
+ */
+@Component
+public class EntityTagger {
+
+    private final EntityVersionService entityVersionService;
+
+    public EntityTagger(EntityVersionService entityVersionService) {
+        this.entityVersionService = entityVersionService;
+    }
+
+    /**
+     * Get the entity tag of the representation of an entity.
+     *
+     * @param entityType the type of the entity.
+     * @param id the id of the entity.
+     * @param dependencies the types of the other entities the representation is read from.
+     * @return the quoted entity tag.
+     */
+    public String eTag(Class<?> entityType, Object id, Class<?>... dependencies) {
+        return ETagUtil.eTag(entityVersionService.getVersions(entityType, id, dependencies));
+    }
+
+    /**
+     * Get the entity tag of the representation of a list of entities.
+     *
+     * @param entityType the type of the entities.
+     * @param dependencies the types of the other entities the representation is read from.
+     * @return the quoted entity tag.
+     */
+    public String eTagOfAll(Class<?> entityType, Class<?>... dependencies) {
+        return ETagUtil.eTag(entityVersionService.getVersions(entityType, null, dependencies));
+    }
+
+    /**
+     * Answer a {@code GET} with {@code 304 (Not Modified)} if the client copy is current, or with the response read.
+     *
+     * @param eTag the current entity tag, read before the response.
+     * @param ifNoneMatch the entity tag of the client copy, if any.
+     * @param reader the read of the response.
+     * @return the response entity, with the entity tag.
+     */
+    public <T> ResponseEntity<T> conditionalGet(String eTag, String ifNoneMatch, Supplier<ResponseEntity<T>> reader) {
+        if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        ResponseEntity<T> response = reader.get();
+        return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).eTag(eTag).body(response.getBody());
+    }
+}
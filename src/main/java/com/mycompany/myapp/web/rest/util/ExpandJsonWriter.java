@@ -0,0 +1,88 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotationIntrospectorPair;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.Notification;
+import com.mycompany.myapp.domain.PatronAccount;
+import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.domain.WaitList;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writer of the responses of requests with an {@link ExpandUtil#EXPAND_PARAM} parameter.
+ * <p>
+ * It uses its own copy of the application {@link ObjectMapper}, where the entities are bound to the
+ * {@link ExpandPropertyFilter} and the {@link JsonIgnoreProperties} of their associations are not applied, so that an
+ * expanded path is written even if the enclosing association ignores it, e.g. {@code bookCopies.publisher} of a book.
+ * Every other response is written by the application mapper, with the annotations in force.
+ */
+@Component
+public class ExpandJsonWriter {
+
+    private static final Class<?>[] ENTITIES = {
+        Author.class,
+        Book.class,
+        BookCopy.class,
+        Category.class,
+        CheckOut.class,
+        Notification.class,
+        PatronAccount.class,
+        Publisher.class,
+        WaitList.class,
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public ExpandJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper.copy();
+        for (Class<?> entity : ENTITIES) {
+            this.objectMapper.addMixIn(entity, ExpandFilterMixIn.class);
+        }
+        AnnotationIntrospector introspector = this.objectMapper.getSerializationConfig().getAnnotationIntrospector();
+        this.objectMapper.setAnnotationIntrospector(new ExpandAnnotationIntrospector(introspector));
+    }
+
+    /**
+     * Get a writer of the entities restricted to the expanded associations.
+     *
+     * @param expand the association paths to write.
+     * @return the writer.
+     */
+    public ObjectWriter writer(Set<String> expand) {
+        return objectMapper.writer(ExpandPropertyFilter.filterProvider(expand));
+    }
+
+    @JsonFilter(ExpandPropertyFilter.ID)
+    private interface ExpandFilterMixIn {}
+
+    private static class ExpandAnnotationIntrospector extends AnnotationIntrospectorPair {
+
+        private static final long serialVersionUID = 1L;
+
+        ExpandAnnotationIntrospector(AnnotationIntrospector delegate) {
+            super(delegate, NopAnnotationIntrospector.instance);
+        }
+
+        @Override
+        public JsonIgnoreProperties.Value findPropertyIgnoralByName(MapperConfig<?> config, Annotated annotated) {
+            if (annotated instanceof AnnotatedMember && ExpandPropertyFilter.isAssociation(annotated)) {
+                return JsonIgnoreProperties.Value.empty();
+            }
+            return super.findPropertyIgnoralByName(config, annotated);
+        }
+    }
+}
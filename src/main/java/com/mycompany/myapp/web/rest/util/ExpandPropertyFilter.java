@@ -0,0 +1,92 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+
+/**
+ * Jackson filter writing only the entity associations whose path from the response root was expanded.
+ * <p>
+ * Entities are bound to the filter {@link #ID} by the {@link ExpandJsonWriter} only, so responses without an
+ * {@code expand} parameter are written by the application mapper and are unchanged.
+ */
+public class ExpandPropertyFilter extends SimpleBeanPropertyFilter {
+
+    public static final String ID = "expand";
+
+    private final Set<String> paths;
+
+    public ExpandPropertyFilter(Set<String> expanded) {
+        this.paths = new HashSet<>();
+        for (String path : expanded) {
+            for (int dot = path.indexOf('.'); dot > 0; dot = path.indexOf('.', dot + 1)) {
+                paths.add(path.substring(0, dot));
+            }
+            paths.add(path);
+        }
+    }
+
+    /**
+     * @return a filter provider restricting the entity associations to the expanded paths.
+     */
+    public static FilterProvider filterProvider(Set<String> expanded) {
+        return new SimpleFilterProvider().addFilter(ID, new ExpandPropertyFilter(expanded));
+    }
+
+    /**
+     * @return whether the member is an entity association, written only if expanded.
+     */
+    public static boolean isAssociation(Annotated member) {
+        return (
+            member.hasAnnotation(ManyToOne.class) ||
+            member.hasAnnotation(OneToOne.class) ||
+            member.hasAnnotation(OneToMany.class) ||
+            member.hasAnnotation(ManyToMany.class)
+        );
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator jgen, SerializerProvider provider, PropertyWriter writer) throws Exception {
+        if (!isAssociation(writer) || paths.contains(path(jgen.getOutputContext(), writer.getName()))) {
+            writer.serializeAsField(pojo, jgen, provider);
+        } else if (!jgen.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, jgen, provider);
+        }
+    }
+
+    private static boolean isAssociation(PropertyWriter writer) {
+        return (
+            writer.getAnnotation(ManyToOne.class) != null ||
+            writer.getAnnotation(OneToOne.class) != null ||
+            writer.getAnnotation(OneToMany.class) != null ||
+            writer.getAnnotation(ManyToMany.class) != null
+        );
+    }
+
+    /**
+     * @return the dotted path of a property, from the field names of the enclosing objects (array indexes are skipped).
+     */
+    private static String path(JsonStreamContext context, String name) {
+        Deque<String> names = new ArrayDeque<>();
+        names.push(name);
+        for (JsonStreamContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent.inObject() && parent.getCurrentName() != null) {
+                names.push(parent.getCurrentName());
+            }
+        }
+        return String.join(".", names);
+    }
+}
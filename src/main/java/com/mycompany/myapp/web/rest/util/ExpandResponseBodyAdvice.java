@@ -0,0 +1,68 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.util.RawValue;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Controller advice writing the responses of the endpoints taking an {@link ExpandUtil#EXPAND_PARAM} request parameter
+ * with the {@link ExpandJsonWriter}, when the request has one. The expanded JSON is passed to the message converter as a
+ * {@link RawValue}, so the responses without the parameter never go through the expand filter.
+ */
+@ControllerAdvice
+public class ExpandResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private final ExpandJsonWriter expandJsonWriter;
+
+    public ExpandResponseBodyAdvice(ExpandJsonWriter expandJsonWriter) {
+        this.expandJsonWriter = expandJsonWriter;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        Method method = returnType.getMethod();
+        if (method == null || !super.supports(returnType, converterType)) {
+            return false;
+        }
+        for (Parameter parameter : method.getParameters()) {
+            RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
+            if (requestParam != null && ExpandUtil.EXPAND_PARAM.equals(requestParam.name())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(
+        MappingJacksonValue bodyContainer,
+        MediaType contentType,
+        MethodParameter returnType,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        if (request instanceof ServletServerHttpRequest) {
+            String expand = ((ServletServerHttpRequest) request).getServletRequest().getParameter(ExpandUtil.EXPAND_PARAM);
+            if (expand != null) {
+                try {
+                    String json = expandJsonWriter.writer(ExpandUtil.parse(expand)).writeValueAsString(bodyContainer.getValue());
+                    bodyContainer.setValue(new RawValue(json));
+                } catch (JsonProcessingException e) {
+                    throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Utility class for handling the {@code expand} request parameter.
+ * <p>
+ * {@code ?expand=authors,category,bookCopies.publisher} selects the associations to load and serialize. Without the
+ * parameter, endpoints behave as before; with it, associations not listed are neither fetched explicitly nor written
+ * (see {@link ExpandResponseBodyAdvice}), so {@code ?expand=} returns the entities alone.
+ */
+public final class ExpandUtil {
+
+    public static final String EXPAND_PARAM = "expand";
+
+    private ExpandUtil() {}
+
+    /**
+     * Parse the {@code expand} request parameter.
+     *
+     * @param expand the comma-separated association paths.
+     * @return the paths, empty if {@code expand} is {@code null} or blank.
+     */
+    public static Set<String> parse(String expand) {
+        if (expand == null || expand.isBlank()) {
+            return Collections.emptySet();
+        }
+        Set<String> paths = new TreeSet<>();
+        for (String path : expand.split(",")) {
+            if (!path.isBlank()) {
+                paths.add(path.trim());
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Parse and validate the {@code expand} request parameter.
+     *
+     * @param expand the comma-separated association paths.
+     * @param expandable the paths the endpoint supports.
+     * @param entityName the entity name used in the error response.
+     * @return the paths.
+     * @throws BadRequestAlertException if a path is not supported.
+     */
+    public static Set<String> parse(String expand, Set<String> expandable, String entityName) {
+        Set<String> paths = parse(expand);
+        for (String path : paths) {
+            if (!expandable.contains(path)) {
+                throw new BadRequestAlertException("Cannot expand " + path, entityName, "expandinvalid");
+            }
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,259 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache of serialized JSON response bodies.
+ * <p>
+ * Entries are the final UTF-8 bytes of a representation, keyed by endpoint, id, requested expansion, locale and entity
+ * tag, so a hit skips both the database read and the serialization. As the entity tag is read from the database before
+ * the cache, see {@link EntityTagger}, a change made on another instance makes the next request a miss. Concurrent
+ * misses share one read, see {@link JsonResponseCoalescer}. Entries are evicted by total size, and after the commit of
+ * any {@link EntityChangedEvent} on the entity itself or on one of the entities the representation depends on, found in
+ * an index of the entries by entity and by dependency rather than by scanning the cache, and expire after
+ * {@code application.response-cache.time-to-live}. A body read while such a commit happens is served but not stored,
+ * as it may already be stale.
+ */
+@Component
+public class JsonResponseCache {
+
+    public static final String CACHE_NAME = "jsonResponses";
+
+    public static final String HIT_RATIO_METER_NAME = "http.response.cache.hit-ratio";
+
+    public static final String BYTES_SAVED_METER_NAME = "http.response.cache.bytes-saved";
+
+    private final Logger log = LoggerFactory.getLogger(JsonResponseCache.class);
+
+    private final JsonResponseCoalescer jsonResponseCoalescer;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<Key, byte[]> cache;
+
+    private final Map<Object, Set<Key>> index = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public JsonResponseCache(
+        JsonResponseCoalescer jsonResponseCoalescer,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this(jsonResponseCoalescer, meterRegistry, applicationProperties, Ticker.systemTicker());
+    }
+
+    JsonResponseCache(
+        JsonResponseCoalescer jsonResponseCoalescer,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties,
+        Ticker ticker
+    ) {
+        this.jsonResponseCoalescer = jsonResponseCoalescer;
+        this.meterRegistry = meterRegistry;
+        this.cache =
+            Caffeine
+                .newBuilder()
+                .maximumWeight(applicationProperties.getResponseCache().getMaxBytes())
+                .<Key, byte[]>weigher((key, body) -> body.length)
+                .expireAfterWrite(applicationProperties.getResponseCache().getTimeToLive())
+                .ticker(ticker)
+                .evictionListener((Key key, byte[] body, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge
+            .builder(HIT_RATIO_METER_NAME, cache, c -> c.stats().hitRate())
+            .description("Ratio of JSON responses served from the cache")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the serialized body of a representation, reading and serializing it on a miss.
+     *
+     * @param endpoint the endpoint name, used in metrics.
+     * @param entityType the type of the entity.
+     * @param id the id of the entity.
+     * @param expand the associations to expand, {@code null} for the default representation.
+     * @param dependencies the other entities the representation is read from.
+     * @param eTag the entity tag of the representation, read before the cache.
+     * @param reader the read of the entity.
+     * @return the UTF-8 JSON body, or empty if the reader found nothing.
+     */
+    public Optional<byte[]> get(
+        String endpoint,
+        Class<?> entityType,
+        Object id,
+        Set<String> expand,
+        Class<?>[] dependencies,
+        String eTag,
+        Supplier<? extends Optional<?>> reader
+    ) {
+        Key key = new Key(endpoint, entityType, id, expand, LocaleContextHolder.getLocale().toLanguageTag(), eTag, dependencies);
+        byte[] body = cache.getIfPresent(key);
+        if (body != null) {
+            Counter
+                .builder(BYTES_SAVED_METER_NAME)
+                .baseUnit("bytes")
+                .description("Serialized JSON bytes served from the cache")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .increment(body.length);
+            return Optional.of(body);
+        }
+
+        long readGeneration = generation.get();
+        Optional<byte[]> read = jsonResponseCoalescer.read(endpoint, key, entityType, id, expand, dependencies, reader);
+        read.ifPresent(bytes -> {
+            for (Object tag : key.tags()) {
+                index.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+            cache.put(key, bytes);
+            if (generation.get() != readGeneration) {
+                invalidate(key);
+            }
+        });
+        return read;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        generation.incrementAndGet();
+        evict(Key.entityTag(event.getEntityType(), event.getId()));
+        evict(event.getEntityType());
+        log.trace("Evicted JSON responses affected by {}", event);
+    }
+
+    /**
+     * Discard all entries.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        index.clear();
+    }
+
+    private void evict(Object tag) {
+        Set<Key> keys = index.remove(tag);
+        if (keys != null) {
+            keys.forEach(this::invalidate);
+        }
+    }
+
+    private void invalidate(Key key) {
+        cache.invalidate(key);
+        unindex(key);
+    }
+
+    private void unindex(Key key) {
+        for (Object tag : key.tags()) {
+            index.computeIfPresent(
+                tag,
+                (t, keys) -> {
+                    keys.remove(key);
+                    return keys.isEmpty() ? null : keys;
+                }
+            );
+        }
+    }
+
+    private static final class Key {
+
+        private final String endpoint;
+
+        private final Class<?> entityType;
+
+        private final Object id;
+
+        private final Set<String> expand;
+
+        private final String locale;
+
+        private final String eTag;
+
+        private final Class<?>[] dependencies;
+
+        private Key(
+            String endpoint,
+            Class<?> entityType,
+            Object id,
+            Set<String> expand,
+            String locale,
+            String eTag,
+            Class<?>[] dependencies
+        ) {
+            this.endpoint = endpoint;
+            this.entityType = entityType;
+            this.id = id;
+            this.expand = expand;
+            this.locale = locale;
+            this.eTag = eTag;
+            this.dependencies = dependencies;
+        }
+
+        /**
+         * @return the tags the entry is indexed by: its entity, and the types of the entities it depends on.
+         */
+        private List<Object> tags() {
+            List<Object> tags = new ArrayList<>(dependencies.length + 1);
+            tags.add(entityTag(entityType, id));
+            tags.addAll(Arrays.asList(dependencies));
+            return tags;
+        }
+
+        private static Object entityTag(Class<?> entityType, Object id) {
+            return List.of(entityType, id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return (
+                endpoint.equals(key.endpoint) &&
+                entityType.equals(key.entityType) &&
+                id.equals(key.id) &&
+                Objects.equals(expand, key.expand) &&
+                locale.equals(key.locale) &&
+                eTag.equals(key.eTag)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, entityType, id, expand, locale, eTag);
+        }
+    }
+}
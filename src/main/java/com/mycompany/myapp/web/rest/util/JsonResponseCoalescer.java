@@ -0,0 +1,106 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mycompany.myapp.service.RequestCoalescer;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shares the serialized JSON bodies of concurrent identical reads, see {@link RequestCoalescer}.
+ * <p>
+ * Reads are coalesced here, before any transaction is opened, so the callers waiting for a read hold no connection.
+ * The leader reads and serializes; every caller then gets the same bytes, never the entities read by another thread.
+ */
+@Component
+public class JsonResponseCoalescer {
+
+    private final ObjectMapper objectMapper;
+
+    private final ExpandJsonWriter expandJsonWriter;
+
+    private final RequestCoalescer requestCoalescer;
+
+    public JsonResponseCoalescer(ObjectMapper objectMapper, ExpandJsonWriter expandJsonWriter, RequestCoalescer requestCoalescer) {
+        this.objectMapper = objectMapper;
+        this.expandJsonWriter = expandJsonWriter;
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    /**
+     * Read and serialize an entity, or share the body of the identical read in flight.
+     *
+     * @param name the name of the read, used in metrics.
+     * @param key the arguments of the read.
+     * @param entityType the type of the entity.
+     * @param id the id of the entity.
+     * @param expand the associations to expand, {@code null} for the default representation.
+     * @param dependencies the other entities the representation is read from.
+     * @param reader the read of the entity, in its own transaction.
+     * @return the UTF-8 JSON body, or empty if the reader found nothing.
+     */
+    public Optional<byte[]> read(
+        String name,
+        Object key,
+        Class<?> entityType,
+        Object id,
+        Set<String> expand,
+        Class<?>[] dependencies,
+        Supplier<? extends Optional<?>> reader
+    ) {
+        return requestCoalescer.load(name, key, entityType, id, dependencies, () -> reader.get().map(entity -> serialize(entity, expand)));
+    }
+
+    /**
+     * Read and serialize a response, or share the response of the identical read in flight.
+     *
+     * @param name the name of the read, used in metrics.
+     * @param key the arguments of the read.
+     * @param entityType the type of the entities.
+     * @param id the id of the entity, {@code null} for a read of several entities.
+     * @param expand the associations to expand, {@code null} for the default representation.
+     * @param dependencies the other entities the representation is read from.
+     * @param reader the read of the response, in its own transaction.
+     * @return the response, with its UTF-8 JSON body.
+     */
+    public ResponseEntity<byte[]> readResponse(
+        String name,
+        Object key,
+        Class<?> entityType,
+        Object id,
+        Set<String> expand,
+        Class<?>[] dependencies,
+        Supplier<? extends ResponseEntity<?>> reader
+    ) {
+        return requestCoalescer.load(
+            name,
+            key,
+            entityType,
+            id,
+            dependencies,
+            () -> {
+                ResponseEntity<?> response = reader.get();
+                HttpHeaders headers = new HttpHeaders();
+                headers.addAll(response.getHeaders());
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                return ResponseEntity.status(response.getStatusCode()).headers(headers).body(serialize(response.getBody(), expand));
+            }
+        );
+    }
+
+    private byte[] serialize(Object entity, Set<String> expand) {
+        ObjectWriter writer = expand != null ? expandJsonWriter.writer(expand) : objectMapper.writer();
+        try {
+            return writer.writeValueAsBytes(entity);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetSlice;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.text.MessageFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor) pagination.
+ * <p>
+ * Cursor mode is selected with the {@code after} request parameter; an empty value requests the first page. Unlike
+ * {@link tech.jhipster.web.util.PaginationUtil} no total count is sent, only {@code first} and {@code next} links.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAM = "after";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Decode the {@code after} request parameter.
+     *
+     * @param after the cursor sent by the client, empty for the first page.
+     * @param entityName the entity name used in the error response.
+     * @return the keyset, or {@code null} for the first page.
+     * @throws BadRequestAlertException if the cursor is malformed.
+     */
+    public static Keyset parseCursor(String after, String entityName) {
+        if (after == null || after.isEmpty()) {
+            return null;
+        }
+        try {
+            return Keyset.fromCursor(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Generate the {@code Link} header of a keyset page.
+     *
+     * @param uriBuilder the current request URI.
+     * @param slice the page read.
+     * @return the http headers.
+     */
+    public static HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, KeysetSlice<?> slice) {
+        int size = slice.getSize();
+        StringBuilder link = new StringBuilder();
+        slice
+            .getNextKeyset()
+            .ifPresent(next -> link.append(prepareLink(uriBuilder, next.toCursor(), size, "next")).append(","));
+        link.append(prepareLink(uriBuilder, "", size, "first"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, String cursor, int size, String relType) {
+        return MessageFormat.format(HEADER_LINK_FORMAT, preparePageUri(uriBuilder, cursor, size), relType);
+    }
+
+    private static String preparePageUri(UriComponentsBuilder uriBuilder, String cursor, int size) {
+        return uriBuilder
+            .replaceQueryParam(AFTER_PARAM, cursor)
+            .replaceQueryParam("page")
+            .replaceQueryParam("size", Integer.toString(size))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+    }
+}
@@ -0,0 +1,59 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.KeysetSlice;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Utility class for answering the list endpoints.
+ * <p>
+ * A page is read with its total count by default, without it for {@code count=false} (see {@link SlicePaginationUtil})
+ * and after a keyset for {@code after} (see {@link KeysetPaginationUtil}), and sent with the matching pagination headers.
+ */
+public final class ListResponseUtil {
+
+    private ListResponseUtil() {}
+
+    /**
+     * Read a page with the pagination selected by the request.
+     *
+     * @param after the keyset cursor of the previous page, {@code null} for offset pagination.
+     * @param count {@code false} to skip the total count of offset pagination.
+     * @param entityName the entity name used in the error response of an invalid cursor.
+     * @param keysetQuery reads the page after a keyset.
+     * @param sliceQuery reads the page without the total count.
+     * @param pageQuery reads the page with the total count.
+     * @param <T> the type of the entities.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, the pagination headers and the entities in body.
+     */
+    public static <T> ResponseEntity<List<T>> ok(
+        String after,
+        boolean count,
+        String entityName,
+        Function<Keyset, KeysetSlice<T>> keysetQuery,
+        Supplier<Slice<T>> sliceQuery,
+        Supplier<Page<T>> pageQuery
+    ) {
+        if (after != null) {
+            KeysetSlice<T> slice = keysetQuery.apply(KeysetPaginationUtil.parseCursor(after, entityName));
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            Slice<T> slice = sliceQuery.get();
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        Page<T> page = pageQuery.get();
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+}
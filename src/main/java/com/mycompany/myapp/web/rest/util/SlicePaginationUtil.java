@@ -0,0 +1,62 @@
+package com.mycompany.myapp.web.rest.util;
+
+import java.text.MessageFormat;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling offset pagination without a total count.
+ * <p>
+ * Selected with {@code count=false}: one more row than the page size is read to tell whether a next page exists, so
+ * unlike {@link tech.jhipster.web.util.PaginationUtil} neither {@code X-Total-Count} nor {@code last} is sent, only
+ * {@code next} and {@code prev} links.
+ */
+public final class SlicePaginationUtil {
+
+    public static final String COUNT_PARAM = "count";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate the {@code Link} header of a slice.
+     *
+     * @param uriBuilder the current request URI.
+     * @param slice the page read.
+     * @return the http headers.
+     */
+    public static HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<?> slice) {
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            link.append(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next"));
+        }
+        if (slice.hasPrevious()) {
+            if (link.length() > 0) {
+                link.append(",");
+            }
+            link.append(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev"));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (link.length() > 0) {
+            headers.add(HttpHeaders.LINK, link.toString());
+        }
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        return MessageFormat.format(HEADER_LINK_FORMAT, preparePageUri(uriBuilder, pageNumber, pageSize), relType);
+    }
+
+    private static String preparePageUri(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize) {
+        return uriBuilder
+            .replaceQueryParam("page", Integer.toString(pageNumber))
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+    }
+}
@@ -2,4 +2,8 @@ export enum NoTi {
   Warning = 'Warning',
 
   News = 'News',
+
+  DueSoon = 'DueSoon',
+
+  Overdue = 'Overdue',
 }
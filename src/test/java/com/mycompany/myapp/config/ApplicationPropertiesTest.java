@@ -0,0 +1,37 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindHandler;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.handler.NoUnboundElementsBindHandler;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+
+class ApplicationPropertiesTest {
+
+    @Test
+    void bindsEveryApplicationPropertyOfTheMainConfiguration() throws Exception {
+        // the test classpath has its own config/application.yml, without the application properties
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+            .load("application.yml", new FileSystemResource("src/main/resources/config/application.yml"));
+        Binder binder = new Binder(ConfigurationPropertySources.from(sources));
+
+        // unknown fields are rejected, as with the ignoreUnknownFields = false of the application properties
+        ApplicationProperties properties = binder
+            .bind("application", Bindable.of(ApplicationProperties.class), new NoUnboundElementsBindHandler(BindHandler.DEFAULT))
+            .get();
+
+        assertThat(properties.getDueDates().getSyncInterval()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(properties.getMailQueue().getPollInterval()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(properties.getNotificationDigest().getPollInterval()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(properties.getOverdueSweep().getPollInterval()).isEqualTo(Duration.ofHours(1));
+        assertThat(properties.getSearch().getSyncInterval()).isEqualTo(Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,77 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Category;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    private CacheManager cacheManager;
+
+    private CacheConfiguration cacheConfiguration;
+
+    @BeforeEach
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getCaffeine().setMaxEntries(100);
+        jHipsterProperties.getCache().getCaffeine().setTimeToLiveSeconds(3600);
+
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxEntries(5000L);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getRegions().put(Author.class.getName(), region);
+
+        cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.getCacheNames().forEach(cacheManager::destroyCache);
+    }
+
+    @Test
+    void shouldApplyRegionOverrides() {
+        cacheConfiguration.cacheManagerCustomizer().customize(cacheManager);
+
+        CaffeineConfiguration<?, ?> author = configuration(Author.class);
+        assertThat(author.getMaximumSize()).isEqualTo(OptionalLong.of(5000));
+        assertThat(author.getExpireAfterWrite()).isEqualTo(OptionalLong.of(TimeUnit.HOURS.toNanos(1)));
+        assertThat(author.isStatisticsEnabled()).isTrue();
+
+        CaffeineConfiguration<?, ?> category = configuration(Category.class);
+        assertThat(category.getMaximumSize()).isEqualTo(OptionalLong.of(100));
+    }
+
+    @Test
+    void shouldClearExistingRegionsOnRestart() {
+        cacheConfiguration.cacheManagerCustomizer().customize(cacheManager);
+        cacheManager.getCache(Category.class.getName()).put(1L, "category");
+
+        cacheConfiguration.cacheManagerCustomizer().customize(cacheManager);
+
+        assertThat(cacheManager.getCache(Category.class.getName()).containsKey(1L)).isFalse();
+    }
+
+    private CaffeineConfiguration<?, ?> configuration(Class<?> entity) {
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<?, ?> configuration = (CaffeineConfiguration<?, ?>) cacheManager
+            .getCache(entity.getName())
+            .getConfiguration(CaffeineConfiguration.class);
+        return configuration;
+    }
+}
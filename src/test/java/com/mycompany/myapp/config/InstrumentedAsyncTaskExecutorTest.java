@@ -0,0 +1,86 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
+
+class InstrumentedAsyncTaskExecutorTest {
+
+    private MeterRegistry meterRegistry;
+
+    private InstrumentedAsyncTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        pool.setQueueCapacity(1);
+        executor = new InstrumentedAsyncTaskExecutor(new ExceptionHandlingAsyncTaskExecutor(pool), pool, meterRegistry, "taskExecutor");
+        executor.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.destroy();
+    }
+
+    @Test
+    void recordsWaitAndExecutionTaggedBySubmittingMethod() throws Exception {
+        executor.submit(() -> "done").get(5, TimeUnit.SECONDS);
+
+        String origin = "InstrumentedAsyncTaskExecutorTest.recordsWaitAndExecutionTaggedBySubmittingMethod";
+        assertThat(timerCount(TaskExecutionMetrics.WAIT_METER_NAME, origin)).isEqualTo(1);
+        assertThat(timerCount(TaskExecutionMetrics.EXECUTION_METER_NAME, origin)).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.pool.size").tag(TaskExecutionMetrics.EXECUTOR_DIMENSION, "taskExecutor").gauge())
+            .isNotNull();
+    }
+
+    @Test
+    void countsRejectedTasks() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor.execute(blocking);
+        executor.execute(blocking);
+        try {
+            assertThatThrownBy(() -> executor.execute(blocking)).isInstanceOf(TaskRejectedException.class);
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(
+            meterRegistry
+                .get(TaskExecutionMetrics.REJECTED_METER_NAME)
+                .tag(TaskExecutionMetrics.ORIGIN_DIMENSION, "InstrumentedAsyncTaskExecutorTest.countsRejectedTasks")
+                .counter()
+                .count()
+        )
+            .isEqualTo(1);
+    }
+
+    private long timerCount(String name, String origin) {
+        return meterRegistry
+            .get(name)
+            .tag(TaskExecutionMetrics.EXECUTOR_DIMENSION, "taskExecutor")
+            .tag(TaskExecutionMetrics.ORIGIN_DIMENSION, origin)
+            .timer()
+            .count();
+    }
+}
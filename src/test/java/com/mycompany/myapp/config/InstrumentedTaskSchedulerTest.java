@@ -0,0 +1,58 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+class InstrumentedTaskSchedulerTest {
+
+    private final CountDownLatch ran = new CountDownLatch(1);
+
+    private MeterRegistry meterRegistry;
+
+    private InstrumentedTaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new InstrumentedTaskScheduler(meterRegistry, "taskScheduler");
+        scheduler.setPoolSize(1);
+        scheduler.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.destroy();
+    }
+
+    public void sweep() {
+        ran.countDown();
+    }
+
+    @Test
+    void recordsScheduledMethodRunsTaggedByMethod() throws Exception {
+        scheduler.schedule(new ScheduledMethodRunnable(this, getClass().getMethod("sweep")), new Date());
+
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        scheduler.getScheduledThreadPoolExecutor().shutdown();
+        assertThat(scheduler.getScheduledThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(
+            meterRegistry
+                .get(TaskExecutionMetrics.EXECUTION_METER_NAME)
+                .tag(TaskExecutionMetrics.EXECUTOR_DIMENSION, "taskScheduler")
+                .tag(TaskExecutionMetrics.ORIGIN_DIMENSION, "InstrumentedTaskSchedulerTest.sweep")
+                .timer()
+                .count()
+        )
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("executor.queued").tag(TaskExecutionMetrics.EXECUTOR_DIMENSION, "taskScheduler").gauge()).isNotNull();
+    }
+}
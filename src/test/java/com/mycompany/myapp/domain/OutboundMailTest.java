@@ -0,0 +1,23 @@
+package com.mycompany.myapp.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class OutboundMailTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(OutboundMail.class);
+        OutboundMail outboundMail1 = new OutboundMail();
+        outboundMail1.setId(1L);
+        OutboundMail outboundMail2 = new OutboundMail();
+        outboundMail2.setId(outboundMail1.getId());
+        assertThat(outboundMail1).isEqualTo(outboundMail2);
+        outboundMail2.setId(2L);
+        assertThat(outboundMail1).isNotEqualTo(outboundMail2);
+        outboundMail1.setId(null);
+        assertThat(outboundMail1).isNotEqualTo(outboundMail2);
+    }
+}
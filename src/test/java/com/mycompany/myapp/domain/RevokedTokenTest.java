@@ -0,0 +1,23 @@
+package com.mycompany.myapp.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class RevokedTokenTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(RevokedToken.class);
+        RevokedToken revokedToken1 = new RevokedToken();
+        revokedToken1.setId(1L);
+        RevokedToken revokedToken2 = new RevokedToken();
+        revokedToken2.setId(revokedToken1.getId());
+        assertThat(revokedToken1).isEqualTo(revokedToken2);
+        revokedToken2.setId(2L);
+        assertThat(revokedToken1).isNotEqualTo(revokedToken2);
+        revokedToken1.setId(null);
+        assertThat(revokedToken1).isNotEqualTo(revokedToken2);
+    }
+}
@@ -0,0 +1,23 @@
+package com.mycompany.myapp.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class ScheduledLockTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(ScheduledLock.class);
+        ScheduledLock scheduledLock1 = new ScheduledLock();
+        scheduledLock1.setName("first");
+        ScheduledLock scheduledLock2 = new ScheduledLock();
+        scheduledLock2.setName(scheduledLock1.getName());
+        assertThat(scheduledLock1).isEqualTo(scheduledLock2);
+        scheduledLock2.setName("second");
+        assertThat(scheduledLock1).isNotEqualTo(scheduledLock2);
+        scheduledLock1.setName(null);
+        assertThat(scheduledLock1).isNotEqualTo(scheduledLock2);
+    }
+}
@@ -0,0 +1,40 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.TaskExecutionMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ApplicationMetricsEndpointTest {
+
+    @Test
+    void addsExecutorsSection() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Timer
+            .builder(TaskExecutionMetrics.EXECUTION_METER_NAME)
+            .tag(TaskExecutionMetrics.EXECUTOR_DIMENSION, "taskExecutor")
+            .tag(TaskExecutionMetrics.ORIGIN_DIMENSION, "MailService.sendActivationEmail")
+            .register(meterRegistry)
+            .record(Duration.ofMillis(20));
+        Counter
+            .builder(TaskExecutionMetrics.REJECTED_METER_NAME)
+            .tag(TaskExecutionMetrics.EXECUTOR_DIMENSION, "taskExecutor")
+            .tag(TaskExecutionMetrics.ORIGIN_DIMENSION, "MailService.sendActivationEmail")
+            .register(meterRegistry)
+            .increment();
+
+        Map<String, Map<?, ?>> metrics = new ApplicationMetricsEndpoint(meterRegistry).allMetrics();
+
+        assertThat(metrics).containsKeys("jvm", "executors");
+        Map<?, ?> executor = (Map<?, ?>) metrics.get("executors").get("taskExecutor");
+        Map<?, ?> task = (Map<?, ?>) ((Map<?, ?>) executor.get("tasks")).get("MailService.sendActivationEmail");
+        assertThat(task.get("rejected")).isEqualTo(1.0);
+        assertThat(((Map<?, ?>) task.get("execution")).get("count")).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,36 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class KeysetTest {
+
+    @Test
+    void cursorRoundTrip() {
+        Keyset keyset = new Keyset(Sort.Order.desc("title"), "Dune, part 2", "1501");
+
+        String cursor = keyset.toCursor();
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(Keyset.fromCursor(cursor)).isEqualTo(keyset);
+    }
+
+    @Test
+    void cursorRoundTripKeepsNullAndEmptyValues() {
+        Keyset nullValue = new Keyset(Sort.Order.asc("endTime"), null, "7");
+        Keyset emptyValue = new Keyset(Sort.Order.asc("description"), "", "7");
+
+        assertThat(Keyset.fromCursor(nullValue.toCursor())).isEqualTo(nullValue);
+        assertThat(Keyset.fromCursor(emptyValue.toCursor())).isEqualTo(emptyValue);
+        assertThat(Keyset.fromCursor(emptyValue.toCursor())).isNotEqualTo(nullValue);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> Keyset.fromCursor("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Keyset.fromCursor("dGl0bGU")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
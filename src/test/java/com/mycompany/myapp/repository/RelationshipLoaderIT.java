@@ -0,0 +1,119 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.Category;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link RelationshipLoaderImpl}.
+ */
+@IntegrationTest
+@Transactional
+class RelationshipLoaderIT {
+
+    private static final int BOOK_COUNT = 24;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+
+    private Long firstBookId;
+
+    @BeforeEach
+    void initTest() {
+        Category category = new Category().name("Fantasy");
+        em.persist(category);
+        Author first = new Author().name("Ursula K. Le Guin");
+        Author second = new Author().name("Terry Pratchett");
+        em.persist(first);
+        em.persist(second);
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            Book book = new Book().title(String.format("Relationship loader %02d", i)).category(category).addAuthor(first);
+            if (i % 2 == 0) {
+                book.addAuthor(second);
+            }
+            em.persist(book);
+            if (firstBookId == null) {
+                firstBookId = book.getId();
+            }
+        }
+        em.flush();
+        em.clear();
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void pageQueryCountDoesNotDependOnPageSize() {
+        for (int size : new int[] { 1, 5, BOOK_COUNT }) {
+            em.clear();
+            statistics.clear();
+
+            Page<Book> page = bookRepository.findAllWithEagerRelationships(PageRequest.of(0, size, Sort.by("title")));
+            List<Book> books = page.getContent();
+            books.forEach(book -> {
+                if (book.getCategory() != null) {
+                    book.getCategory().getName();
+                }
+                book.getAuthors().size();
+            });
+
+            // ids, entities with their category, authors, count
+            assertThat(statistics.getPrepareStatementCount()).as("statements for a page of %d", size).isEqualTo(4);
+            assertThat(books).hasSize(size);
+            assertThat(books).allMatch(book -> Hibernate.isInitialized(book.getAuthors()));
+        }
+    }
+
+    @Test
+    void pageKeepsSortOrder() {
+        Page<Book> page = bookRepository.findAllWithEagerRelationships(PageRequest.of(0, 50, Sort.by(Sort.Order.desc("title"))));
+
+        List<String> titles = page.getContent().stream().map(Book::getTitle).collect(Collectors.toList());
+        assertThat(titles).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(BOOK_COUNT);
+    }
+
+    @Test
+    void fetchOneWithRelationships() {
+        statistics.clear();
+
+        Book book = bookRepository.findOneWithEagerRelationships(firstBookId).orElseThrow();
+
+        assertThat(book.getAuthors()).hasSize(2);
+        assertThat(book.getCategory().getName()).isEqualTo("Fantasy");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void fetchBagRelationshipsOfManagedEntities() {
+        List<Book> books = bookRepository.findAllById(List.of(firstBookId));
+        statistics.clear();
+
+        List<Book> fetched = bookRepository.fetchBagRelationships(books);
+
+        assertThat(fetched).containsExactlyElementsOf(books);
+        assertThat(Hibernate.isInitialized(fetched.get(0).getAuthors())).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
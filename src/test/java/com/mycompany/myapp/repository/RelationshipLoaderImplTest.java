@@ -0,0 +1,49 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class RelationshipLoaderImplTest {
+
+    private final List<Object> ids = LongStream.rangeClosed(1, 3000).boxed().collect(Collectors.toList());
+
+    @Test
+    void padsBatchesToPowersOfTwoWithTheLastId() {
+        assertThat(RelationshipLoaderImpl.padded(ids, 0, 1)).containsExactly(1L);
+        assertThat(RelationshipLoaderImpl.padded(ids, 0, 4)).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(RelationshipLoaderImpl.padded(ids, 10, 15)).containsExactly(11L, 12L, 13L, 14L, 15L, 15L, 15L, 15L);
+    }
+
+    @Test
+    void batchesNeverExceedTheMaximumSize() {
+        int max = RelationshipLoaderImpl.MAX_BATCH_SIZE;
+
+        assertThat(RelationshipLoaderImpl.padded(ids, 0, max)).hasSize(max);
+        assertThat(RelationshipLoaderImpl.padded(ids, 0, max - 1)).hasSize(max);
+        assertThat(RelationshipLoaderImpl.padded(ids, max, 2 * max - 1)).hasSize(max).endsWith((long) 2 * max - 1);
+    }
+
+    @Test
+    void findsThePositionsOfNumericIds() {
+        RelationshipLoaderImpl.IdIndex index = RelationshipLoaderImpl.IdIndex.of(List.of(30L, 10L, 20L));
+
+        assertThat(index.positionOf(30L)).isEqualTo(0);
+        assertThat(index.positionOf(10L)).isEqualTo(1);
+        assertThat(index.positionOf(20L)).isEqualTo(2);
+        assertThat(index.positionOf(15L)).isEqualTo(-1);
+        assertThat(index.positionOf("10")).isEqualTo(-1);
+    }
+
+    @Test
+    void findsThePositionsOfOtherIds() {
+        RelationshipLoaderImpl.IdIndex index = RelationshipLoaderImpl.IdIndex.of(List.of("card-2", "card-1"));
+
+        assertThat(index.positionOf("card-2")).isEqualTo(0);
+        assertThat(index.positionOf("card-1")).isEqualTo(1);
+        assertThat(index.positionOf("card-3")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class AuthorityRegistryTest {
+
+    @Test
+    void internsAuthorities() {
+        GrantedAuthority authority = AuthorityRegistry.authority(AuthoritiesConstants.ADMIN);
+
+        assertThat(authority).isSameAs(AuthorityRegistry.authority(AuthoritiesConstants.ADMIN));
+        assertThat(authority).isEqualTo(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN));
+    }
+
+    @Test
+    void internsAuthoritySetsByClaim() {
+        Set<GrantedAuthority> authorities = AuthorityRegistry.authorities(AuthoritiesConstants.ADMIN + "," + AuthoritiesConstants.USER);
+
+        assertThat(authorities).isSameAs(AuthorityRegistry.authorities(AuthoritiesConstants.ADMIN + "," + AuthoritiesConstants.USER));
+        assertThat(authorities)
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+        assertThat(authorities.iterator().next()).isSameAs(AuthorityRegistry.authority(AuthoritiesConstants.ADMIN));
+    }
+
+    @Test
+    void ignoresEmptyNames() {
+        assertThat(AuthorityRegistry.authorities("")).isEmpty();
+        assertThat(AuthorityRegistry.authorities(AuthoritiesConstants.USER + ",")).hasSize(1);
+    }
+
+    @Test
+    void authoritySetsAreImmutable() {
+        Set<GrantedAuthority> authorities = AuthorityRegistry.authorities(AuthoritiesConstants.USER);
+
+        assertThatThrownBy(() -> authorities.add(AuthorityRegistry.authority(AuthoritiesConstants.ADMIN)))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
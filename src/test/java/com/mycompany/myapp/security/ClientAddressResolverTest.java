@@ -0,0 +1,43 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class ClientAddressResolverTest {
+
+    private ClientAddressResolver clientAddressResolver;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getLoginThrottling().setTrustedProxies(List.of("10.0.0.0/8"));
+        clientAddressResolver = new ClientAddressResolver(applicationProperties);
+    }
+
+    @Test
+    void ignoresForwardedForFromUntrustedAddresses() {
+        assertThat(clientAddressResolver.resolve(request("203.0.113.7", "198.51.100.1"))).isEqualTo("203.0.113.7");
+        assertThat(clientAddressResolver.resolve(request("203.0.113.7", null))).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void resolvesTheAddressSeenByTheLastTrustedProxy() {
+        assertThat(clientAddressResolver.resolve(request("10.0.0.1", "198.51.100.1, 203.0.113.7, 10.0.0.2"))).isEqualTo("203.0.113.7");
+        assertThat(clientAddressResolver.resolve(request("10.0.0.1", "10.0.0.3"))).isEqualTo("10.0.0.3");
+        assertThat(clientAddressResolver.resolve(request("10.0.0.1", null))).isEqualTo("10.0.0.1");
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader(ClientAddressResolver.FORWARDED_FOR_HEADER, forwardedFor);
+        }
+        return request;
+    }
+}
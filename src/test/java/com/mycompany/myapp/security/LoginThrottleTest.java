@@ -0,0 +1,70 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoginThrottleTest {
+
+    private MeterRegistry meterRegistry;
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getLoginThrottling().setMaxFailuresPerLogin(3);
+        applicationProperties.getLoginThrottling().setMaxFailuresPerIp(5);
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottle = new LoginThrottle(applicationProperties, new SecurityMetersService(meterRegistry));
+    }
+
+    @Test
+    void throttlesLoginAfterMaxFailures() {
+        for (int i = 0; i < 3; i++) {
+            String ip = "10.0.0." + i;
+            assertThatCode(() -> loginThrottle.checkAllowed("user", ip)).doesNotThrowAnyException();
+            loginThrottle.recordFailure("User", ip);
+        }
+
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("user", "10.0.0.9")).isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> loginThrottle.checkAllowed("other", "10.0.0.9")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get(SecurityMetersService.LOGIN_THROTTLED_METER_NAME).tag("key", "login").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void throttlesIpAfterMaxFailures() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("user9", "10.0.0.1")).isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> loginThrottle.checkAllowed("user9", "10.0.0.2")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get(SecurityMetersService.LOGIN_THROTTLED_METER_NAME).tag("key", "ip").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotThrottleKeysThatNeverFailedWhenTheEstimatesAreSaturated() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getLoginThrottling().setMaxFailuresPerLogin(3);
+        applicationProperties.getLoginThrottling().setMaxFailuresPerIp(5);
+        LoginThrottle saturated = new LoginThrottle(applicationProperties, new SecurityMetersService(meterRegistry), 16);
+        for (int i = 0; i < 10_000; i++) {
+            saturated.recordFailure("user" + i, "10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        assertThatCode(() -> saturated.checkAllowed("alice", "192.168.1.1")).doesNotThrowAnyException();
+        for (int i = 0; i < 3; i++) {
+            saturated.recordFailure("alice", "192.168.1." + i);
+        }
+        assertThatThrownBy(() -> saturated.checkAllowed("alice", "192.168.1.9")).isInstanceOf(LoginThrottledException.class);
+    }
+}
@@ -0,0 +1,54 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowCounterTest {
+
+    private static final long WINDOW = 60_000;
+
+    @Test
+    void countsEventsPerKey() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1024, WINDOW, 0);
+
+        counter.increment("alice", 0);
+        counter.increment("alice", 10);
+        counter.increment("bob", 20);
+
+        assertThat(counter.estimate("alice", 30)).isEqualTo(2);
+        assertThat(counter.estimate("bob", 30)).isEqualTo(1);
+        assertThat(counter.estimate("carol", 30)).isZero();
+    }
+
+    @Test
+    void slidesPreviousWindowOut() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1024, WINDOW, 0);
+        for (int i = 0; i < 10; i++) {
+            counter.increment("alice", WINDOW - 1);
+        }
+
+        assertThat(counter.estimate("alice", WINDOW)).isEqualTo(10);
+        assertThat(counter.estimate("alice", WINDOW + WINDOW / 2)).isEqualTo(5);
+        assertThat(counter.estimate("alice", 2 * WINDOW)).isZero();
+    }
+
+    @Test
+    void forgetsEverythingAfterTwoWindows() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1024, WINDOW, 0);
+        counter.increment("alice", 0);
+
+        assertThat(counter.estimate("alice", 3 * WINDOW + 1)).isZero();
+    }
+
+    @Test
+    void neverUnderestimatesInSmallSketch() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(16, WINDOW, 0);
+        for (int i = 0; i < 1000; i++) {
+            counter.increment("user" + i, 0);
+        }
+        counter.increment("user0", 0);
+
+        assertThat(counter.estimate("user0", 0)).isGreaterThanOrEqualTo(2);
+    }
+}
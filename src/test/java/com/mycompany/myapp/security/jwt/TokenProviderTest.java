@@ -11,6 +11,8 @@ import io.jsonwebtoken.security.Keys;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -88,6 +90,47 @@ class TokenProviderTest {
         assertThat(isTokenValid).isFalse();
     }
 
+    @Test
+    void testGetValidAuthenticationReusesVerifiedToken() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Authentication first = tokenProvider.getValidAuthentication(token);
+        Authentication second = tokenProvider.getValidAuthentication(token);
+
+        assertThat(first).isNotNull().isNotSameAs(second);
+        assertThat(first.getPrincipal()).isSameAs(second.getPrincipal());
+        assertThat(first.getName()).isEqualTo("anonymous");
+        assertThat(first.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.ANONYMOUS);
+        assertThat(first.getCredentials()).isEqualTo(token);
+    }
+
+    @Test
+    void testGetValidAuthenticationHasTheIssueTimeInMilliseconds() {
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        JWTAuthenticationToken authentication = tokenProvider.getValidAuthentication(token);
+
+        assertThat(authentication.getIssuedAt()).isBetween(before, Instant.now());
+    }
+
+    @Test
+    void testGetValidAuthenticationRejectsCachedTokenOnceExpired() throws InterruptedException {
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 2000);
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.getValidAuthentication(token)).isNotNull();
+
+        Thread.sleep(2100);
+
+        assertThat(tokenProvider.getValidAuthentication(token)).isNull();
+    }
+
+    @Test
+    void testGetValidAuthenticationReturnsNullWhenJWThasInvalidSignature() {
+        assertThat(tokenProvider.getValidAuthentication(createTokenWithDifferentSignature())).isNull();
+    }
+
     @Test
     void testKeyIsSetFromSecretWhenSecretIsNotEmpty() {
         final String secret = "NwskoUmKHZtzGRKJKVjsJF7BtQMMxNWi";
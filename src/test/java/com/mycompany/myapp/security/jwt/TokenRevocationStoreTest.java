@@ -0,0 +1,105 @@
+package com.mycompany.myapp.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.RevokedToken;
+import com.mycompany.myapp.repository.RevokedTokenRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.AuthorityRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import tech.jhipster.config.JHipsterProperties;
+
+class TokenRevocationStoreTest {
+
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        store = new TokenRevocationStore(revokedTokenRepository, new JHipsterProperties(), new ApplicationProperties());
+    }
+
+    @Test
+    void revokesTokenById() {
+        JWTAuthenticationToken token = token("user", "jti-1", Instant.now());
+
+        store.revokeToken(token);
+
+        assertThat(store.isRevoked(token)).isTrue();
+        assertThat(store.isRevoked(token("user", "jti-2", Instant.now()))).isFalse();
+        verify(revokedTokenRepository).save(any());
+    }
+
+    @Test
+    void revokesTokensOfLoginIssuedBefore() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        store.revokeLogin("user");
+
+        assertThat(store.isRevoked(token("user", "jti-1", now.minusSeconds(1)))).isTrue();
+        assertThat(store.isRevoked(token("user", "jti-2", now.plusSeconds(1)))).isFalse();
+        assertThat(store.isRevoked(token("other", "jti-3", now.minusSeconds(1)))).isFalse();
+    }
+
+    @Test
+    void revokesTokensOfLoginIssuedEarlierInTheSameSecond() {
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS).minusMillis(1);
+
+        store.revokeLogin("user");
+
+        assertThat(store.isRevoked(token("user", "jti-1", issuedAt))).isTrue();
+        assertThat(store.isRevoked(token("user", "jti-2", Instant.now().plusMillis(1)))).isFalse();
+    }
+
+    @Test
+    void readsRevocationsOfOtherInstances() {
+        JWTAuthenticationToken token = token("user", "jti-1", Instant.now());
+        when(revokedTokenRepository.findAllByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+            .thenReturn(List.of(new RevokedToken().tokenId("jti-1").revokedAt(Instant.now()).expiresAt(Instant.now().plusSeconds(60))));
+
+        store.sync();
+
+        assertThat(store.isRevoked(token)).isTrue();
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    void forgetsExpiredRevocations() {
+        JWTAuthenticationToken token = token("user", "jti-1", Instant.now());
+        when(revokedTokenRepository.findAllByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+            .thenReturn(List.of(new RevokedToken().tokenId("jti-1").revokedAt(Instant.now()).expiresAt(Instant.now().minusSeconds(1))));
+        store.sync();
+        when(revokedTokenRepository.findAllByRevokedAtAfterAndExpiresAtAfter(any(), any())).thenReturn(List.of());
+
+        store.sync();
+
+        assertThat(store.isRevoked(token)).isFalse();
+    }
+
+    private static JWTAuthenticationToken token(String login, String tokenId, Instant issuedAt) {
+        Set<GrantedAuthority> authorities = AuthorityRegistry.authorities(AuthoritiesConstants.USER);
+        return new JWTAuthenticationToken(
+            new User(login, "", authorities),
+            "token",
+            authorities,
+            tokenId,
+            issuedAt,
+            issuedAt.plusSeconds(60)
+        );
+    }
+}
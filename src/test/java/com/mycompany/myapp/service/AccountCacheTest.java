@@ -0,0 +1,115 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.service.dto.AdminUserDTO;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashSet;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class AccountCacheTest {
+
+    private UserService userService;
+
+    private AccountCache accountCache;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        accountCache = new AccountCache(userService, new SimpleMeterRegistry(), new ApplicationProperties());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("user", "user"));
+        when(userService.getUserWithAuthoritiesByLogin("user")).thenReturn(Optional.of(user(1L, "user")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void cachesAccountPerLogin() {
+        assertThat(accountCache.getCurrentAccount()).map(AdminUserDTO::getLogin).contains("user");
+        assertThat(accountCache.getCurrentAccount()).map(AdminUserDTO::getLogin).contains("user");
+
+        verify(userService, times(1)).getUserWithAuthoritiesByLogin("user");
+    }
+
+    @Test
+    void evictsAccountOfChangedUser() {
+        accountCache.getCurrentAccount();
+
+        accountCache.onEntityChanged(EntityChangedEvent.saved(Book.class, 1L));
+        accountCache.getCurrentAccount();
+        accountCache.onEntityChanged(EntityChangedEvent.saved(User.class, 1L));
+        accountCache.getCurrentAccount();
+
+        verify(userService, times(2)).getUserWithAuthoritiesByLogin("user");
+    }
+
+    @Test
+    void keepsAccountsOfOtherUsers() {
+        accountCache.getCurrentAccount();
+
+        accountCache.onEntityChanged(EntityChangedEvent.saved(User.class, 2L));
+        accountCache.getCurrentAccount();
+
+        verify(userService, times(1)).getUserWithAuthoritiesByLogin("user");
+    }
+
+    @Test
+    void evictsAccountOfChangedUserAfterClear() {
+        accountCache.getCurrentAccount();
+        accountCache.clear();
+        accountCache.getCurrentAccount();
+
+        accountCache.onEntityChanged(EntityChangedEvent.saved(User.class, 1L));
+        accountCache.getCurrentAccount();
+
+        verify(userService, times(3)).getUserWithAuthoritiesByLogin("user");
+    }
+
+    @Test
+    void doesNotCacheUnknownUser() {
+        when(userService.getUserWithAuthoritiesByLogin("user")).thenReturn(Optional.empty());
+
+        assertThat(accountCache.getCurrentAccount()).isEmpty();
+        assertThat(accountCache.getCurrentAccount()).isEmpty();
+
+        verify(userService, times(2)).getUserWithAuthoritiesByLogin("user");
+    }
+
+    @Test
+    void memoizesAccountInRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        AdminUserDTO account = accountCache.getCurrentAccount().orElseThrow();
+        accountCache.clear();
+
+        assertThat(accountCache.getCurrentAccount()).containsSame(account);
+        verify(userService, times(1)).getUserWithAuthoritiesByLogin("user");
+    }
+
+    private static User user(Long id, String login) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin(login);
+        user.setAuthorities(new HashSet<>());
+        return user;
+    }
+}
@@ -0,0 +1,148 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.EntityVersion;
+import com.mycompany.myapp.repository.CheckOutDue;
+import com.mycompany.myapp.repository.CheckOutRepository;
+import com.mycompany.myapp.service.event.CheckOutDueEvent;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+class DueDateSchedulerTest {
+
+    private CheckOutRepository checkOutRepository;
+
+    private EntityVersionService entityVersionService;
+
+    private final List<CheckOutDueEvent> events = new ArrayList<>();
+
+    private DueDateScheduler dueDateScheduler;
+
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        checkOutRepository = mock(CheckOutRepository.class);
+        entityVersionService = mock(EntityVersionService.class);
+        ApplicationEventPublisher eventPublisher = event -> events.add((CheckOutDueEvent) event);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getDueDates().setDueSoonLead(Duration.ofDays(1));
+        dueDateScheduler = new DueDateScheduler(checkOutRepository, entityVersionService, eventPublisher, applicationProperties);
+        now = Instant.now();
+    }
+
+    @Test
+    void publishesLoadedCheckOutsWhenDueSoonThenOverdue() {
+        when(checkOutRepository.findOpenDueAfter(anyLong(), any(), any()))
+            .thenReturn(List.of(due(1L, now.plus(Duration.ofDays(3))), due(2L, now.plus(Duration.ofHours(12)))));
+        dueDateScheduler.load();
+
+        dueDateScheduler.advance(now.plus(Duration.ofHours(1)));
+        assertThat(events).isEmpty();
+
+        dueDateScheduler.advance(now.plus(Duration.ofDays(2)).plusSeconds(60));
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getType()).isEqualTo(CheckOutDueEvent.Type.DUE_SOON);
+        assertThat(events.get(0).getCheckOutIds()).containsExactly(1L);
+        assertThat(events.get(1).getType()).isEqualTo(CheckOutDueEvent.Type.OVERDUE);
+        assertThat(events.get(1).getCheckOutIds()).containsExactly(2L);
+
+        events.clear();
+        dueDateScheduler.advance(now.plus(Duration.ofDays(3)).plusSeconds(60));
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getType()).isEqualTo(CheckOutDueEvent.Type.OVERDUE);
+        assertThat(events.get(0).getCheckOutIds()).containsExactly(1L);
+    }
+
+    @Test
+    void reschedulesChangedCheckOuts() {
+        when(checkOutRepository.findById(1L))
+            .thenReturn(Optional.of(new CheckOut().id(1L).isReturned(false).endTime(now.plus(Duration.ofDays(5)))));
+        when(checkOutRepository.findById(2L)).thenReturn(Optional.of(new CheckOut().id(2L).isReturned(true).endTime(now)));
+        dueDateScheduler.schedule(1L, now.plus(Duration.ofHours(2)), now);
+        dueDateScheduler.schedule(2L, now.plus(Duration.ofHours(2)), now);
+        dueDateScheduler.schedule(3L, now.plus(Duration.ofHours(2)), now);
+
+        dueDateScheduler.onEntityChanged(EntityChangedEvent.saved(CheckOut.class, 1L));
+        dueDateScheduler.onEntityChanged(EntityChangedEvent.saved(CheckOut.class, 2L));
+        dueDateScheduler.onEntityChanged(EntityChangedEvent.deleted(CheckOut.class, 3L));
+        dueDateScheduler.advance(now.plus(Duration.ofDays(1)));
+        assertThat(events).isEmpty();
+
+        dueDateScheduler.advance(now.plus(Duration.ofDays(5)).plusSeconds(60));
+        assertThat(events)
+            .extracting(CheckOutDueEvent::getType)
+            .containsExactly(CheckOutDueEvent.Type.DUE_SOON, CheckOutDueEvent.Type.OVERDUE);
+        assertThat(events).allMatch(event -> event.getCheckOutIds().equals(List.of(1L)));
+    }
+
+    @Test
+    void syncReschedulesTheCheckOutsChangedOnOtherInstances() {
+        when(checkOutRepository.findOpenDueAfter(anyLong(), any(), any()))
+            .thenReturn(List.of(due(1L, now.plus(Duration.ofHours(2))), due(2L, now.plus(Duration.ofHours(2)))));
+        dueDateScheduler.load();
+        // check-out 1 was returned, check-out 2 extended and check-out 3 deleted on another instance
+        when(entityVersionService.findChangedSince(eq(CheckOut.class), any()))
+            .thenReturn(List.of(changed(1L, false), changed(2L, false), changed(3L, true)));
+        when(checkOutRepository.findAllById(List.of(1L, 2L)))
+            .thenReturn(
+                List.of(
+                    new CheckOut().id(1L).isReturned(true).endTime(now.plus(Duration.ofHours(2))),
+                    new CheckOut().id(2L).isReturned(false).endTime(now.plus(Duration.ofDays(3)))
+                )
+            );
+
+        dueDateScheduler.sync();
+
+        verify(checkOutRepository, never()).findById(anyLong());
+        dueDateScheduler.advance(now.plus(Duration.ofDays(1)));
+        assertThat(events).isEmpty();
+        dueDateScheduler.advance(now.plus(Duration.ofDays(2)).plusSeconds(60));
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getType()).isEqualTo(CheckOutDueEvent.Type.DUE_SOON);
+        assertThat(events.get(0).getCheckOutIds()).containsExactly(2L);
+    }
+
+    @Test
+    void syncWaitsForTheLoad() {
+        dueDateScheduler.sync();
+
+        verifyNoInteractions(entityVersionService);
+    }
+
+    private static EntityVersion changed(Long id, boolean deleted) {
+        return new EntityVersion().entityType("CheckOut").entityId(id.toString()).version(2L).deleted(deleted).changedAt(Instant.now());
+    }
+
+    private static CheckOutDue due(Long id, Instant endTime) {
+        return new CheckOutDue() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Instant getEndTime() {
+                return endTime;
+            }
+        };
+    }
+}
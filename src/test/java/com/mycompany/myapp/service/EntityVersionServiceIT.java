@@ -0,0 +1,60 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.EntityVersion;
+import com.mycompany.myapp.repository.EntityVersionRepository;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link EntityVersionService}.
+ */
+@IntegrationTest
+@Transactional
+class EntityVersionServiceIT {
+
+    @Autowired
+    private EntityVersionService entityVersionService;
+
+    @Autowired
+    private EntityVersionRepository entityVersionRepository;
+
+    private static final Long ID = Long.MAX_VALUE - 1;
+
+    private static final Long OTHER_ID = Long.MAX_VALUE - 2;
+
+    @Test
+    void incrementsVersionsOfEntityAndTable() {
+        // other tests may have changed the tables, never these books
+        long[] before = entityVersionService.getVersions(Book.class, null, Author.class, Category.class);
+        assertThat(entityVersionService.getVersions(Book.class, ID)).containsExactly(0L);
+
+        entityVersionService.onEntityChanged(EntityChangedEvent.saved(Book.class, ID));
+        entityVersionService.onEntityChanged(EntityChangedEvent.saved(Book.class, ID));
+        entityVersionService.onEntityChanged(EntityChangedEvent.saved(Book.class, OTHER_ID));
+        entityVersionService.onEntityChanged(EntityChangedEvent.saved(Author.class, ID));
+
+        assertThat(entityVersionService.getVersions(Book.class, ID, Author.class, Category.class))
+            .containsExactly(2L, before[1] + 1, before[2]);
+        assertThat(entityVersionService.getVersions(Book.class, OTHER_ID)).containsExactly(1L);
+        assertThat(entityVersionService.getVersions(Book.class, null)).containsExactly(before[0] + 3);
+    }
+
+    @Test
+    void keepsVersionOfDeletedEntity() {
+        entityVersionService.onEntityChanged(EntityChangedEvent.saved(Book.class, ID));
+        entityVersionService.onEntityChanged(EntityChangedEvent.deleted(Book.class, ID));
+
+        EntityVersion entityVersion = entityVersionRepository.findById(new EntityVersion.Key("Book", ID.toString())).orElseThrow();
+        assertThat(entityVersion.getVersion()).isEqualTo(2L);
+        assertThat(entityVersion.getDeleted()).isTrue();
+        assertThat(entityVersionService.getVersions(Book.class, ID)).containsExactly(2L);
+    }
+}
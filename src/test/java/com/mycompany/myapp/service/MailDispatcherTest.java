@@ -0,0 +1,217 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.OutboundMail;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+import tech.jhipster.config.JHipsterProperties;
+
+class MailDispatcherTest {
+
+    private final List<MimeMessage[]> batches = new ArrayList<>();
+
+    private final Map<Object, Exception> failures = new HashMap<>();
+
+    private final List<String> senderThreads = new CopyOnWriteArrayList<>();
+
+    private MailQueueService mailQueueService;
+
+    private ApplicationProperties applicationProperties;
+
+    private JHipsterProperties jHipsterProperties;
+
+    private MailDispatcher mailDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailQueueService = mock(MailQueueService.class);
+        applicationProperties = new ApplicationProperties();
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setFrom("test@localhost");
+        mailDispatcher = new MailDispatcher(mailQueueService, new RecordingMailSender(), jHipsterProperties, applicationProperties);
+    }
+
+    @Test
+    void sendsClaimedMailsInOneBatchAndDeletesThem() {
+        when(mailQueueService.claim(anyInt(), any())).thenReturn(List.of(mail(1L), mail(2L)));
+
+        mailDispatcher.sendDue();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(2);
+        assertThat(sentIds()).containsExactlyInAnyOrder(1L, 2L);
+        verify(mailQueueService).markFailed(eq(Map.of()), any());
+    }
+
+    @Test
+    void sendsOnTheThreadOfTheDispatcher() {
+        when(mailQueueService.claim(anyInt(), any())).thenReturn(List.of(mail(1L)));
+
+        mailDispatcher.dispatch();
+
+        verify(mailQueueService, timeout(5000)).markFailed(any(), any());
+        assertThat(senderThreads).singleElement().asString().startsWith("mail-dispatcher-");
+        mailDispatcher.destroy();
+    }
+
+    @Test
+    void retriesOnlyTheMailsThatFailed() {
+        when(mailQueueService.claim(anyInt(), any())).thenReturn(List.of(mail(1L), mail(2L)));
+        failures.put("john2@example.com", new IllegalStateException("mailbox unavailable"));
+
+        mailDispatcher.sendDue();
+
+        assertThat(sentIds()).containsExactly(1L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, Exception>> failed = ArgumentCaptor.forClass(Map.class);
+        verify(mailQueueService).markFailed(failed.capture(), any());
+        assertThat(failed.getValue()).containsOnlyKeys(2L);
+    }
+
+    @Test
+    void claimsNoMoreThanTheRateLimitAllows() {
+        applicationProperties.getMailQueue().setBatchSize(2);
+        applicationProperties.getMailQueue().setMaxPerSecond(1);
+        mailDispatcher = new MailDispatcher(mailQueueService, new RecordingMailSender(), jHipsterProperties, applicationProperties);
+        when(mailQueueService.claim(anyInt(), any())).thenReturn(List.of(mail(1L), mail(2L)));
+
+        mailDispatcher.sendDue();
+        mailDispatcher.sendDue();
+
+        verify(mailQueueService, times(1)).claim(eq(2), any());
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    void buildsTextMessage() throws Exception {
+        MimeMessage message = mailDispatcher.toMimeMessage(mail(1L).multipart(false).html(false));
+        assertThat(message.getSubject()).isEqualTo("testSubject");
+        assertThat(message.getAllRecipients()[0]).hasToString("john1@example.com");
+        assertThat(message.getFrom()[0]).hasToString("test@localhost");
+        assertThat(message.getContent()).hasToString("testContent");
+        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/plain; charset=UTF-8");
+    }
+
+    @Test
+    void buildsHtmlMessage() throws Exception {
+        MimeMessage message = mailDispatcher.toMimeMessage(mail(1L).multipart(false).html(true));
+        assertThat(message.getContent()).hasToString("testContent");
+        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+    }
+
+    @Test
+    void buildsMultipartHtmlMessage() throws Exception {
+        MimeMessage message = mailDispatcher.toMimeMessage(mail(1L).multipart(true).html(true));
+        MimeMultipart mp = (MimeMultipart) message.getContent();
+        MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
+        ByteArrayOutputStream aos = new ByteArrayOutputStream();
+        part.writeTo(aos);
+        assertThat(aos).hasToString("\r\ntestContent");
+        assertThat(part.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+    }
+
+    private List<Long> sentIds() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> sent = ArgumentCaptor.forClass(Collection.class);
+        verify(mailQueueService).markSent(sent.capture());
+        return new ArrayList<>(sent.getValue());
+    }
+
+    private static OutboundMail mail(Long id) {
+        return new OutboundMail()
+            .id(id)
+            .recipient("john" + id + "@example.com")
+            .subject("testSubject")
+            .content("testContent")
+            .multipart(false)
+            .html(true)
+            .attempts(1);
+    }
+
+    private class RecordingMailSender implements JavaMailSender {
+
+        @Override
+        public MimeMessage createMimeMessage() {
+            return new MimeMessage((Session) null);
+        }
+
+        @Override
+        public MimeMessage createMimeMessage(InputStream contentStream) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            senderThreads.add(Thread.currentThread().getName());
+            batches.add(mimeMessages);
+            Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+            for (MimeMessage message : mimeMessages) {
+                try {
+                    Exception failure = failures.get(message.getAllRecipients()[0].toString());
+                    if (failure != null) {
+                        failedMessages.put(message, failure);
+                    }
+                } catch (MessagingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            if (!failedMessages.isEmpty()) {
+                throw new MailSendException(failedMessages);
+            }
+        }
+
+        @Override
+        public void send(MimeMessage mimeMessage) {
+            send(new MimeMessage[] { mimeMessage });
+        }
+
+        @Override
+        public void send(MimeMessagePreparator mimeMessagePreparator) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessagePreparator... mimeMessagePreparators) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(SimpleMailMessage simpleMessage) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.OutboundMail;
+import com.mycompany.myapp.domain.enumeration.OutboundMailStatus;
+import com.mycompany.myapp.repository.OutboundMailRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MailQueueServiceTest {
+
+    private OutboundMailRepository outboundMailRepository;
+
+    private MailQueueService mailQueueService;
+
+    @BeforeEach
+    void setUp() {
+        outboundMailRepository = mock(OutboundMailRepository.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getMailQueue().setInitialBackoff(Duration.ofSeconds(30));
+        applicationProperties.getMailQueue().setMaxBackoff(Duration.ofMinutes(10));
+        applicationProperties.getMailQueue().setMaxAttempts(3);
+        mailQueueService = new MailQueueService(outboundMailRepository, applicationProperties);
+    }
+
+    @Test
+    void backoffDoublesUpToTheMaximum() {
+        assertThat(mailQueueService.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(mailQueueService.backoff(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(mailQueueService.backoff(5)).isEqualTo(Duration.ofMinutes(8));
+        assertThat(mailQueueService.backoff(6)).isEqualTo(Duration.ofMinutes(10));
+        assertThat(mailQueueService.backoff(100)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void failedMailIsRetriedThenDead() {
+        Instant now = Instant.parse("2026-10-17T12:00:00Z");
+        OutboundMail retried = new OutboundMail().id(1L).recipient("a@example.com").status(OutboundMailStatus.Pending).attempts(2);
+        OutboundMail dead = new OutboundMail().id(2L).recipient("b@example.com").status(OutboundMailStatus.Pending).attempts(3);
+        when(outboundMailRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(retried, dead));
+
+        mailQueueService.markFailed(Map.of(1L, new IllegalStateException("timeout"), 2L, new IllegalStateException("timeout")), now);
+
+        assertThat(retried.getStatus()).isEqualTo(OutboundMailStatus.Pending);
+        assertThat(retried.getNextAttemptAt()).isEqualTo(now.plusSeconds(60));
+        assertThat(retried.getLastError()).contains("timeout");
+        assertThat(dead.getStatus()).isEqualTo(OutboundMailStatus.Dead);
+    }
+}
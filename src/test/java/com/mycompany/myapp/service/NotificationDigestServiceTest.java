@@ -0,0 +1,104 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Notification;
+import com.mycompany.myapp.domain.PatronAccount;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.domain.enumeration.NoTi;
+import com.mycompany.myapp.repository.NotificationRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+class NotificationDigestServiceTest {
+
+    private NotificationRepository notificationRepository;
+
+    private MailService mailService;
+
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationDigestService notificationDigestService;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        mailService = mock(MailService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getNotificationDigest().setBatchSize(2);
+        notificationDigestService =
+            new NotificationDigestService(notificationRepository, mailService, applicationProperties, transactionManager);
+    }
+
+    @Test
+    void sendsOneDigestPerPatronAndMarksAllDelivered() {
+        User john = user(1L, "john");
+        User jane = user(2L, "jane");
+        Notification first = notification(10L, "C1", john, NoTi.News);
+        Notification second = notification(11L, "C1", john, NoTi.Warning);
+        Notification third = notification(12L, "C2", jane, NoTi.News);
+        when(notificationRepository.findDigestDueCardNumbers(eq(""), any(), anyLong(), any())).thenReturn(List.of("C1", "C2"));
+        when(notificationRepository.findDigestDueCardNumbers(eq("C2"), any(), anyLong(), any())).thenReturn(List.of());
+        when(notificationRepository.findUndeliveredWithPatronByCardNumberIn(List.of("C1", "C2"))).thenReturn(List.of(first, second, third));
+        when(notificationRepository.markDelivered(eq(List.of(10L, 11L, 12L)), any())).thenReturn(3);
+
+        notificationDigestService.sendDueDigests();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<User>> users = ArgumentCaptor.forClass(Collection.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Function<User, Map<String, Object>>> variables = ArgumentCaptor.forClass(Function.class);
+        verify(mailService)
+            .sendEmailsFromTemplate(users.capture(), eq("mail/notificationDigest"), eq("email.digest.title"), variables.capture());
+        assertThat(users.getValue()).containsExactly(john, jane);
+        assertThat(variables.getValue().apply(john)).containsEntry("notifications", List.of(first, second));
+        assertThat(variables.getValue().apply(jane)).containsEntry("notifications", List.of(third));
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void rollsBackWhenNotificationsWereDeliveredConcurrently() {
+        Notification notification = notification(10L, "C1", user(1L, "john"), NoTi.News);
+        when(notificationRepository.findDigestDueCardNumbers(eq(""), any(), anyLong(), any())).thenReturn(List.of("C1"));
+        when(notificationRepository.findUndeliveredWithPatronByCardNumberIn(List.of("C1"))).thenReturn(List.of(notification));
+        when(notificationRepository.markDelivered(anyCollection(), any())).thenReturn(0);
+
+        notificationDigestService.sendDueDigests();
+
+        verify(transactionManager).rollback(any());
+    }
+
+    private static User user(Long id, String login) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin(login);
+        user.setEmail(login + "@example.com");
+        user.setLangKey("en");
+        return user;
+    }
+
+    private static Notification notification(Long id, String cardNumber, User user, NoTi type) {
+        PatronAccount patronAccount = new PatronAccount().cardNumber(cardNumber);
+        patronAccount.setUser(user);
+        return new Notification().id(id).type(type).sentAt(Instant.now()).patronAccount(patronAccount);
+    }
+}
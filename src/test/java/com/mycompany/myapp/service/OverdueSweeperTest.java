@@ -0,0 +1,61 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.CheckOutDue;
+import com.mycompany.myapp.repository.CheckOutRepository;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+
+class OverdueSweeperTest {
+
+    private static final Instant DUE = Instant.parse("2026-10-01T12:00:00Z");
+
+    @Test
+    void notifiesChunksInKeysetOrderUntilAShortOne() {
+        CheckOutRepository checkOutRepository = mock(CheckOutRepository.class);
+        NotificationService notificationService = mock(NotificationService.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getOverdueSweep().setChunkSize(2);
+        when(checkOutRepository.findOverdueAfter(eq(Instant.EPOCH), eq(Long.MIN_VALUE), any(), any()))
+            .thenReturn(List.of(due(5L, DUE), due(3L, DUE.plusSeconds(60))));
+        when(checkOutRepository.findOverdueAfter(eq(DUE.plusSeconds(60)), eq(3L), any(), any()))
+            .thenReturn(List.of(due(4L, DUE.plusSeconds(60))));
+        when(notificationService.notifyOverdue(anyList())).thenReturn(2, 1);
+
+        new OverdueSweeper(checkOutRepository, notificationService, applicationProperties).sweep();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> ids = ArgumentCaptor.forClass(List.class);
+        verify(notificationService, times(2)).notifyOverdue(ids.capture());
+        assertThat(ids.getAllValues()).containsExactly(List.of(5L, 3L), List.of(4L));
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(checkOutRepository, times(2)).findOverdueAfter(any(), any(), any(), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(2);
+    }
+
+    private static CheckOutDue due(Long id, Instant endTime) {
+        return new CheckOutDue() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Instant getEndTime() {
+                return endTime;
+            }
+        };
+    }
+}
@@ -0,0 +1,230 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.WaitList;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class RequestCoalescerTest {
+
+    private MeterRegistry meterRegistry;
+
+    private RequestCoalescer coalescer;
+
+    private ExecutorService executor;
+
+    private AtomicInteger loads;
+
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCoalescing().setTimeout(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry, applicationProperties);
+        executor = Executors.newFixedThreadPool(4);
+        loads = new AtomicInteger();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sharesInFlightLoad() throws Exception {
+        Future<String> leader = executor.submit(() -> load(1L, this::blockingLoad));
+        awaitLoads(1);
+        Future<String> follower = executor.submit(() -> load(1L, this::blockingLoad));
+        letFollowerWait();
+
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("loaded 1");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("loaded 1");
+        assertThat(loads).hasValue(1);
+        assertThat(count("loaded")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotShareLoadsOfOtherKeys() throws Exception {
+        Future<String> first = executor.submit(() -> load(1L, this::blockingLoad));
+        awaitLoads(1);
+        Future<String> second = executor.submit(() -> load(2L, this::blockingLoad));
+        awaitLoads(2);
+
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("loaded 1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("loaded 2");
+    }
+
+    @Test
+    void loadsAgainAfterCompletion() {
+        release.countDown();
+
+        load(1L, this::blockingLoad);
+        load(1L, this::blockingLoad);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void forgetsInFlightLoadsOnChange() throws Exception {
+        Future<String> leader = executor.submit(() -> load(1L, this::blockingLoad));
+        awaitLoads(1);
+
+        coalescer.onEntityChanged(EntityChangedEvent.saved(Book.class, 1L));
+        Future<String> next = executor.submit(() -> load(1L, this::blockingLoad));
+        awaitLoads(2);
+
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+        next.get(5, TimeUnit.SECONDS);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    void forgetsInFlightLoadsOnChangeOfDependency() throws Exception {
+        Future<String> leader = executor.submit(() -> load(1L, this::blockingLoad));
+        awaitLoads(1);
+
+        coalescer.onEntityChanged(EntityChangedEvent.saved(Author.class, 7L));
+        Future<String> next = executor.submit(() -> load(1L, this::blockingLoad));
+        awaitLoads(2);
+
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+        next.get(5, TimeUnit.SECONDS);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    void keepsSharingInFlightLoadsOnUnrelatedChange() throws Exception {
+        Future<String> leader = executor.submit(() -> load(1L, this::blockingLoad));
+        awaitLoads(1);
+
+        coalescer.onEntityChanged(EntityChangedEvent.saved(Book.class, 2L));
+        coalescer.onEntityChanged(EntityChangedEvent.deleted(WaitList.class, 1L));
+        Future<String> follower = executor.submit(() -> load(1L, this::blockingLoad));
+        letFollowerWait();
+
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("loaded 1");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("loaded 1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void loadsItselfInTransaction() throws Exception {
+        Future<String> leader = executor.submit(() -> load(1L, this::blockingLoad));
+        awaitLoads(1);
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(load(1L, () -> "own load")).isEqualTo("own load");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertThat(count("coalesced")).isZero();
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void loadsItselfAfterTimeout() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCoalescing().setTimeout(Duration.ofMillis(10));
+        coalescer = new RequestCoalescer(meterRegistry, applicationProperties);
+        Future<String> leader = executor.submit(() -> load(1L, this::blockingLoad));
+        awaitLoads(1);
+
+        String result = load(1L, () -> "own load");
+
+        assertThat(result).isEqualTo("own load");
+        assertThat(count("timeout")).isEqualTo(1);
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void sharesFailure() throws Exception {
+        Future<String> leader = executor.submit(() ->
+            load(
+                1L,
+                () -> {
+                    blockingLoad();
+                    throw new IllegalArgumentException("boom");
+                }
+            )
+        );
+        awaitLoads(1);
+        Future<String> follower = executor.submit(() -> load(1L, this::blockingLoad));
+        letFollowerWait();
+
+        release.countDown();
+
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(loads).hasValue(1);
+    }
+
+    private <T> T load(Long id, Supplier<T> loader) {
+        return coalescer.load("book.findOne", id, Book.class, id, new Class<?>[] { Author.class }, loader);
+    }
+
+    private String blockingLoad() {
+        int load = loads.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "loaded " + load;
+    }
+
+    private void awaitLoads(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(loads).hasValue(expected);
+    }
+
+    private void letFollowerWait() throws InterruptedException {
+        // the follower is only counted once it got the result, so give it time to join the load
+        Thread.sleep(50);
+    }
+
+    private double count(String result) {
+        var counter = meterRegistry
+            .find(RequestCoalescer.CALLS_METER_NAME)
+            .tag(RequestCoalescer.CALLS_METER_RESULT_DIMENSION, result)
+            .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
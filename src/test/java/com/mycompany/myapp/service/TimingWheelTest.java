@@ -0,0 +1,73 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    @Test
+    void returnsKeysOnceTheirDeadlineHasPassed() {
+        TimingWheel<Long> wheel = new TimingWheel<>(Duration.ofMinutes(1), NOW);
+        wheel.schedule(1L, NOW.plusSeconds(90));
+        wheel.schedule(2L, NOW.plus(Duration.ofDays(3)));
+
+        assertThat(wheel.advance(NOW.plusSeconds(60))).isEmpty();
+        assertThat(wheel.advance(NOW.plusSeconds(120))).containsExactly(1L);
+        assertThat(wheel.advance(NOW.plus(Duration.ofDays(3)).minusSeconds(1))).isEmpty();
+        assertThat(wheel.advance(NOW.plus(Duration.ofDays(3)))).containsExactly(2L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void returnsPastDeadlinesOnNextAdvance() {
+        TimingWheel<Long> wheel = new TimingWheel<>(Duration.ofMinutes(1), NOW);
+        wheel.schedule(1L, NOW.minusSeconds(3600));
+
+        assertThat(wheel.advance(NOW)).containsExactly(1L);
+    }
+
+    @Test
+    void cancelsAndReschedulesKeys() {
+        TimingWheel<Long> wheel = new TimingWheel<>(Duration.ofMinutes(1), NOW);
+        wheel.schedule(1L, NOW.plusSeconds(60));
+        wheel.schedule(2L, NOW.plusSeconds(60));
+        wheel.schedule(2L, NOW.plus(Duration.ofHours(5)));
+
+        assertThat(wheel.cancel(1L)).isTrue();
+        assertThat(wheel.cancel(3L)).isFalse();
+        assertThat(wheel.advance(NOW.plus(Duration.ofHours(1)))).isEmpty();
+        assertThat(wheel.advance(NOW.plus(Duration.ofHours(5)))).containsExactly(2L);
+    }
+
+    @Test
+    void returnsEachKeyAtItsDeadlineAcrossAllLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(Duration.ofSeconds(1), NOW);
+        Random random = new Random(42);
+        Map<Long, Instant> deadlines = new HashMap<>();
+        for (long key = 0; key < 2000; key++) {
+            // up to 40M ticks, past the 64^4 ticks of the last level
+            Instant deadline = NOW.plusSeconds(1 + random.nextInt(40_000_000));
+            deadlines.put(key, deadline);
+            wheel.schedule(key, deadline);
+        }
+
+        Instant now = NOW;
+        while (!deadlines.isEmpty()) {
+            now = now.plusSeconds(1 + random.nextInt(86_400));
+            for (Long key : wheel.advance(now)) {
+                assertThat(deadlines.remove(key)).isBeforeOrEqualTo(now);
+            }
+            Instant reached = now;
+            assertThat(deadlines.values()).allMatch(deadline -> deadline.isAfter(reached));
+        }
+        assertThat(wheel.size()).isZero();
+    }
+}
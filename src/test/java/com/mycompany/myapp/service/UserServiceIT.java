@@ -6,13 +6,17 @@ import static org.mockito.Mockito.when;
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.AuthorityRepository;
 import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import javax.persistence.EntityManager;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,7 +26,10 @@ import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -50,9 +57,18 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @MockBean
     private DateTimeProvider dateTimeProvider;
 
@@ -149,37 +165,73 @@ class UserServiceIT {
     }
 
     @Test
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     void assertThatNotActivatedUsersWithNotNullActivationKeyCreatedBefore3DaysAreDeleted() {
+        // the purge commits each chunk, so the users are committed here and deleted after the test
         Instant now = Instant.now();
         when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
         user.setActivated(false);
         user.setActivationKey(RandomStringUtils.random(20));
-        User dbUser = userRepository.saveAndFlush(user);
-        dbUser.setCreatedDate(now.minus(4, ChronoUnit.DAYS));
-        userRepository.saveAndFlush(user);
-        Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
-        List<User> users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
-        assertThat(users).isNotEmpty();
-        userService.removeNotActivatedUsers();
-        users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
-        assertThat(users).isEmpty();
+        try {
+            userRepository.saveAndFlush(user);
+            Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
+            List<User> users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
+            assertThat(users).isNotEmpty();
+            userService.removeNotActivatedUsers();
+            users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
+            assertThat(users).isEmpty();
+        } finally {
+            deleteDefaultUser();
+        }
     }
 
     @Test
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void assertThatNotActivatedUsersAreDeletedWithTheirAuthorities() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        user.setActivated(false);
+        user.setActivationKey(RandomStringUtils.random(20));
+        user.setAuthorities(new HashSet<>(authorityRepository.findAllById(List.of(AuthoritiesConstants.USER))));
+        try {
+            User dbUser = userRepository.saveAndFlush(user);
+
+            userService.removeNotActivatedUsers();
+
+            assertThat(userRepository.findById(dbUser.getId())).isEmpty();
+            Number authorities = new TransactionTemplate(transactionManager)
+                .execute(status ->
+                    (Number) entityManager
+                        .createNativeQuery("select count(*) from jhi_user_authority where user_id = :userId")
+                        .setParameter("userId", dbUser.getId())
+                        .getSingleResult()
+                );
+            assertThat(authorities.longValue()).isZero();
+        } finally {
+            deleteDefaultUser();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     void assertThatNotActivatedUsersWithNullActivationKeyCreatedBefore3DaysAreNotDeleted() {
         Instant now = Instant.now();
         when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
         user.setActivated(false);
-        User dbUser = userRepository.saveAndFlush(user);
-        dbUser.setCreatedDate(now.minus(4, ChronoUnit.DAYS));
-        userRepository.saveAndFlush(user);
-        Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
-        List<User> users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
-        assertThat(users).isEmpty();
-        userService.removeNotActivatedUsers();
-        Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
-        assertThat(maybeDbUser).contains(dbUser);
+        try {
+            User dbUser = userRepository.saveAndFlush(user);
+            Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
+            List<User> users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
+            assertThat(users).isEmpty();
+            userService.removeNotActivatedUsers();
+            Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
+            assertThat(maybeDbUser).contains(dbUser);
+        } finally {
+            deleteDefaultUser();
+        }
+    }
+
+    private void deleteDefaultUser() {
+        userRepository.findOneByLogin(DEFAULT_LOGIN).ifPresent(userRepository::delete);
     }
 }
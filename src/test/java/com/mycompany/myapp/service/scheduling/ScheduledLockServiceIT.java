@@ -0,0 +1,58 @@
+package com.mycompany.myapp.service.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.repository.ScheduledLockRepository;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link ScheduledLockService}.
+ * <p>
+ * Not transactional, as each lock change is committed in its own transaction.
+ */
+@IntegrationTest
+class ScheduledLockServiceIT {
+
+    private static final String NAME = "ScheduledLockServiceIT.job";
+
+    @Autowired
+    private ScheduledLockService scheduledLockService;
+
+    @Autowired
+    private ScheduledLockRepository scheduledLockRepository;
+
+    @AfterEach
+    void cleanUp() {
+        scheduledLockRepository.deleteAll();
+    }
+
+    @Test
+    void assertThatAHeldLockIsNotTakenUntilReleased() {
+        Optional<ScheduledLockService.Lease> first = scheduledLockService.tryLock(NAME, Instant.now().plusSeconds(60));
+        assertThat(first).isPresent();
+        assertThat(scheduledLockService.tryLock(NAME, Instant.now().plusSeconds(60))).isEmpty();
+
+        scheduledLockService.unlock(first.get());
+
+        assertThat(scheduledLockService.tryLock(NAME, Instant.now().plusSeconds(60))).isPresent();
+    }
+
+    @Test
+    void assertThatAnExpiredLockIsTakenOver() {
+        Optional<ScheduledLockService.Lease> stale = scheduledLockService.tryLock(NAME, Instant.now().minusSeconds(1));
+        assertThat(stale).isPresent();
+
+        Optional<ScheduledLockService.Lease> current = scheduledLockService.tryLock(NAME, Instant.now().plusSeconds(60));
+
+        assertThat(current).isPresent();
+        assertThat(scheduledLockService.extend(stale.get(), Instant.now().plusSeconds(120))).isFalse();
+        assertThat(scheduledLockService.extend(current.get(), Instant.now().plusSeconds(120))).isTrue();
+        assertThat(scheduledLockRepository.findById(NAME))
+            .hasValueSatisfying(lock -> assertThat(lock.getLockedBy()).isEqualTo(current.get().getOwner()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.mycompany.myapp.service.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+class SchedulerLockAspectTest {
+
+    private ScheduledLockService scheduledLockService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SchedulerLockAspect aspect;
+
+    private Job target;
+
+    private Job job;
+
+    @BeforeEach
+    void setUp() {
+        scheduledLockService = mock(ScheduledLockService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getScheduledLock().setLease(Duration.ofMillis(30));
+        aspect = new SchedulerLockAspect(scheduledLockService, meterRegistry, applicationProperties);
+        target = new Job();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        job = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        aspect.destroy();
+    }
+
+    @Test
+    void runsAndUnlocksWhenTheLockIsTaken() {
+        ScheduledLockService.Lease lease = new ScheduledLockService.Lease("Job.run", "owner", Instant.now());
+        when(scheduledLockService.tryLock(eq("Job.run"), any())).thenReturn(Optional.of(lease));
+
+        job.run();
+
+        assertThat(target.runs.get()).isEqualTo(1);
+        verify(scheduledLockService).unlock(lease);
+        assertThat(runs("Job.run", SchedulerLockAspect.EXECUTED)).isEqualTo(1);
+        assertThat(meterRegistry.find(SchedulerLockAspect.RUNS_METER_NAME).tag("result", SchedulerLockAspect.SKIPPED).counter())
+            .isNull();
+    }
+
+    @Test
+    void skipsWhenTheLockIsHeld() {
+        when(scheduledLockService.tryLock(any(), any())).thenReturn(Optional.empty());
+
+        job.run();
+
+        assertThat(target.runs.get()).isZero();
+        verify(scheduledLockService, never()).unlock(any());
+        assertThat(runs("Job.run", SchedulerLockAspect.SKIPPED)).isEqualTo(1);
+    }
+
+    @Test
+    void unlocksWhenTheRunFails() {
+        ScheduledLockService.Lease lease = new ScheduledLockService.Lease("failing", "owner", Instant.now());
+        when(scheduledLockService.tryLock(eq("failing"), any())).thenReturn(Optional.of(lease));
+
+        assertThatThrownBy(job::fail).isInstanceOf(IllegalStateException.class);
+
+        verify(scheduledLockService).unlock(lease);
+    }
+
+    @Test
+    void renewsTheLeaseUntilLockAtMostFor() throws InterruptedException {
+        ScheduledLockService.Lease lease = new ScheduledLockService.Lease("Job.runLong", "owner", Instant.now());
+        ArgumentCaptor<Instant> until = ArgumentCaptor.forClass(Instant.class);
+        when(scheduledLockService.tryLock(eq("Job.runLong"), until.capture())).thenReturn(Optional.of(lease));
+        when(scheduledLockService.extend(eq(lease), any())).thenReturn(true);
+        Instant start = Instant.now();
+
+        job.runLong();
+
+        verify(scheduledLockService, timeout(1000).atLeastOnce()).extend(eq(lease), until.capture());
+        assertThat(until.getAllValues()).allSatisfy(value -> assertThat(value).isBefore(start.plusSeconds(1)));
+        verify(scheduledLockService).unlock(lease);
+    }
+
+    private double runs(String name, String result) {
+        return meterRegistry.get(SchedulerLockAspect.RUNS_METER_NAME).tag("name", name).tag("result", result).counter().count();
+    }
+
+    static class Job {
+
+        final AtomicInteger runs = new AtomicInteger();
+
+        @SchedulerLock
+        public void run() {
+            runs.incrementAndGet();
+        }
+
+        @SchedulerLock(name = "failing")
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+
+        @SchedulerLock(lockAtMostFor = "PT1S")
+        public void runLong() throws InterruptedException {
+            Thread.sleep(100);
+        }
+    }
+}
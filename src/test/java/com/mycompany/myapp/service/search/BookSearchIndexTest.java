@@ -0,0 +1,158 @@
+package com.mycompany.myapp.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.EntityVersion;
+import com.mycompany.myapp.repository.BookRepository;
+import com.mycompany.myapp.repository.KeysetRepository;
+import com.mycompany.myapp.repository.KeysetSlice;
+import com.mycompany.myapp.service.EntityVersionService;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class BookSearchIndexTest {
+
+    private final Map<Long, Book> books = new HashMap<>();
+
+    private BookRepository bookRepository;
+
+    private KeysetRepository keysetRepository;
+
+    private EntityVersionService entityVersionService;
+
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        when(bookRepository.findOneWithEagerRelationships(anyLong()))
+            .thenAnswer(invocation -> Optional.ofNullable(books.get(invocation.<Long>getArgument(0))));
+        when(bookRepository.findAllById(any()))
+            .thenAnswer(invocation ->
+                StreamSupport
+                    .stream(invocation.<Iterable<Long>>getArgument(0).spliterator(), false)
+                    .map(books::get)
+                    .collect(Collectors.toList())
+            );
+        keysetRepository = mock(KeysetRepository.class);
+        entityVersionService = mock(EntityVersionService.class);
+        bookSearchIndex =
+            new BookSearchIndex(bookRepository, keysetRepository, entityVersionService, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void indexesSavedBooksAndRemovesDeletedOnes() {
+        save(new Book().id(1L).title("The Hobbit").description("There and back again"));
+        save(new Book().id(2L).title("The Silmarillion"));
+
+        assertThat(search("hobbit")).containsExactly(1L);
+        assertThat(search("the")).containsExactlyInAnyOrder(1L, 2L);
+
+        books.put(1L, new Book().id(1L).title("The Lord of the Rings"));
+        bookSearchIndex.onEntityChanged(EntityChangedEvent.saved(Book.class, 1L));
+        assertThat(search("hobbit")).isEmpty();
+        assertThat(search("rings")).containsExactly(1L);
+
+        books.remove(2L);
+        bookSearchIndex.onEntityChanged(EntityChangedEvent.deleted(Book.class, 2L));
+        assertThat(search("silmarillion")).isEmpty();
+        assertThat(bookSearchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void reindexesTheBooksOfARenamedAuthor() {
+        Author author = new Author().id(10L).name("John Tolkien");
+        save(new Book().id(1L).title("The Hobbit").addAuthor(author));
+        save(new Book().id(2L).title("Dune"));
+        assertThat(search("john")).containsExactly(1L);
+
+        author.name("J. R. R. Tolkien");
+        when(bookRepository.findIdsByAuthorId(10L)).thenReturn(List.of(1L));
+        bookSearchIndex.onEntityChanged(EntityChangedEvent.saved(Author.class, 10L));
+
+        assertThat(search("john")).isEmpty();
+        assertThat(search("tolkien")).containsExactly(1L);
+        assertThat(search("dune")).containsExactly(2L);
+    }
+
+    @Test
+    void reindexesTheBooksOfARenamedCategory() {
+        Category category = new Category().id(20L).name("Fantasy");
+        save(new Book().id(1L).title("The Hobbit").category(category));
+        save(new Book().id(2L).title("Earthsea").category(category));
+        assertThat(search("fantasy")).containsExactlyInAnyOrder(1L, 2L);
+
+        category.name("High fantasy");
+        when(bookRepository.findIdsByCategoryId(20L)).thenReturn(List.of(1L, 2L));
+        bookSearchIndex.onEntityChanged(EntityChangedEvent.saved(Category.class, 20L));
+
+        assertThat(search("high")).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void syncReindexesTheBooksChangedOnOtherInstances() {
+        when(keysetRepository.findAll(eq(Book.class), any(), any(), any()))
+            .thenReturn(new KeysetSlice<>(List.of(), PageRequest.of(0, 1), null));
+        bookSearchIndex.rebuild();
+        Author author = new Author().id(10L).name("John Tolkien");
+        save(new Book().id(1L).title("The Hobbit"));
+        save(new Book().id(2L).title("The Silmarillion"));
+        save(new Book().id(3L).title("Unfinished Tales").addAuthor(author));
+
+        // book 1 was renamed, book 2 deleted and the author of book 3 renamed on another instance
+        books.put(1L, new Book().id(1L).title("The Lord of the Rings"));
+        books.remove(2L);
+        author.name("Christopher Tolkien");
+        when(entityVersionService.findChangedSince(eq(Book.class), any())).thenReturn(List.of(changed(1L, false), changed(2L, true)));
+        when(entityVersionService.findChangedSince(eq(Author.class), any())).thenReturn(List.of(changed(10L, false)));
+        when(bookRepository.findIdsByAuthorId(10L)).thenReturn(List.of(3L));
+        bookSearchIndex.sync();
+
+        assertThat(search("hobbit")).isEmpty();
+        assertThat(search("rings")).containsExactly(1L);
+        assertThat(search("silmarillion")).isEmpty();
+        assertThat(search("christopher")).containsExactly(3L);
+        verify(keysetRepository, times(1)).findAll(eq(Book.class), any(), any(), any());
+    }
+
+    @Test
+    void syncWaitsForTheRebuild() {
+        bookSearchIndex.sync();
+
+        verifyNoInteractions(entityVersionService);
+    }
+
+    private static EntityVersion changed(Long id, boolean deleted) {
+        return new EntityVersion().entityId(id.toString()).version(2L).deleted(deleted).changedAt(Instant.now());
+    }
+
+    private void save(Book book) {
+        books.put(book.getId(), book);
+        bookSearchIndex.onEntityChanged(EntityChangedEvent.saved(Book.class, book.getId()));
+    }
+
+    private List<Long> search(String query) {
+        return bookSearchIndex.search(query, PageRequest.of(0, 10)).map(Book::getId).getContent();
+    }
+}
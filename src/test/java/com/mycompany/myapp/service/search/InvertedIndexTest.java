@@ -0,0 +1,77 @@
+package com.mycompany.myapp.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new InvertedIndex();
+        index.put(1L, TextAnalyzer.tokenize("Dune Dune a science fiction novel"));
+        index.put(2L, TextAnalyzer.tokenize("Children of Dune and the long story of the desert planet that follows the first novel"));
+        index.put(3L, TextAnalyzer.tokenize("The hobbit, a fantasy novel"));
+    }
+
+    @Test
+    void ranksByTermFrequencyAndLength() {
+        InvertedIndex.SearchHits hits = index.search(TextAnalyzer.tokenize("dune"), 0, 10);
+
+        assertThat(hits.getKeys()).containsExactly(1L, 2L);
+        assertThat(hits.getTotalHits()).isEqualTo(2);
+        assertThat(hits.getScores()[0]).isGreaterThan(hits.getScores()[1]);
+    }
+
+    @Test
+    void rareTermsWeighMore() {
+        InvertedIndex.SearchHits hits = index.search(TextAnalyzer.tokenize("novel fantasy"), 0, 10);
+
+        assertThat(hits.getKeys()[0]).isEqualTo(3L);
+        assertThat(hits.getTotalHits()).isEqualTo(3);
+    }
+
+    @Test
+    void pagesThroughHits() {
+        InvertedIndex.SearchHits all = index.search(TextAnalyzer.tokenize("novel dune"), 0, 10);
+        InvertedIndex.SearchHits second = index.search(TextAnalyzer.tokenize("novel dune"), 1, 1);
+
+        assertThat(second.getKeys()).containsExactly(all.getKeys()[1]);
+        assertThat(second.getTotalHits()).isEqualTo(3);
+    }
+
+    @Test
+    void updatesAndRemovesDocuments() {
+        index.put(1L, TextAnalyzer.tokenize("Foundation"));
+        index.remove(3L);
+
+        assertThat(index.search(TextAnalyzer.tokenize("dune"), 0, 10).getKeys()).containsExactly(2L);
+        assertThat(index.search(TextAnalyzer.tokenize("foundation"), 0, 10).getKeys()).containsExactly(1L);
+        assertThat(index.search(TextAnalyzer.tokenize("hobbit"), 0, 10).getTotalHits()).isZero();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void compactsDeletedDocuments() {
+        IntStream.range(0, 3000).forEach(i -> index.put(100L + i, List.of("filler", "term" + i)));
+        IntStream.range(0, 2000).forEach(i -> index.remove(100L + i));
+
+        assertThat(index.size()).isEqualTo(1003);
+        assertThat(index.search(List.of("term2500"), 0, 10).getKeys()).containsExactly(2600L);
+        assertThat(index.search(List.of("term10"), 0, 10).getTotalHits()).isZero();
+        assertThat(index.search(List.of("filler"), 0, 2000).getTotalHits()).isEqualTo(1000);
+        assertThat(index.search(TextAnalyzer.tokenize("dune"), 0, 10).getKeys()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void foldsAccentsAndCase() {
+        index.put(4L, TextAnalyzer.tokenize("Đắc Nhân Tâm"));
+
+        assertThat(index.search(TextAnalyzer.tokenize("dac nhan TAM"), 0, 10).getKeys()).containsExactly(4L);
+    }
+}
@@ -0,0 +1,117 @@
+package com.mycompany.myapp.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SuggestionTreeTest {
+
+    private SuggestionTree tree;
+
+    @BeforeEach
+    void setup() {
+        tree = new SuggestionTree(3);
+        tree.put(1L, "The Hobbit", 5);
+        tree.put(2L, "The Lord of the Rings", 9);
+        tree.put(3L, "The Silmarillion", 1);
+        tree.put(4L, "Hobbit Companion", 2);
+    }
+
+    @Test
+    void suggestsMostPopularFirst() {
+        assertThat(ids(tree.suggest("the", 10))).containsExactly(2L, 1L, 3L);
+        assertThat(ids(tree.suggest("The H", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void matchesWordStarts() {
+        assertThat(ids(tree.suggest("hob", 10))).containsExactly(1L, 4L);
+        assertThat(ids(tree.suggest("of the r", 10))).containsExactly(2L);
+        assertThat(ids(tree.suggest("obbit", 10))).isEmpty();
+    }
+
+    @Test
+    void suggestsEachEntryOnce() {
+        assertThat(ids(tree.suggest("t", 10))).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void trailingSeparatorRequiresCompleteWord() {
+        tree.put(5L, "Hobbits of the Shire", 20);
+
+        assertThat(ids(tree.suggest("hobbit", 10))).containsExactly(5L, 1L, 4L);
+        assertThat(ids(tree.suggest("hobbit ", 10))).containsExactly(4L);
+    }
+
+    @Test
+    void updatesPopularityAndRemovesEntries() {
+        tree.put(3L, "The Silmarillion", 50);
+        assertThat(ids(tree.suggest("the", 2))).containsExactly(3L, 2L);
+
+        assertThat(tree.remove(2L)).isTrue();
+        assertThat(tree.remove(2L)).isFalse();
+        assertThat(ids(tree.suggest("the", 10))).containsExactly(3L, 1L);
+        assertThat(tree.suggest("lord", 10)).isEmpty();
+        assertThat(tree.size()).isEqualTo(3);
+    }
+
+    @Test
+    void foldsCaseAndAccents() {
+        tree.put(6L, "Đắc Nhân Tâm", 3);
+
+        assertThat(ids(tree.suggest("dac nh", 10))).containsExactly(6L);
+        assertThat(tree.suggest("lord", 10).get(0).getText()).isEqualTo("The Lord of the Rings");
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomUpdates() {
+        SuggestionTree randomTree = new SuggestionTree(5);
+        Map<Long, String> texts = new HashMap<>();
+        Map<Long, Long> weights = new HashMap<>();
+        String[] words = { "ab", "abc", "abd", "b", "ba", "bab", "c" };
+        Random random = new Random(42);
+        for (int step = 0; step < 2000; step++) {
+            long id = random.nextInt(60);
+            if (random.nextInt(4) == 0) {
+                randomTree.remove(id);
+                texts.remove(id);
+                weights.remove(id);
+            } else {
+                String text = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                long weight = random.nextInt(10);
+                randomTree.put(id, text, weight);
+                texts.put(id, text);
+                weights.put(id, weight);
+            }
+            String word = words[random.nextInt(words.length)];
+            String prefix = word.substring(0, 1 + random.nextInt(word.length()));
+            List<Long> expected = texts
+                .keySet()
+                .stream()
+                .filter(candidate -> SuggestionTree.keys(texts.get(candidate)).stream().anyMatch(key -> key.startsWith(prefix)))
+                .sorted(
+                    Comparator
+                        .<Long>comparingLong(candidate -> -weights.get(candidate))
+                        .thenComparing(candidate -> SuggestionTree.keys(texts.get(candidate)).get(0))
+                        .thenComparing(Comparator.naturalOrder())
+                )
+                .limit(5)
+                .collect(Collectors.toList());
+            assertThat(ids(randomTree.suggest(prefix, 5))).as("prefix %s at step %d", prefix, step).isEqualTo(expected);
+        }
+    }
+
+    private static List<Long> ids(List<SuggestionTree.Suggestion> suggestions) {
+        List<Long> ids = new ArrayList<>();
+        suggestions.forEach(suggestion -> ids.add(suggestion.getId()));
+        return ids;
+    }
+}
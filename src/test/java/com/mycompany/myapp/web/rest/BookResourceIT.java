@@ -10,6 +10,8 @@ import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Book;
 import com.mycompany.myapp.repository.BookRepository;
 import com.mycompany.myapp.service.BookService;
+import com.mycompany.myapp.service.search.BookSearchIndex;
+import com.mycompany.myapp.web.rest.util.JsonResponseCache;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -25,6 +27,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -69,6 +72,12 @@ class BookResourceIT {
     @Autowired
     private MockMvc restBookMockMvc;
 
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
     private Book book;
 
     /**
@@ -95,6 +104,7 @@ class BookResourceIT {
 
     @BeforeEach
     public void initTest() {
+        jsonResponseCache.clear();
         book = createEntity(em);
     }
 
@@ -202,6 +212,46 @@ class BookResourceIT {
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION));
     }
 
+    @Test
+    @Transactional
+    void getCachedBook() throws Exception {
+        // Initialize the database
+        bookRepository.saveAndFlush(book);
+
+        String body = restBookMockMvc
+            .perform(get(ENTITY_API_URL_ID, book.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // Get the book again, from the cache
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL_ID, book.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(content().string(body));
+    }
+
+    @Test
+    @Transactional
+    void getBookWithExpandedAssociations() throws Exception {
+        // Initialize the database
+        bookRepository.saveAndFlush(book);
+
+        // Get the book with its authors only
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?expand=authors", book.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.authors").isArray())
+            .andExpect(jsonPath("$.category").doesNotExist())
+            .andExpect(jsonPath("$.bookCopies").doesNotExist());
+
+        restBookMockMvc.perform(get(ENTITY_API_URL_ID + "?expand=user", book.getId())).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getNonExistingBook() throws Exception {
@@ -209,6 +259,27 @@ class BookResourceIT {
         restBookMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void searchBooks() throws Exception {
+        // Initialize the database and the index
+        bookRepository.saveAndFlush(book.title("Zanzibar Chronicles"));
+        bookSearchIndex.rebuild();
+
+        // Search the book
+        restBookMockMvc
+            .perform(get("/api/_search/books?q=zanzibar"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(book.getId().intValue())));
+
+        restBookMockMvc
+            .perform(get("/api/_search/books?q=unindexedterm"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
     @Test
     @Transactional
     void putExistingBook() throws Exception {
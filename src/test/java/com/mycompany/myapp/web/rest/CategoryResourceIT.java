@@ -16,6 +16,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -163,6 +164,42 @@ class CategoryResourceIT {
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION));
     }
 
+    @Test
+    @Transactional
+    void getCategoryWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        categoryRepository.saveAndFlush(category);
+
+        String eTag = restCategoryMockMvc
+            .perform(get(ENTITY_API_URL_ID, category.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The copy is current: no body is read or written
+        restCategoryMockMvc
+            .perform(get(ENTITY_API_URL_ID, category.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+        String listETag = restCategoryMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restCategoryMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, "W/" + listETag))
+            .andExpect(status().isNotModified());
+
+        restCategoryMockMvc
+            .perform(get(ENTITY_API_URL_ID, category.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME));
+    }
+
     @Test
     @Transactional
     void getNonExistingCategory() throws Exception {
@@ -200,6 +237,73 @@ class CategoryResourceIT {
         assertThat(testCategory.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
     }
 
+    @Test
+    @Transactional
+    void putExistingCategoryWithStaleIfMatch() throws Exception {
+        // Initialize the database
+        categoryRepository.saveAndFlush(category);
+
+        Category updatedCategory = categoryRepository.findById(category.getId()).get();
+        em.detach(updatedCategory);
+        updatedCategory.name(UPDATED_NAME);
+
+        restCategoryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedCategory.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"stale\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedCategory))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Category in the database
+        assertThat(categoryRepository.findById(category.getId()).get().getName()).isEqualTo(DEFAULT_NAME);
+    }
+
+    @Test
+    @Transactional
+    void putExistingCategoryWithIfMatch() throws Exception {
+        // Initialize the database
+        categoryRepository.saveAndFlush(category);
+        Category other = createEntity(em);
+        categoryRepository.saveAndFlush(other);
+
+        String eTag = restCategoryMockMvc
+            .perform(get(ENTITY_API_URL_ID, category.getId()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // A change to another category leaves the tag of this one current
+        restCategoryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, other.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(new Category().id(other.getId()).name(UPDATED_NAME)))
+            )
+            .andExpect(status().isOk());
+
+        Category updatedCategory = new Category().id(category.getId()).name(UPDATED_NAME);
+        restCategoryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, category.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedCategory))
+            )
+            .andExpect(status().isOk());
+
+        // The tag is now stale
+        restCategoryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, category.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedCategory.description(UPDATED_DESCRIPTION)))
+            )
+            .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @Transactional
     void putNonExistingCategory() throws Exception {
@@ -1,25 +1,35 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.CheckOut;
 import com.mycompany.myapp.domain.enumeration.Status;
 import com.mycompany.myapp.repository.CheckOutRepository;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -151,6 +161,80 @@ class CheckOutResourceIT {
             .andExpect(jsonPath("$.[*].isReturned").value(hasItem(DEFAULT_IS_RETURNED.booleanValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllCheckOutsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        checkOutRepository.saveAndFlush(checkOut);
+        CheckOut newer = checkOutRepository.saveAndFlush(createEntity(em));
+
+        // Get the first keyset page, no total is counted
+        String link = restCheckOutMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(newer.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+        Matcher next = Pattern.compile("<[^>]*[?&]after=([^&>]+)[^>]*>; rel=\"next\"").matcher(link);
+        assertThat(next.find()).isTrue();
+
+        // Get the next keyset page
+        restCheckOutMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + next.group(1) + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(checkOut.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllCheckOutsWithKeysetPaginationOnNullableSortKey() throws Exception {
+        // Initialize the database with ties and null end times
+        checkOutRepository.saveAndFlush(createEntity(em).endTime(null));
+        checkOutRepository.saveAndFlush(createEntity(em).endTime(UPDATED_END_TIME));
+        checkOutRepository.saveAndFlush(createEntity(em).endTime(null));
+        checkOutRepository.saveAndFlush(createEntity(em).endTime(DEFAULT_END_TIME));
+        checkOutRepository.saveAndFlush(createEntity(em).endTime(null));
+        checkOutRepository.saveAndFlush(createEntity(em).endTime(DEFAULT_END_TIME));
+
+        // null end times come last in ascending order and first in descending order, as in PostgreSQL
+        Comparator<CheckOut> byEndTime = Comparator
+            .comparing(CheckOut::getEndTime, Comparator.nullsLast(Comparator.<Instant>naturalOrder()))
+            .thenComparing(CheckOut::getId);
+        List<Long> ascending = checkOutRepository.findAll().stream().sorted(byEndTime).map(CheckOut::getId).collect(Collectors.toList());
+        List<Long> descending = new ArrayList<>(ascending);
+        Collections.reverse(descending);
+
+        // Walk every keyset page, no row is skipped or repeated
+        assertThat(getAllCheckOutIdsByKeyset("endTime,asc")).containsExactlyElementsOf(ascending);
+        assertThat(getAllCheckOutIdsByKeyset("endTime,desc")).containsExactlyElementsOf(descending);
+    }
+
+    @Test
+    @Transactional
+    void getAllCheckOutsWithoutCount() throws Exception {
+        // Initialize the database
+        checkOutRepository.saveAndFlush(checkOut);
+        CheckOut newer = checkOutRepository.saveAndFlush(createEntity(em));
+
+        // Get the first page, no total is counted
+        restCheckOutMockMvc
+            .perform(get(ENTITY_API_URL + "?count=false&page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=1&size=1>; rel=\"next\"")))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(newer.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllCheckOutsWithInvalidKeysetCursor() throws Exception {
+        restCheckOutMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getCheckOut() throws Exception {
@@ -405,4 +489,22 @@ class CheckOutResourceIT {
         List<CheckOut> checkOutList = checkOutRepository.findAll();
         assertThat(checkOutList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    private List<Long> getAllCheckOutIdsByKeyset(String sort) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        Pattern nextLink = Pattern.compile("<[^>]*[?&]after=([^&>]+)[^>]*>; rel=\"next\"");
+        String after = "";
+        while (after != null) {
+            MockHttpServletResponse response = restCheckOutMockMvc
+                .perform(get(ENTITY_API_URL + "?after=" + after + "&size=2&sort=" + sort))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+            List<Number> page = JsonPath.read(response.getContentAsString(), "$[*].id");
+            page.forEach(id -> ids.add(id.longValue()));
+            Matcher next = nextLink.matcher(response.getHeader(HttpHeaders.LINK));
+            after = next.find() ? next.group(1) : null;
+        }
+        return ids;
+    }
 }
@@ -0,0 +1,63 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.repository.AuthorRepository;
+import com.mycompany.myapp.service.search.CatalogSuggester;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link SuggestResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class SuggestResourceIT {
+
+    private static final String SUGGEST_API_URL = "/api/_suggest";
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CatalogSuggester catalogSuggester;
+
+    @Autowired
+    private MockMvc restSuggestMockMvc;
+
+    @Test
+    @Transactional
+    void suggestAuthors() throws Exception {
+        Author author = authorRepository.saveAndFlush(new Author().name("Ursula K. Le Guin"));
+        catalogSuggester.rebuild();
+
+        restSuggestMockMvc
+            .perform(get(SUGGEST_API_URL).param("prefix", "le gu").param("type", "author"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[0].id").value(author.getId().intValue()))
+            .andExpect(jsonPath("$.[0].type").value("AUTHOR"))
+            .andExpect(jsonPath("$.[0].text").value("Ursula K. Le Guin"));
+
+        restSuggestMockMvc
+            .perform(get(SUGGEST_API_URL).param("prefix", "le gu").param("type", "publisher"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void suggestWithUnknownType() throws Exception {
+        restSuggestMockMvc
+            .perform(get(SUGGEST_API_URL).param("prefix", "le").param("type", "category"))
+            .andExpect(status().isBadRequest());
+    }
+}
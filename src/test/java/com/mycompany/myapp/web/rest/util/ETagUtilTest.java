@@ -0,0 +1,55 @@
+package com.mycompany.myapp.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.web.rest.errors.PreconditionFailedAlertException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class ETagUtilTest {
+
+    private static final String ETAG = "\"kx2f-3\"";
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        assertThat(ETagUtil.isNotModified(null, ETAG)).isFalse();
+        assertThat(ETagUtil.isNotModified(ETAG, ETAG)).isTrue();
+        assertThat(ETagUtil.isNotModified("W/" + ETAG, ETAG)).isTrue();
+        assertThat(ETagUtil.isNotModified("\"other\", " + ETAG, ETAG)).isTrue();
+        assertThat(ETagUtil.isNotModified("*", ETAG)).isTrue();
+        assertThat(ETagUtil.isNotModified("\"kx2f-2\"", ETAG)).isFalse();
+    }
+
+    @Test
+    void ifMatchUsesStrongComparison() {
+        assertThatCode(() -> ETagUtil.checkIfMatch(null, ETAG, "book")).doesNotThrowAnyException();
+        assertThatCode(() -> ETagUtil.checkIfMatch(ETAG, ETAG, "book")).doesNotThrowAnyException();
+        assertThatCode(() -> ETagUtil.checkIfMatch("*", ETAG, "book")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> ETagUtil.checkIfMatch("W/" + ETAG, ETAG, "book")).isInstanceOf(PreconditionFailedAlertException.class);
+        assertThatThrownBy(() -> ETagUtil.checkIfMatch("\"kx2f-2\"", ETAG, "book")).isInstanceOf(PreconditionFailedAlertException.class);
+    }
+
+    @Test
+    void notModifiedHasTagAndNoBody() {
+        ResponseEntity<Object> response = ETagUtil.notModified(ETAG);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(response.hasBody()).isFalse();
+        assertThat(ETagUtil.createETagHeaders(ETAG).getFirst(HttpHeaders.ETAG)).isEqualTo(ETAG);
+    }
+
+    @Test
+    void eTagIsAStrongTagOfTheVersions() {
+        String eTag = ETagUtil.eTag(3, 0, 12);
+
+        assertThat(eTag).isEqualTo("\"3-0-12\"");
+        assertThat(ETagUtil.eTag(3, 0, 12)).isEqualTo(eTag);
+        assertThat(ETagUtil.eTag(3, 1, 12)).isNotEqualTo(eTag);
+        assertThat(ETagUtil.eTag(30, 12)).isNotEqualTo(eTag);
+    }
+}
@@ -0,0 +1,104 @@
+package com.mycompany.myapp.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class ExpandPropertyFilterTest {
+
+    private ObjectMapper mapper;
+
+    private ExpandJsonWriter expandJsonWriter;
+
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new Jackson2ObjectMapperBuilder().build();
+        expandJsonWriter = new ExpandJsonWriter(mapper);
+        book =
+            new Book()
+                .id(1L)
+                .title("Mort")
+                .category(new Category().id(2L).name("Fantasy"))
+                .addAuthor(new Author().id(3L).name("Terry Pratchett"))
+                .addBookCopy(new BookCopy().id(4L).publisher(new Publisher().id(5L).name("Gollancz")));
+    }
+
+    @Test
+    void appliesTheAnnotationsWithoutExpand() {
+        JsonNode json = mapper.valueToTree(book);
+
+        assertThat(json.has("category")).isTrue();
+        assertThat(json.has("authors")).isTrue();
+        assertThat(json.get("authors").get(0).has("books")).isFalse();
+        JsonNode copy = json.get("bookCopies").get(0);
+        assertThat(copy.get("id").asLong()).isEqualTo(4L);
+        assertThat(copy.has("publisher")).isFalse();
+        assertThat(copy.has("book")).isFalse();
+    }
+
+    @Test
+    void writesOnlyExpandedAssociations() throws Exception {
+        JsonNode json = read(Set.of("authors"), book);
+
+        assertThat(json.get("title").asText()).isEqualTo("Mort");
+        assertThat(json.get("authors").get(0).get("name").asText()).isEqualTo("Terry Pratchett");
+        assertThat(json.has("category")).isFalse();
+        assertThat(json.has("bookCopies")).isFalse();
+        assertThat(json.has("waitLists")).isFalse();
+    }
+
+    @Test
+    void writesNestedAssociationsOfListElements() throws Exception {
+        JsonNode json = read(Set.of("bookCopies.publisher"), List.of(book)).get(0);
+
+        JsonNode copy = json.get("bookCopies").get(0);
+        assertThat(copy.get("id").asLong()).isEqualTo(4L);
+        assertThat(copy.get("publisher").get("name").asText()).isEqualTo("Gollancz");
+        assertThat(json.has("authors")).isFalse();
+    }
+
+    @Test
+    void writesNoAssociationsForEmptyExpand() throws Exception {
+        JsonNode json = read(ExpandUtil.parse(""), book);
+
+        assertThat(json.get("title").asText()).isEqualTo("Mort");
+        assertThat(json.has("category")).isFalse();
+        assertThat(json.has("authors")).isFalse();
+    }
+
+    @Test
+    void leavesTheApplicationMapperUnchanged() throws Exception {
+        read(Set.of("bookCopies.publisher"), book);
+
+        JsonNode json = mapper.valueToTree(book);
+        assertThat(json.has("category")).isTrue();
+        assertThat(json.get("bookCopies").get(0).has("publisher")).isFalse();
+    }
+
+    @Test
+    void parsesAndValidatesPaths() {
+        assertThat(ExpandUtil.parse(" authors, ,category ")).containsExactly("authors", "category");
+        assertThat(ExpandUtil.parse(null)).isEmpty();
+        assertThatThrownBy(() -> ExpandUtil.parse("authors,user", Set.of("authors"), "book"))
+            .isInstanceOf(BadRequestAlertException.class);
+    }
+
+    private JsonNode read(Set<String> expand, Object value) throws Exception {
+        return mapper.readTree(expandJsonWriter.writer(expand).writeValueAsString(value));
+    }
+}
@@ -0,0 +1,191 @@
+package com.mycompany.myapp.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.service.RequestCoalescer;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class JsonResponseCacheTest {
+
+    private static final Class<?>[] DEPENDENCIES = { Author.class };
+
+    private static final String ETAG = "\"1-0\"";
+
+    private MeterRegistry meterRegistry;
+
+    private JsonResponseCache cache;
+
+    private AtomicInteger reads;
+
+    private final AtomicLong ticker = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper mapper = new Jackson2ObjectMapperBuilder().build();
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getResponseCache().setTimeToLive(Duration.ofMinutes(5));
+        JsonResponseCoalescer coalescer = new JsonResponseCoalescer(
+            mapper,
+            new ExpandJsonWriter(mapper),
+            new RequestCoalescer(meterRegistry, applicationProperties)
+        );
+        cache = new JsonResponseCache(coalescer, meterRegistry, applicationProperties, ticker::get);
+        reads = new AtomicInteger();
+    }
+
+    @Test
+    void servesCachedBytes() {
+        byte[] first = get(1L, null).orElseThrow();
+        byte[] second = get(1L, null).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first, StandardCharsets.UTF_8)).contains("\"title\":\"Book 1\"");
+        assertThat(reads).hasValue(1);
+        assertThat(meterRegistry.get(JsonResponseCache.BYTES_SAVED_METER_NAME).counter().count()).isEqualTo(first.length);
+        assertThat(meterRegistry.get(JsonResponseCache.HIT_RATIO_METER_NAME).gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void keysByExpand() {
+        get(1L, null);
+        get(1L, Set.of("authors"));
+
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    void keysByEntityTag() {
+        get(1L, null, ETAG);
+        get(1L, null, "\"2-0\"");
+        get(1L, null, "\"2-0\"");
+
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    void doesNotCacheMissingEntities() {
+        Supplier<Optional<Book>> reader = () -> {
+            reads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertThat(cache.get("books", Book.class, 1L, null, DEPENDENCIES, ETAG, reader)).isEmpty();
+        assertThat(cache.get("books", Book.class, 1L, null, DEPENDENCIES, ETAG, reader)).isEmpty();
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    void evictsChangedEntity() {
+        get(1L, null);
+        get(2L, null);
+
+        cache.onEntityChanged(EntityChangedEvent.saved(Book.class, 1L));
+        get(1L, null);
+        get(2L, null);
+
+        assertThat(reads).hasValue(3);
+    }
+
+    @Test
+    void evictsOnChangedDependency() {
+        get(1L, null);
+        get(2L, null);
+
+        cache.onEntityChanged(EntityChangedEvent.deleted(Author.class, 7L));
+        get(1L, null);
+        get(2L, null);
+
+        assertThat(reads).hasValue(4);
+    }
+
+    @Test
+    void ignoresUnrelatedEntities() {
+        get(1L, null);
+
+        cache.onEntityChanged(EntityChangedEvent.saved(BookCopy.class, 7L));
+        get(1L, null);
+
+        assertThat(reads).hasValue(1);
+    }
+
+    @Test
+    void expiresAfterTimeToLive() {
+        get(1L, null);
+        ticker.addAndGet(Duration.ofMinutes(4).toNanos());
+        get(1L, null);
+        assertThat(reads).hasValue(1);
+
+        ticker.addAndGet(Duration.ofMinutes(2).toNanos());
+        get(1L, null);
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    void evictsEntriesReadAgainAfterAnEviction() {
+        get(1L, null);
+        cache.onEntityChanged(EntityChangedEvent.saved(Book.class, 1L));
+        get(1L, null);
+
+        cache.onEntityChanged(EntityChangedEvent.saved(Author.class, 7L));
+        get(1L, null);
+
+        assertThat(reads).hasValue(3);
+    }
+
+    @Test
+    void doesNotStoreBodyReadDuringChange() {
+        cache.get(
+            "books",
+            Book.class,
+            1L,
+            null,
+            DEPENDENCIES,
+            ETAG,
+            () -> {
+                reads.incrementAndGet();
+                cache.onEntityChanged(EntityChangedEvent.saved(Book.class, 1L));
+                return Optional.of(new Book().id(1L));
+            }
+        );
+        get(1L, null);
+
+        assertThat(reads).hasValue(2);
+    }
+
+    private Optional<byte[]> get(Long id, Set<String> expand) {
+        return get(id, expand, ETAG);
+    }
+
+    private Optional<byte[]> get(Long id, Set<String> expand, String eTag) {
+        return cache.get(
+            "books",
+            Book.class,
+            id,
+            expand,
+            DEPENDENCIES,
+            eTag,
+            () -> {
+                reads.incrementAndGet();
+                return Optional.of(new Book().id(id).title("Book " + id));
+            }
+        );
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycompany.myapp.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+class SlicePaginationUtilTest {
+
+    private static final String BASE_URL = "/api/check-outs?count=false&sort=id,asc";
+
+    @Test
+    void generatesNextAndPrevLinks() {
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(
+            UriComponentsBuilder.fromUriString(BASE_URL),
+            new SliceImpl<>(List.of("a", "b"), PageRequest.of(3, 2), true)
+        );
+
+        assertThat(headers.get(HttpHeaders.LINK)).hasSize(1);
+        assertThat(headers.getFirst(HttpHeaders.LINK))
+            .isEqualTo(
+                "</api/check-outs?count=false&sort=id%2Casc&page=4&size=2>; rel=\"next\"," +
+                "</api/check-outs?count=false&sort=id%2Casc&page=2&size=2>; rel=\"prev\""
+            );
+        assertThat(headers.containsKey("X-Total-Count")).isFalse();
+    }
+
+    @Test
+    void generatesOnlyPrevLinkOnLastPage() {
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(
+            UriComponentsBuilder.fromUriString(BASE_URL),
+            new SliceImpl<>(List.of("a"), PageRequest.of(1, 2), false)
+        );
+
+        assertThat(headers.getFirst(HttpHeaders.LINK)).doesNotContain("rel=\"next\"").contains("page=0&size=2>; rel=\"prev\"");
+    }
+
+    @Test
+    void generatesNoLinkForSinglePage() {
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(
+            UriComponentsBuilder.fromUriString(BASE_URL),
+            new SliceImpl<>(List.of("a"), PageRequest.of(0, 2), false)
+        );
+
+        assertThat(headers.containsKey(HttpHeaders.LINK)).isFalse();
+    }
+}